@@ -5,7 +5,12 @@ export type AlertType =
     | "HIGH_ENGINE_TEMP"
     | "LOW_BATTERY"
     | "VEHICLE_IDLE_TOO_LONG"
-    | "EMERGENCY_STATUS_CHANGE";
+    | "EMERGENCY_STATUS_CHANGE"
+    | "ENGINE_TEMP_ANOMALY"
+    | "ENGINE_TEMP_RISING"
+    | "BATTERY_VOLTAGE_ANOMALY"
+    | "BATTERY_VOLTAGE_FALLING"
+    | "FUEL_CONSUMPTION_ANOMALY";
 
 export type AlertStatus = "ACTIVE" | "ACKNOWLEDGED" | "RESOLVED";
 
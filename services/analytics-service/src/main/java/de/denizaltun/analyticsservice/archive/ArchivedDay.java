@@ -0,0 +1,224 @@
+package de.denizaltun.analyticsservice.archive;
+
+import de.denizaltun.analyticsservice.repository.DailyTelemetrySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The daily aggregation queries answered from archived readings of one day.
+ * <p>
+ * Everything is computed in a single pass over the archive, so the six queries of
+ * {@code MetricsAggregationService} cost one scan instead of six; results mirror the
+ * repository queries, including null averages for a day without moving vehicles.
+ * Instances only answer for the day they were built for.
+ */
+final class ArchivedDay implements DailyTelemetrySource {
+
+    private static final int FUEL_BUFFER_DAYS = 2;
+
+    private final LocalDate date;
+    private final Set<String> vehicles = new HashSet<>();
+    private final Mean movingSpeed = new Mean();
+    private final Map<String, Mean> speedByStatus = new TreeMap<>();
+    private final Map<String, Mean> speedByType = new TreeMap<>();
+    private final Map<GroupKey, Group> groups = new TreeMap<>();
+    private final Map<String, Fuel> fuelByVehicle = new TreeMap<>();
+    private final Map<String, Double> lastFuelLevel = new HashMap<>();
+
+    private GroupKey lastKey;
+    private Group lastGroup;
+
+    private ArchivedDay(LocalDate date) {
+        this.date = date;
+    }
+
+    /**
+     * Scans the day, plus the {@value #FUEL_BUFFER_DAYS} days before it that the fuel consumption
+     * query looks back on for each vehicle's previous level.
+     */
+    static ArchivedDay aggregate(TelemetryArchive archive, LocalDate date) {
+        ArchivedDay day = new ArchivedDay(date);
+        long dayStart = SegmentFormat.toMicros(date.atStartOfDay());
+        archive.scan(scanStart(date), date.plusDays(1).atStartOfDay(),
+                reading -> day.add(reading, reading.timeMicros >= dayStart));
+        return day;
+    }
+
+    /**
+     * Start of the range {@link #aggregate} scans for {@code date}, buffer days included.
+     */
+    static LocalDateTime scanStart(LocalDate date) {
+        return date.minusDays(FUEL_BUFFER_DAYS).atStartOfDay();
+    }
+
+    private void add(ArchivedReading reading, boolean sameDay) {
+        Double previousFuel = lastFuelLevel.put(reading.vehicleId, reading.fuelLevel);
+        if (!sameDay) {
+            return;
+        }
+        if (previousFuel != null && previousFuel - reading.fuelLevel > 0) {
+            fuelByVehicle.computeIfAbsent(reading.vehicleId, id -> new Fuel(reading.vehicleType))
+                    .add((previousFuel - reading.fuelLevel) * fuelFactor(reading.vehicleType));
+        }
+
+        vehicles.add(reading.vehicleId);
+        speedByStatus.computeIfAbsent(reading.vehicleStatus, status -> new Mean()).add(reading.speed);
+        if (!isMoving(reading.vehicleStatus)) {
+            return;
+        }
+        movingSpeed.add(reading.speed);
+        speedByType.computeIfAbsent(reading.vehicleType, type -> new Mean()).add(reading.speed);
+        group(reading).add(reading);
+    }
+
+    private Group group(ArchivedReading reading) {
+        // Readings come grouped by vehicle, so consecutive readings nearly always share a group
+        if (lastKey == null || !lastKey.matches(reading)) {
+            lastKey = new GroupKey(reading.vehicleId, reading.vehicleStatus, reading.vehicleType);
+            lastGroup = groups.computeIfAbsent(lastKey, key -> new Group());
+        }
+        return lastGroup;
+    }
+
+    private static boolean isMoving(String status) {
+        return "EN_ROUTE".equals(status) || "RETURNING".equals(status);
+    }
+
+    // Same factors as VehicleTelemetryRepository#calculateFuelConsumptionByVehicle
+    private static double fuelFactor(String type) {
+        return switch (type) {
+            case "FIRE_TRUCK" -> 2.0;
+            case "AMBULANCE" -> 0.8;
+            case "POLICE" -> 0.6;
+            default -> 0.0;
+        };
+    }
+
+    @Override
+    public Integer countDistinctVehiclesByDate(LocalDate date) {
+        requireDate(date);
+        return vehicles.size();
+    }
+
+    @Override
+    public Double calculateAverageSpeedByDate(LocalDate date) {
+        requireDate(date);
+        return movingSpeed.value();
+    }
+
+    @Override
+    public List<Object[]> calculateAverageSpeedByStatusAndDate(LocalDate date) {
+        requireDate(date);
+        return means(speedByStatus);
+    }
+
+    @Override
+    public List<Object[]> calculateAverageSpeedByTypeAndDate(LocalDate date) {
+        requireDate(date);
+        return means(speedByType);
+    }
+
+    @Override
+    public List<Object[]> calculateVehicleMetricsByDate(LocalDate date) {
+        requireDate(date);
+        List<Object[]> rows = new ArrayList<>(groups.size());
+        groups.forEach((key, group) -> rows.add(new Object[]{
+                key.vehicleId(), key.status(), key.type(),
+                group.speed.value(), group.maxSpeed, group.minSpeed,
+                group.fuel.value(), group.minFuel, (long) group.speed.count}));
+        return rows;
+    }
+
+    @Override
+    public List<Object[]> calculateFuelConsumptionByVehicle(LocalDate fromDate, LocalDate toDate, LocalDate bufferDate) {
+        requireDate(fromDate);
+        requireDate(toDate);
+        if (!bufferDate.equals(date.minusDays(FUEL_BUFFER_DAYS))) {
+            throw new IllegalArgumentException("Archived fuel consumption is computed with a "
+                    + FUEL_BUFFER_DAYS + " day buffer, not from " + bufferDate);
+        }
+        List<Object[]> rows = new ArrayList<>(fuelByVehicle.size());
+        fuelByVehicle.forEach((vehicleId, fuel) -> rows.add(new Object[]{vehicleId, fuel.type, fuel.total}));
+        return rows;
+    }
+
+    private void requireDate(LocalDate requested) {
+        if (!date.equals(requested)) {
+            throw new IllegalArgumentException("Archived aggregates are for " + date + ", not " + requested);
+        }
+    }
+
+    private static List<Object[]> means(Map<String, Mean> means) {
+        List<Object[]> rows = new ArrayList<>(means.size());
+        means.forEach((key, mean) -> rows.add(new Object[]{key, mean.value()}));
+        return rows;
+    }
+
+    private static final class Mean {
+        private double sum;
+        private long count;
+
+        void add(double value) {
+            sum += value;
+            count++;
+        }
+
+        Double value() {
+            return count == 0 ? null : sum / count;
+        }
+    }
+
+    private static final class Group {
+        private final Mean speed = new Mean();
+        private final Mean fuel = new Mean();
+        private double maxSpeed = Double.NEGATIVE_INFINITY;
+        private double minSpeed = Double.POSITIVE_INFINITY;
+        private double minFuel = Double.POSITIVE_INFINITY;
+
+        void add(ArchivedReading reading) {
+            speed.add(reading.speed);
+            fuel.add(reading.fuelLevel);
+            maxSpeed = Math.max(maxSpeed, reading.speed);
+            minSpeed = Math.min(minSpeed, reading.speed);
+            minFuel = Math.min(minFuel, reading.fuelLevel);
+        }
+    }
+
+    private static final class Fuel {
+        private final String type;
+        private double total;
+
+        Fuel(String type) {
+            this.type = type;
+        }
+
+        void add(double consumed) {
+            total += consumed;
+        }
+    }
+
+    private record GroupKey(String vehicleId, String status, String type) implements Comparable<GroupKey> {
+
+        boolean matches(ArchivedReading reading) {
+            return vehicleId.equals(reading.vehicleId) && status.equals(reading.vehicleStatus)
+                    && type.equals(reading.vehicleType);
+        }
+
+        @Override
+        public int compareTo(GroupKey other) {
+            int result = vehicleId.compareTo(other.vehicleId);
+            if (result == 0) {
+                result = status.compareTo(other.status);
+            }
+            return result != 0 ? result : type.compareTo(other.type);
+        }
+    }
+}
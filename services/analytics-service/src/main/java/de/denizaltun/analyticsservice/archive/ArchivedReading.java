@@ -0,0 +1,33 @@
+package de.denizaltun.analyticsservice.archive;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One telemetry reading decoded from an archive segment.
+ * <p>
+ * A scan reuses a single instance for every row it visits, so a visitor must copy what it wants
+ * to keep. The enum columns are kept as the strings stored in the database; within one segment
+ * equal values are the same String instance.
+ */
+@Getter
+public final class ArchivedReading {
+
+    String vehicleId;
+    String vehicleType;
+    String vehicleStatus;
+    long timeMicros;
+    double latitude;
+    double longitude;
+    double speed;
+    double fuelLevel;
+    double engineTemp;
+    double batteryVoltage;
+    boolean emergencyLightsActive;
+    String signals;                 // JSON object of the wide-telemetry signals, null when the reading had none
+
+    public LocalDateTime getTimeStamp() {
+        return SegmentFormat.fromMicros(timeMicros);
+    }
+}
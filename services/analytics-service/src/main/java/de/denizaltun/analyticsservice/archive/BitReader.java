@@ -0,0 +1,50 @@
+package de.denizaltun.analyticsservice.archive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a {@link BitWriter} stream from a (memory-mapped) buffer, using absolute positions only,
+ * so any number of readers can share one buffer.
+ */
+final class BitReader {
+
+    private final ByteBuffer buffer;
+    private final int start;
+    private long position;
+
+    BitReader(ByteBuffer buffer, int start) {
+        this.buffer = buffer;
+        this.start = start;
+    }
+
+    /**
+     * Reads {@code count} bits (0 to 64) as an unsigned value.
+     */
+    long read(int count) {
+        long result = 0;
+        while (count > 0) {
+            int current = buffer.get(start + (int) (position >>> 3)) & 0xFF;
+            int available = 8 - (int) (position & 7);
+            int take = Math.min(available, count);
+            result = (result << take) | ((current >>> (available - take)) & ((1 << take) - 1));
+            position += take;
+            count -= take;
+        }
+        return result;
+    }
+
+    /**
+     * Reads {@code count} bits as a two's complement value.
+     */
+    long readSigned(int count) {
+        return (read(count) << (64 - count)) >> (64 - count);
+    }
+
+    void skip(long count) {
+        position += count;
+    }
+
+    boolean readBit() {
+        return read(1) == 1;
+    }
+}
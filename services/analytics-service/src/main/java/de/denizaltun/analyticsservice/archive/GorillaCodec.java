@@ -0,0 +1,92 @@
+package de.denizaltun.analyticsservice.archive;
+
+/**
+ * XOR compression of doubles (Gorilla, Pelkonen et al. 2015).
+ * <p>
+ * Each value is XORed with its predecessor. An unchanged value costs one bit; a slowly changing
+ * sensor differs only in a few mantissa bits, which are stored alone, in the previous value's
+ * window of leading and trailing zeros when they fit:
+ * <pre>
+ *   0                                       same value
+ *   10 + meaningful bits                    fits the previous window
+ *   11 + 5 bits leading zeros + 6 bits length + meaningful bits
+ * </pre>
+ * Lossless: the decoder reproduces every value bit for bit.
+ */
+final class GorillaCodec {
+
+    private GorillaCodec() {
+    }
+
+    static final class Encoder {
+        private final BitWriter out;
+        private long previous;
+        private int leading = -1;
+        private int trailing;
+        private boolean first = true;
+
+        Encoder(BitWriter out) {
+            this.out = out;
+        }
+
+        void add(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            if (first) {
+                out.write(bits, 64);
+                first = false;
+            } else {
+                encode(bits ^ previous);
+            }
+            previous = bits;
+        }
+
+        private void encode(long xor) {
+            if (xor == 0) {
+                out.writeBit(false);
+                return;
+            }
+            out.writeBit(true);
+            int newLeading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int newTrailing = Long.numberOfTrailingZeros(xor);
+            if (leading >= 0 && newLeading >= leading && newTrailing >= trailing) {
+                out.writeBit(false);
+                out.write(xor >>> trailing, 64 - leading - trailing);
+            } else {
+                int meaningful = 64 - newLeading - newTrailing;
+                out.writeBit(true);
+                out.write(newLeading, 5);
+                out.write(meaningful == 64 ? 0 : meaningful, 6);
+                out.write(xor >>> newTrailing, meaningful);
+                leading = newLeading;
+                trailing = newTrailing;
+            }
+        }
+    }
+
+    static final class Decoder {
+        private final BitReader in;
+        private long previous;
+        private int leading;
+        private int trailing;
+        private boolean first = true;
+
+        Decoder(BitReader in) {
+            this.in = in;
+        }
+
+        double next() {
+            if (first) {
+                first = false;
+                previous = in.read(64);
+            } else if (in.readBit()) {
+                if (in.readBit()) {
+                    leading = (int) in.read(5);
+                    int meaningful = (int) in.read(6);
+                    trailing = 64 - leading - (meaningful == 0 ? 64 : meaningful);
+                }
+                previous ^= in.read(64 - leading - trailing) << trailing;
+            }
+            return Double.longBitsToDouble(previous);
+        }
+    }
+}
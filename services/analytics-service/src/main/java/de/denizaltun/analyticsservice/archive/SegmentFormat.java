@@ -0,0 +1,72 @@
+package de.denizaltun.analyticsservice.archive;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Layout of an archive segment file. All numbers are big-endian.
+ * <pre>
+ *   magic            8 bytes "EWSEG001"
+ *   from, to         2 x long, microseconds; the time range the segment covers, to exclusive
+ *   rows             int
+ *   3 dictionaries   vehicle_id, vehicle_type, vehicle_status: int size, size x (short length, UTF-8 bytes)
+ *   blocks           int
+ *   block directory  blocks x (long min time, long max time, int rows, COLUMNS x (int offset, int length))
+ *   column data      one bit stream per column per block, at the offsets of the directory
+ * </pre>
+ * The signals column holds, per row, a presence bit followed by a 32-bit length and the UTF-8
+ * bytes of the JSON object as stored in PostgreSQL. Version 1 segments ("EWSEG001") predate it and
+ * have {@link #COLUMNS_V1} columns; they are still read, with no signals.
+ * Rows are ordered by (vehicle_id, time_stamp) so every column of a vehicle is a smooth series,
+ * which is what the delta and XOR codecs compress well. Timestamps are microseconds of the
+ * local date-time as stored in PostgreSQL; the zone-less value is kept as-is.
+ */
+final class SegmentFormat {
+
+    static final byte[] MAGIC = "EWSEG002".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] MAGIC_V1 = "EWSEG001".getBytes(StandardCharsets.US_ASCII);
+    static final String EXTENSION = ".seg";
+    static final int BLOCK_ROWS = 4096;
+    static final int RUN_BITS = 32 - Integer.numberOfLeadingZeros(BLOCK_ROWS - 1);
+
+    static final int TIME = 0;
+    static final int VEHICLE_ID = 1;
+    static final int VEHICLE_TYPE = 2;
+    static final int VEHICLE_STATUS = 3;
+    static final int LATITUDE = 4;
+    static final int LONGITUDE = 5;
+    static final int SPEED = 6;
+    static final int FUEL_LEVEL = 7;
+    static final int ENGINE_TEMP = 8;
+    static final int BATTERY_VOLTAGE = 9;
+    static final int EMERGENCY_LIGHTS = 10;
+    static final int SIGNALS = 11;
+    static final int COLUMNS = 12;
+    static final int COLUMNS_V1 = 11;
+
+    static final int DIRECTORY_ENTRY_BYTES = directoryEntryBytes(COLUMNS);
+
+    private SegmentFormat() {
+    }
+
+    static int directoryEntryBytes(int columns) {
+        return 8 + 8 + 4 + columns * 8;
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Bits needed to store the codes of a dictionary with {@code size} entries.
+     */
+    static int codeBits(int size) {
+        return size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+}
@@ -0,0 +1,200 @@
+package de.denizaltun.analyticsservice.archive;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static de.denizaltun.analyticsservice.archive.SegmentFormat.*;
+
+/**
+ * Read-only view of one archive segment (see {@link SegmentFormat}).
+ * <p>
+ * The file is memory-mapped once; scans decode straight from the mapping with absolute reads,
+ * so the page cache is the only buffer and concurrent scans need no locking. Blocks whose time
+ * range does not overlap the scanned range are skipped without being decoded.
+ */
+public final class SegmentReader {
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long from;
+    private final long to;
+    private final int rows;
+    private final String[][] dictionaries = new String[3][];
+    private final int columns;
+    private final int blocks;
+    private final int directory;
+
+    private SegmentReader(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(0, magic);
+        if (Arrays.equals(magic, MAGIC)) {
+            columns = COLUMNS;
+        } else if (Arrays.equals(magic, MAGIC_V1)) {
+            columns = COLUMNS_V1;
+        } else {
+            throw new IOException("Not an archive segment: " + path);
+        }
+        int position = MAGIC.length;
+        from = buffer.getLong(position);
+        to = buffer.getLong(position + 8);
+        rows = buffer.getInt(position + 16);
+        position += 20;
+        for (int d = 0; d < dictionaries.length; d++) {
+            String[] values = new String[buffer.getInt(position)];
+            position += 4;
+            for (int i = 0; i < values.length; i++) {
+                byte[] utf8 = new byte[buffer.getShort(position) & 0xFFFF];
+                buffer.get(position + 2, utf8);
+                values[i] = new String(utf8, StandardCharsets.UTF_8);
+                position += 2 + utf8.length;
+            }
+            dictionaries[d] = values;
+        }
+        blocks = buffer.getInt(position);
+        directory = position + 4;
+    }
+
+    public static SegmentReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new SegmentReader(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated archive segment: " + path, e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * File name without the extension; the name of the partition the segment was made from.
+     */
+    public String getName() {
+        String file = path.getFileName().toString();
+        return file.endsWith(EXTENSION) ? file.substring(0, file.length() - EXTENSION.length()) : file;
+    }
+
+    public LocalDateTime getFrom() {
+        return fromMicros(from);
+    }
+
+    public LocalDateTime getTo() {
+        return fromMicros(to);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Hands every reading with {@code from <= timeStamp < to} to {@code visitor}, in
+     * (vehicle_id, time_stamp) order. The {@link ArchivedReading} is reused between calls.
+     */
+    public void scan(LocalDateTime from, LocalDateTime to, Consumer<ArchivedReading> visitor) {
+        long fromMicros = toMicros(from);
+        long toMicros = toMicros(to);
+        ArchivedReading reading = new ArchivedReading();
+        for (int block = 0; block < blocks; block++) {
+            int entry = directory + block * directoryEntryBytes(columns);
+            if (buffer.getLong(entry + 8) >= fromMicros && buffer.getLong(entry) < toMicros) {
+                scanBlock(entry, fromMicros, toMicros, reading, visitor);
+            }
+        }
+    }
+
+    private void scanBlock(int entry, long fromMicros, long toMicros,
+                           ArchivedReading reading, Consumer<ArchivedReading> visitor) {
+        int blockRows = buffer.getInt(entry + 16);
+        TimestampCodec.Decoder time = new TimestampCodec.Decoder(column(entry, TIME));
+        Runs vehicleIds = new Runs(column(entry, VEHICLE_ID), dictionaries[0]);
+        Runs vehicleTypes = new Runs(column(entry, VEHICLE_TYPE), dictionaries[1]);
+        Runs vehicleStatuses = new Runs(column(entry, VEHICLE_STATUS), dictionaries[2]);
+        GorillaCodec.Decoder latitude = new GorillaCodec.Decoder(column(entry, LATITUDE));
+        GorillaCodec.Decoder longitude = new GorillaCodec.Decoder(column(entry, LONGITUDE));
+        GorillaCodec.Decoder speed = new GorillaCodec.Decoder(column(entry, SPEED));
+        GorillaCodec.Decoder fuelLevel = new GorillaCodec.Decoder(column(entry, FUEL_LEVEL));
+        GorillaCodec.Decoder engineTemp = new GorillaCodec.Decoder(column(entry, ENGINE_TEMP));
+        GorillaCodec.Decoder batteryVoltage = new GorillaCodec.Decoder(column(entry, BATTERY_VOLTAGE));
+        BitReader lights = column(entry, EMERGENCY_LIGHTS);
+        BitReader signals = columns > SIGNALS ? column(entry, SIGNALS) : null;
+
+        for (int row = 0; row < blockRows; row++) {
+            // Every stream depends on its predecessor, so each row is decoded even when filtered out
+            reading.timeMicros = time.next();
+            reading.vehicleId = vehicleIds.next();
+            reading.vehicleType = vehicleTypes.next();
+            reading.vehicleStatus = vehicleStatuses.next();
+            reading.latitude = latitude.next();
+            reading.longitude = longitude.next();
+            reading.speed = speed.next();
+            reading.fuelLevel = fuelLevel.next();
+            reading.engineTemp = engineTemp.next();
+            reading.batteryVoltage = batteryVoltage.next();
+            reading.emergencyLightsActive = lights.readBit();
+            boolean inRange = reading.timeMicros >= fromMicros && reading.timeMicros < toMicros;
+            reading.signals = signals != null ? readSignals(signals, inRange) : null;
+            if (inRange) {
+                visitor.accept(reading);
+            }
+        }
+    }
+
+    /**
+     * Decodes the JSON of one row, or only steps over it when {@code decode} is false.
+     */
+    private static String readSignals(BitReader in, boolean decode) {
+        if (!in.readBit()) {
+            return null;
+        }
+        int length = (int) in.read(32);
+        if (!decode) {
+            in.skip(8L * length);
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        for (int i = 0; i < length; i++) {
+            utf8[i] = (byte) in.read(8);
+        }
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private BitReader column(int entry, int column) {
+        return new BitReader(buffer, buffer.getInt(entry + 20 + column * 8));
+    }
+
+    /**
+     * Decodes the run-length encoded dictionary codes written by {@link SegmentWriter}.
+     */
+    private static final class Runs {
+        private final BitReader in;
+        private final String[] dictionary;
+        private final int width;
+        private String current;
+        private int remaining;
+
+        Runs(BitReader in, String[] dictionary) {
+            this.in = in;
+            this.dictionary = dictionary;
+            this.width = (int) in.read(5);
+        }
+
+        String next() {
+            if (remaining == 0) {
+                current = dictionary[(int) in.read(width)];
+                remaining = (int) in.read(RUN_BITS) + 1;
+            }
+            remaining--;
+            return current;
+        }
+    }
+}
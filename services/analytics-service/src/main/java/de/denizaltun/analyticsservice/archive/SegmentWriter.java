@@ -0,0 +1,230 @@
+package de.denizaltun.analyticsservice.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static de.denizaltun.analyticsservice.archive.SegmentFormat.*;
+
+/**
+ * Builds one archive segment (see {@link SegmentFormat}) from readings appended in
+ * (vehicle_id, time_stamp) order.
+ * <p>
+ * Every {@link SegmentFormat#BLOCK_ROWS} rows the open block is sealed into compressed column
+ * streams, so memory holds the compressed segment plus one block of dictionary codes.
+ * <ul>
+ *   <li>time_stamp: delta-of-delta ({@link TimestampCodec})</li>
+ *   <li>vehicle_id, vehicle_type, vehicle_status: segment-wide dictionary, codes run-length
+ *   encoded per block (a block usually holds one or two vehicles)</li>
+ *   <li>the six measurements: XOR compressed ({@link GorillaCodec})</li>
+ *   <li>emergency lights: one bit per row</li>
+ *   <li>signals of the wide-telemetry mode: length-prefixed JSON, one presence bit for a row without</li>
+ * </ul>
+ * Not thread-safe.
+ */
+public final class SegmentWriter {
+
+    private final Dictionary vehicleIds = new Dictionary();
+    private final Dictionary vehicleTypes = new Dictionary();
+    private final Dictionary vehicleStatuses = new Dictionary();
+    private final List<Block> blocks = new ArrayList<>();
+
+    private final int[][] codes = new int[3][BLOCK_ROWS];
+    private BitWriter[] columns;
+    private TimestampCodec.Encoder time;
+    private GorillaCodec.Encoder[] measurements;
+    private int blockRows;
+    private long blockMin;
+    private long blockMax;
+    private long rows;
+    private long minMicros = Long.MAX_VALUE;
+
+    public SegmentWriter() {
+        openBlock();
+    }
+
+    public void append(String vehicleId, String vehicleType, String vehicleStatus, LocalDateTime timeStamp,
+                       double latitude, double longitude, double speed, double fuelLevel,
+                       double engineTemp, double batteryVoltage, boolean emergencyLightsActive, String signals) {
+        long micros = toMicros(timeStamp);
+        time.add(micros);
+        codes[0][blockRows] = vehicleIds.code(vehicleId);
+        codes[1][blockRows] = vehicleTypes.code(vehicleType);
+        codes[2][blockRows] = vehicleStatuses.code(vehicleStatus);
+        measurements[0].add(latitude);
+        measurements[1].add(longitude);
+        measurements[2].add(speed);
+        measurements[3].add(fuelLevel);
+        measurements[4].add(engineTemp);
+        measurements[5].add(batteryVoltage);
+        columns[EMERGENCY_LIGHTS].writeBit(emergencyLightsActive);
+        writeSignals(columns[SIGNALS], signals);
+
+        blockMin = Math.min(blockMin, micros);
+        blockMax = Math.max(blockMax, micros);
+        minMicros = Math.min(minMicros, micros);
+        rows++;
+        if (++blockRows == BLOCK_ROWS) {
+            sealBlock();
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Writes the segment to {@code target} through a temporary file in the same directory, so a
+     * reader never sees a partial segment.
+     *
+     * @param from start of the covered time range; {@code null} for the earliest appended reading
+     * @param to   end of the covered time range, exclusive
+     */
+    public void write(Path target, LocalDateTime from, LocalDateTime to) throws IOException {
+        if (blockRows > 0) {
+            sealBlock();
+        }
+        byte[] head = head(from != null ? toMicros(from) : Math.min(minMicros, toMicros(to)), toMicros(to));
+        long size = head.length + 4L + (long) blocks.size() * DIRECTORY_ENTRY_BYTES
+                + blocks.stream().mapToLong(Block::bytes).sum();
+        if (size > Integer.MAX_VALUE) {
+            // A segment is mapped as a single buffer
+            throw new IOException("Segment " + target.getFileName() + " would exceed 2 GiB: " + size + " bytes");
+        }
+
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.write(head);
+                out.writeInt(blocks.size());
+                int offset = (int) (head.length + 4L + (long) blocks.size() * DIRECTORY_ENTRY_BYTES);
+                for (Block block : blocks) {
+                    out.writeLong(block.min);
+                    out.writeLong(block.max);
+                    out.writeInt(block.rows);
+                    for (byte[] column : block.columns) {
+                        out.writeInt(offset);
+                        out.writeInt(column.length);
+                        offset += column.length;
+                    }
+                }
+                for (Block block : blocks) {
+                    for (byte[] column : block.columns) {
+                        out.write(column);
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private byte[] head(long from, long to) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(MAGIC);
+        out.writeLong(from);
+        out.writeLong(to);
+        out.writeInt((int) rows);
+        for (Dictionary dictionary : List.of(vehicleIds, vehicleTypes, vehicleStatuses)) {
+            out.writeInt(dictionary.values.size());
+            for (String value : dictionary.values) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(utf8.length);
+                out.write(utf8);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private void openBlock() {
+        columns = new BitWriter[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            columns[i] = new BitWriter();
+        }
+        time = new TimestampCodec.Encoder(columns[TIME]);
+        measurements = new GorillaCodec.Encoder[6];
+        for (int i = 0; i < measurements.length; i++) {
+            measurements[i] = new GorillaCodec.Encoder(columns[LATITUDE + i]);
+        }
+        blockRows = 0;
+        blockMin = Long.MAX_VALUE;
+        blockMax = Long.MIN_VALUE;
+    }
+
+    private void sealBlock() {
+        writeRuns(columns[VEHICLE_ID], codes[0], vehicleIds);
+        writeRuns(columns[VEHICLE_TYPE], codes[1], vehicleTypes);
+        writeRuns(columns[VEHICLE_STATUS], codes[2], vehicleStatuses);
+        byte[][] bytes = new byte[COLUMNS][];
+        for (int i = 0; i < COLUMNS; i++) {
+            bytes[i] = columns[i].toByteArray();
+        }
+        blocks.add(new Block(blockMin, blockMax, blockRows, bytes));
+        openBlock();
+    }
+
+    private static void writeSignals(BitWriter out, String signals) {
+        out.writeBit(signals != null);
+        if (signals == null) {
+            return;
+        }
+        byte[] utf8 = signals.getBytes(StandardCharsets.UTF_8);
+        out.write(utf8.length, 32);
+        for (byte b : utf8) {
+            out.write(b, 8);
+        }
+    }
+
+    /**
+     * The code width is taken from the dictionary size when the block is sealed, so it is stored
+     * with the block: 5 bits, then (code, run length - 1) pairs.
+     */
+    private void writeRuns(BitWriter out, int[] blockCodes, Dictionary dictionary) {
+        int width = codeBits(dictionary.values.size());
+        out.write(width, 5);
+        int start = 0;
+        for (int i = 1; i <= blockRows; i++) {
+            if (i == blockRows || blockCodes[i] != blockCodes[start]) {
+                out.write(blockCodes[start], width);
+                out.write(i - start - 1L, RUN_BITS);
+                start = i;
+            }
+        }
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int code(String value) {
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+    }
+
+    private record Block(long min, long max, int rows, byte[][] columns) {
+        long bytes() {
+            long total = 0;
+            for (byte[] column : columns) {
+                total += column.length;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package de.denizaltun.analyticsservice.archive;
+
+import de.denizaltun.analyticsservice.config.AnalyticsConfig;
+import de.denizaltun.analyticsservice.repository.DailyTelemetrySource;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * The cold tier of vehicle_telemetry: the segments in {@code app.archive.directory}, one per
+ * archived partition, written by {@link TelemetryArchiver}.
+ * <p>
+ * Segments are opened (memory-mapped) at startup and when archived. The segment list is replaced
+ * as a whole on every change, so readers work on a stable snapshot without locking.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TelemetryArchive {
+
+    private final AnalyticsConfig config;
+
+    private volatile List<SegmentReader> segments = List.of();
+
+    @PostConstruct
+    void load() {
+        if (!config.getArchive().isEnabled()) {
+            return;
+        }
+        Path directory = getDirectory();
+        List<SegmentReader> loaded = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SegmentFormat.EXTENSION)) {
+                for (Path file : files) {
+                    try {
+                        loaded.add(SegmentReader.open(file));
+                    } catch (IOException e) {
+                        log.error("Skipping unreadable archive segment {}", file, e);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open telemetry archive " + directory, e);
+        }
+        loaded.sort(Comparator.comparing(SegmentReader::getFrom));
+        segments = List.copyOf(loaded);
+        log.info("Opened telemetry archive {} with {} segments", directory, loaded.size());
+    }
+
+    public Path getDirectory() {
+        return Path.of(config.getArchive().getDirectory());
+    }
+
+    public Path segmentPath(String partition) {
+        return getDirectory().resolve(partition + SegmentFormat.EXTENSION);
+    }
+
+    public boolean contains(String partition) {
+        return segments.stream().anyMatch(segment -> segment.getName().equals(partition));
+    }
+
+    /**
+     * Opens a segment that was just written and adds it to the archive.
+     */
+    public synchronized void register(Path file) throws IOException {
+        SegmentReader added = SegmentReader.open(file);
+        List<SegmentReader> updated = new ArrayList<>(segments);
+        updated.removeIf(segment -> segment.getName().equals(added.getName()));
+        updated.add(added);
+        updated.sort(Comparator.comparing(SegmentReader::getFrom));
+        segments = List.copyOf(updated);
+    }
+
+    public List<SegmentReader> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Whether archived segments cover {@code [from, to)} without gaps.
+     */
+    public boolean covers(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime covered = from;
+        for (SegmentReader segment : segments) {
+            if (segment.getFrom().isAfter(covered)) {
+                break;
+            }
+            if (segment.getTo().isAfter(covered)) {
+                covered = segment.getTo();
+            }
+            if (!covered.isBefore(to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hands every archived reading with {@code from <= timeStamp < to} to {@code visitor},
+     * segment by segment in time order and by (vehicle_id, time_stamp) within a segment.
+     * The {@link ArchivedReading} is reused between calls.
+     */
+    public void scan(LocalDateTime from, LocalDateTime to, Consumer<ArchivedReading> visitor) {
+        for (SegmentReader segment : segments) {
+            if (segment.getTo().isAfter(from) && segment.getFrom().isBefore(to)) {
+                segment.scan(from, to, visitor);
+            }
+        }
+    }
+
+    /**
+     * The daily aggregation queries for {@code date}, answered from the archive, if the archive
+     * covers the whole day and the days before it the fuel consumption looks back on; otherwise
+     * the caller falls back to the database.
+     */
+    public Optional<DailyTelemetrySource> dailySource(LocalDate date) {
+        if (!config.getArchive().isEnabled() || !covers(ArchivedDay.scanStart(date), date.plusDays(1).atStartOfDay())) {
+            return Optional.empty();
+        }
+        return Optional.of(ArchivedDay.aggregate(this, date));
+    }
+}
@@ -0,0 +1,169 @@
+package de.denizaltun.analyticsservice.archive;
+
+import de.denizaltun.analyticsservice.config.AnalyticsConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rolls closed vehicle_telemetry partitions into archive segments ({@code app.archive}).
+ * <p>
+ * data-processor partitions vehicle_telemetry by time and drops partitions past their retention.
+ * Once a partition's range has ended, plus a grace period for late readings, its rows are
+ * streamed in (vehicle_id, time_stamp) order into a compressed columnar segment, typically a
+ * tenth of the table's size, which {@link TelemetryArchive} serves from then on. Each partition
+ * is archived once and then recorded in {@value #ARCHIVED_TABLE}; the partition itself is left to
+ * data-processor's retention, which drops only partitions recorded there.
+ * <p>
+ * PostgreSQL only: on other databases, or while vehicle_telemetry is not partitioned, there is
+ * nothing to archive.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true")
+public class TelemetryArchiver {
+
+    static final String TABLE = "vehicle_telemetry";
+    static final String ARCHIVED_TABLE = "telemetry_archived_partitions";
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern FROM_BOUND = Pattern.compile("FROM \\('([^']+)'\\)");
+    private static final Pattern TO_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final Pattern PARTITION_NAME = Pattern.compile("[a-z0-9_]+");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TelemetryArchive archive;
+    private final AnalyticsConfig config;
+
+    public TelemetryArchiver(DataSource dataSource, PlatformTransactionManager transactionManager,
+                             TelemetryArchive archive, AnalyticsConfig config) {
+        this.dataSource = dataSource;
+        // pgjdbc only streams with a fetch size inside a transaction; without it a partition is read whole
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.archive = archive;
+        this.config = config;
+    }
+
+    @Scheduled(cron = "0 20 * * * *")
+    public void archiveClosedPartitions() {
+        if (!isPostgres()) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ARCHIVED_TABLE
+                + " (partition_name varchar(63) PRIMARY KEY, archived_at timestamp NOT NULL)");
+        LocalDateTime closedBefore = LocalDateTime.now().minus(config.getArchive().getGrace());
+        for (Partition partition : closedPartitions(listPartitions(), closedBefore)) {
+            try {
+                if (!archive.contains(partition.name())) {
+                    archivePartition(partition);
+                }
+                // Also records segments written before the table existed
+                jdbcTemplate.update("INSERT INTO " + ARCHIVED_TABLE + " (partition_name, archived_at) VALUES (?, ?) "
+                        + "ON CONFLICT (partition_name) DO NOTHING", partition.name(), LocalDateTime.now());
+            } catch (IOException | RuntimeException e) {
+                // Retried on the next run; later partitions are still archived
+                log.error("Failed to archive partition {}", partition.name(), e);
+            }
+        }
+    }
+
+    void archivePartition(Partition partition) throws IOException {
+        if (!PARTITION_NAME.matcher(partition.name()).matches()) {
+            throw new IllegalArgumentException("Unexpected partition name: " + partition.name());
+        }
+        long started = System.nanoTime();
+        SegmentWriter writer = new SegmentWriter();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                "SELECT vehicle_id, vehicle_type, vehicle_status, time_stamp, latitude, longitude, speed, "
+                        + "fuel_level, engine_temp, battery_voltage, emergency_lights_active, signals::text FROM "
+                        + partition.name()
+                        + " ORDER BY vehicle_id, time_stamp",
+                rs -> {
+                    writer.append(rs.getString(1), rs.getString(2), rs.getString(3),
+                            rs.getTimestamp(4).toLocalDateTime(), rs.getDouble(5), rs.getDouble(6),
+                            rs.getDouble(7), rs.getDouble(8), rs.getDouble(9), rs.getDouble(10), rs.getBoolean(11),
+                            rs.getString(12));
+                }));
+
+        Path target = archive.segmentPath(partition.name());
+        Files.createDirectories(target.getParent());
+        writer.write(target, partition.from(), partition.to());
+        archive.register(target);
+        log.info("Archived {} ({} rows, {} KiB) in {} ms", partition.name(), writer.getRows(),
+                Files.size(target) / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private List<Partition> listPartitions() {
+        return jdbcTemplate.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)",
+                (rs, row) -> parse(rs.getString(1), rs.getString(2)), TABLE)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Partitions whose range ended before {@code closedBefore}, oldest first.
+     */
+    static List<Partition> closedPartitions(List<Partition> partitions, LocalDateTime closedBefore) {
+        return partitions.stream()
+                .filter(partition -> !partition.to().isAfter(closedBefore))
+                .sorted((a, b) -> a.to().compareTo(b.to()))
+                .toList();
+    }
+
+    /**
+     * Reads the bounds from pg_get_expr(relpartbound), e.g.
+     * {@code FOR VALUES FROM ('2026-10-17 00:00:00') TO ('2026-10-18 00:00:00')}.
+     *
+     * @return null for the default partition, which never closes
+     */
+    static Partition parse(String name, String bound) {
+        Matcher to = TO_BOUND.matcher(bound);
+        if (!to.find()) {
+            return null;
+        }
+        Matcher from = FROM_BOUND.matcher(bound);
+        return new Partition(name,
+                from.find() ? LocalDateTime.parse(from.group(1), BOUND_FORMAT) : null,
+                LocalDateTime.parse(to.group(1), BOUND_FORMAT));
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Cannot determine the telemetry database, skipping archiving", e);
+            return false;
+        }
+    }
+
+    /**
+     * A partition of vehicle_telemetry; {@code from} is null for a partition starting at MINVALUE.
+     */
+    record Partition(String name, LocalDateTime from, LocalDateTime to) {
+    }
+}
@@ -0,0 +1,97 @@
+package de.denizaltun.analyticsservice.archive;
+
+/**
+ * Delta-of-delta timestamp encoding (Gorilla, Pelkonen et al. 2015), on microseconds.
+ * <p>
+ * A vehicle reports at a fixed interval, so consecutive deltas are usually equal and the delta of
+ * deltas is zero: one bit per reading. Other values fall into buckets of growing width, each
+ * selected by a unary prefix:
+ * <pre>
+ *   0                     dod == 0
+ *   10    + 7 bits        [-64, 63]
+ *   110   + 12 bits       [-2048, 2047]
+ *   1110  + 20 bits       about +-0.5 s
+ *   11110 + 32 bits       about +-35 min
+ *   11111 + 64 bits       anything else (e.g. the jump back to the next vehicle's first reading)
+ * </pre>
+ */
+final class TimestampCodec {
+
+    private static final int[] WIDTHS = {7, 12, 20, 32};
+
+    private TimestampCodec() {
+    }
+
+    static final class Encoder {
+        private final BitWriter out;
+        private long previous;
+        private long previousDelta;
+        private boolean first = true;
+
+        Encoder(BitWriter out) {
+            this.out = out;
+        }
+
+        void add(long micros) {
+            if (first) {
+                out.write(micros, 64);
+                first = false;
+            } else {
+                long delta = micros - previous;
+                long dod = delta - previousDelta;
+                if (dod == 0) {
+                    out.writeBit(false);
+                } else {
+                    writeBucket(dod);
+                }
+                previousDelta = delta;
+            }
+            previous = micros;
+        }
+
+        private void writeBucket(long dod) {
+            for (int bucket = 0; bucket < WIDTHS.length; bucket++) {
+                int width = WIDTHS[bucket];
+                if (dod >= -(1L << (width - 1)) && dod < (1L << (width - 1))) {
+                    // bucket + 1 one-bits followed by a zero
+                    out.write((1L << (bucket + 2)) - 2, bucket + 2);
+                    out.write(dod, width);
+                    return;
+                }
+            }
+            out.write(0b11111, 5);
+            out.write(dod, 64);
+        }
+    }
+
+    static final class Decoder {
+        private final BitReader in;
+        private long previous;
+        private long previousDelta;
+        private boolean first = true;
+
+        Decoder(BitReader in) {
+            this.in = in;
+        }
+
+        long next() {
+            if (first) {
+                first = false;
+                previous = in.read(64);
+                return previous;
+            }
+            int ones = 0;
+            while (ones < 5 && in.readBit()) {
+                ones++;
+            }
+            long dod = switch (ones) {
+                case 0 -> 0;
+                case 5 -> in.read(64);
+                default -> in.readSigned(WIDTHS[ones - 1]);
+            };
+            previousDelta += dod;
+            previous += previousDelta;
+            return previous;
+        }
+    }
+}
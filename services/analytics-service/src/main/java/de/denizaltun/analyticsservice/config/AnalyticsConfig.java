@@ -0,0 +1,22 @@
+package de.denizaltun.analyticsservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app")
+public class AnalyticsConfig {
+
+    private Archive archive = new Archive();
+
+    @Data
+    public static class Archive {
+        private boolean enabled = false;                        // PostgreSQL with partitioned vehicle_telemetry only
+        private String directory = "archive";                   // segment files, one per archived partition
+        private Duration grace = Duration.ofHours(6);           // wait this long after a partition closes for late readings
+    }
+}
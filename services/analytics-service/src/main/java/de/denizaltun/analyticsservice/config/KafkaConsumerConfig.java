@@ -25,7 +25,7 @@ public class KafkaConsumerConfig {
     }
 
     @Bean
-    public ConsumerFactory<String, VehicleTelemetryMessage> consumerFactory() {
+    public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> props = kafkaProperties.buildConsumerProperties(null);
 
         // Add JsonDeserializer properties - these will be applied via configure()
@@ -33,18 +33,21 @@ public class KafkaConsumerConfig {
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, VehicleTelemetryMessage.class.getName());
         props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        // Single readings or batch envelopes, told apart by the telemetry-format header
+        props.put(JsonDeserializer.VALUE_TYPE_METHOD, TelemetryPayloadTypes.class.getName() + ".resolve");
 
         // Create deserializer with target type only - don't call any setters!
         // The factory will call configure() which applies properties from the map
-        JsonDeserializer<VehicleTelemetryMessage> deserializer = new JsonDeserializer<>(VehicleTelemetryMessage.class);
+        // The type method picks the payload class per record, so the target type here is only a placeholder
+        JsonDeserializer<Object> deserializer = new JsonDeserializer<>(Object.class);
 
         return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), deserializer);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, VehicleTelemetryMessage> kafkaListenerContainerFactory(
-            ConsumerFactory<String, VehicleTelemetryMessage> consumerFactory) {
-        ConcurrentKafkaListenerContainerFactory<String, VehicleTelemetryMessage> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory);
         return factory;
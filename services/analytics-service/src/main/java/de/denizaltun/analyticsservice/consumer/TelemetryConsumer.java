@@ -1,34 +1,49 @@
 package de.denizaltun.analyticsservice.consumer;
 
+import de.denizaltun.analyticsservice.dto.TelemetryEnvelopeMessage;
 import de.denizaltun.analyticsservice.dto.VehicleTelemetryMessage;
 import de.denizaltun.analyticsservice.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 /**
  * Kafka consumer that receives vehicle telemetry messages
  * and forwards them to the analytics service.
+ * Batch envelopes are unpacked into their individual readings.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@KafkaListener(topics = "vehicle-telemetry", groupId = "analytics-service-group")
 public class TelemetryConsumer {
 
     private final AnalyticsService analyticsService;
 
-    @KafkaListener(topics = "vehicle-telemetry", groupId = "analytics-service-group")
-    public void consumeTelemetry(ConsumerRecord<String, VehicleTelemetryMessage> record) {
-        VehicleTelemetryMessage message = record.value();
-
+    @KafkaHandler(isDefault = true)
+    public void consumeTelemetry(VehicleTelemetryMessage message) {
         log.debug("Received telemetry for analytics: vehicle={}, speed={}, status={}, fuel_level={}",
                 message.getVehicleId(),
                 message.getSpeed(),
                 message.getVehicleStatus(),
                 message.getFuelLevel());
 
+        process(message);
+    }
+
+    @KafkaHandler
+    public void consumeEnvelope(TelemetryEnvelopeMessage envelope) {
+        if (envelope.getReadings() == null) {
+            return;
+        }
+        log.debug("Received telemetry envelope for analytics: readings={}", envelope.getReadings().size());
+
+        envelope.getReadings().forEach(this::process);
+    }
+
+    private void process(VehicleTelemetryMessage message) {
         try {
             analyticsService.processTelemetry(message);
         } catch (Exception e) {
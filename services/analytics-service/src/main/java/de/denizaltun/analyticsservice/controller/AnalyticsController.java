@@ -190,6 +190,7 @@ public class AnalyticsController {
                 .totalFuelConsumed(metrics.getTotalFuelConsumed())
                 .telemetryCount(metrics.getTelemetryCount().get())
                 .statusDistribution(metrics.getStatusDistribution())
+                .signalAverages(metrics.getSignalAverages())
                 .firstSeen(metrics.getFirstSeen())
                 .lastSeen(metrics.getLastSeen())
                 .build();
@@ -0,0 +1,20 @@
+package de.denizaltun.analyticsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a batch envelope: many vehicles' readings packed into one Kafka record by the simulator.
+ * Marked with the {@code telemetry-format: envelope} header, see TelemetryPayloadTypes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryEnvelopeMessage {
+    private List<VehicleTelemetryMessage> readings;
+}
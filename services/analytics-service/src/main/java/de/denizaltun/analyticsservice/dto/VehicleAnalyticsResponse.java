@@ -19,6 +19,7 @@ public class VehicleAnalyticsResponse {
     private double totalFuelConsumed;
     private long telemetryCount;
     private Map<VehicleStatus, Double> statusDistribution;
+    private Map<String, Double> signalAverages;
     private LocalDateTime firstSeen;
     private LocalDateTime lastSeen;
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * DTO for deserializing vehicle telemetry from Kafka messages.
@@ -27,4 +28,5 @@ public class VehicleTelemetryMessage {
     private Double batteryVoltage;
     private VehicleStatus vehicleStatus;
     private Boolean emergencyLightsActive;
+    private Map<String, Double> signals;     // wide mode: extra sensor channels, null otherwise
 }
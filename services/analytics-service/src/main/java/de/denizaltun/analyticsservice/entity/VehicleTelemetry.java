@@ -5,8 +5,11 @@ import de.denizaltun.analyticsservice.dto.VehicleType;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * Read-only JPA Entity for querying vehicle telemetry data from PostgreSQL.
@@ -58,6 +61,10 @@ public class VehicleTelemetry {
     @Column(name = "emergency_lights_active", nullable = false)
     private Boolean emergencyLightsActive;
 
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "signals")
+    private Map<String, Double> signals;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 }
@@ -2,11 +2,15 @@ package de.denizaltun.analyticsservice.model;
 
 import de.denizaltun.analyticsservice.dto.VehicleStatus;
 import de.denizaltun.analyticsservice.dto.VehicleType;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 
 import java.time.LocalDateTime;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.DoubleAdder;
 
@@ -32,6 +36,10 @@ public class VehicleMetrics {
     // Status distribution
     private final Map<VehicleStatus, AtomicLong> statusCounts = new EnumMap<>(VehicleStatus.class);
 
+    // Wide-mode sensor channels, by signal name
+    @Getter(AccessLevel.NONE)
+    private final Map<String, SignalStats> signalStats = new ConcurrentHashMap<>();
+
     // General counters
     private final AtomicLong telemetryCount = new AtomicLong(0);
     private LocalDateTime firstSeen;
@@ -82,6 +90,29 @@ public class VehicleMetrics {
         lastSeen = timestamp;
     }
 
+    /**
+     * Update per-signal averages with the extra channels of a wide-mode reading.
+     */
+    public void updateSignals(Map<String, Double> signals) {
+        if (signals == null) {
+            return;
+        }
+        signals.forEach((name, value) -> {
+            if (value != null) {
+                signalStats.computeIfAbsent(name, n -> new SignalStats()).add(value);
+            }
+        });
+    }
+
+    /**
+     * Get the average of every signal seen so far, by name.
+     */
+    public Map<String, Double> getSignalAverages() {
+        Map<String, Double> averages = new TreeMap<>();
+        signalStats.forEach((name, stats) -> averages.put(name, stats.average()));
+        return averages;
+    }
+
     /**
      * Calculate average speed.
      */
@@ -115,4 +146,18 @@ public class VehicleMetrics {
         return distribution;
     }
 
+    private static final class SignalStats {
+        private final DoubleAdder sum = new DoubleAdder();
+        private final AtomicLong count = new AtomicLong(0);
+
+        void add(double value) {
+            sum.add(value);
+            count.incrementAndGet();
+        }
+
+        double average() {
+            long n = count.get();
+            return n > 0 ? sum.sum() / n : 0.0;
+        }
+    }
 }
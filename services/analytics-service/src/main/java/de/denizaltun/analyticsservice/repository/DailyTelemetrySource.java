@@ -0,0 +1,28 @@
+package de.denizaltun.analyticsservice.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The telemetry queries behind the daily aggregation. Served by {@link VehicleTelemetryRepository}
+ * from PostgreSQL, or by the cold archive once a day has been archived.
+ * Row shapes are those of the repository queries.
+ */
+public interface DailyTelemetrySource {
+
+    Integer countDistinctVehiclesByDate(LocalDate date);
+
+    Double calculateAverageSpeedByDate(LocalDate date);
+
+    // [status, avgSpeed]
+    List<Object[]> calculateAverageSpeedByStatusAndDate(LocalDate date);
+
+    // [type, avgSpeed], moving vehicles only
+    List<Object[]> calculateAverageSpeedByTypeAndDate(LocalDate date);
+
+    // [vehicleId, status, type, avgSpeed, maxSpeed, minSpeed, avgFuel, minFuel, (Long) points], moving vehicles only
+    List<Object[]> calculateVehicleMetricsByDate(LocalDate date);
+
+    // [vehicleId, type, consumed], ordered by vehicleId
+    List<Object[]> calculateFuelConsumptionByVehicle(LocalDate fromDate, LocalDate toDate, LocalDate bufferDate);
+}
@@ -7,39 +7,64 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface VehicleTelemetryRepository extends JpaRepository<VehicleTelemetry, Long> {
+public interface VehicleTelemetryRepository extends JpaRepository<VehicleTelemetry, Long>, DailyTelemetrySource {
+
+    // Every query filters on a half-open range of the raw timeStamp column: PostgreSQL prunes the
+    // vehicle_telemetry partitions outside the range, which a DATE(timeStamp) predicate would prevent.
+    // The per-date variants are kept as default methods for the daily aggregation ({@link DailyTelemetrySource}).
 
     // Fleet-wide metrics for a specific date
     @Query("SELECT COUNT(DISTINCT v.vehicleId) FROM VehicleTelemetry v " +
-            "WHERE DATE(v.timeStamp) = :date")
-    Integer countDistinctVehiclesByDate(@Param("date") LocalDate date);
+            "WHERE v.timeStamp >= :from AND v.timeStamp < :to")
+    Integer countDistinctVehiclesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    default Integer countDistinctVehiclesByDate(LocalDate date) {
+        return countDistinctVehiclesBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
 
     @Query("SELECT AVG(v.speed) FROM VehicleTelemetry v " +
-            "WHERE DATE(v.timeStamp) = :date " +
+            "WHERE v.timeStamp >= :from AND v.timeStamp < :to " +
             "AND v.vehicleStatus IN ('EN_ROUTE', 'RETURNING')")
-    Double calculateAverageSpeedByDate(@Param("date") LocalDate date);
+    Double calculateAverageSpeedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    default Double calculateAverageSpeedByDate(LocalDate date) {
+        return calculateAverageSpeedBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
 
     @Query("SELECT SUM(v.fuelLevel) FROM VehicleTelemetry v " +
-            "WHERE DATE(v.timeStamp) = :date")
-    Double calculateTotalFuelLevelByDate(@Param("date") LocalDate date);
+            "WHERE v.timeStamp >= :from AND v.timeStamp < :to")
+    Double calculateTotalFuelLevelBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    default Double calculateTotalFuelLevelByDate(LocalDate date) {
+        return calculateTotalFuelLevelBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
 
     // Average speed grouped by vehicle status (IDLE, EN_ROUTE, ON_SCENE, RETURNING)
     @Query("SELECT CAST(v.vehicleStatus AS string) as status, AVG(v.speed) as avgSpeed " +
             "FROM VehicleTelemetry v " +
-            "WHERE DATE(v.timeStamp) = :date " +
+            "WHERE v.timeStamp >= :from AND v.timeStamp < :to " +
             "GROUP BY v.vehicleStatus")
-    List<Object[]> calculateAverageSpeedByStatusAndDate(@Param("date") LocalDate date);
+    List<Object[]> calculateAverageSpeedByStatusBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    default List<Object[]> calculateAverageSpeedByStatusAndDate(LocalDate date) {
+        return calculateAverageSpeedByStatusBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
 
     // Average speed by vehicle type (only moving vehicles)
     @Query("SELECT CAST(v.vehicleType AS string) as type, AVG(v.speed) as avgSpeed " +
             "FROM VehicleTelemetry v " +
-            "WHERE DATE(v.timeStamp) = :date " +
+            "WHERE v.timeStamp >= :from AND v.timeStamp < :to " +
             "AND v.vehicleStatus IN ('EN_ROUTE', 'RETURNING') " +
             "GROUP BY v.vehicleType")
-    List<Object[]> calculateAverageSpeedByTypeAndDate(@Param("date") LocalDate date);
+    List<Object[]> calculateAverageSpeedByTypeBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    default List<Object[]> calculateAverageSpeedByTypeAndDate(LocalDate date) {
+        return calculateAverageSpeedByTypeBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
 
     @Query("SELECT v.vehicleId as vehicleId, " +
             "CAST(v.vehicleStatus AS string) as vehicleStatus, " +
@@ -47,10 +72,14 @@ public interface VehicleTelemetryRepository extends JpaRepository<VehicleTelemet
             "AVG(v.speed) as avgSpeed, MAX(v.speed) as maxSpeed, MIN(v.speed) as minSpeed, " +
             "AVG(v.fuelLevel) as avgFuel, MIN(v.fuelLevel) as minFuel, COUNT(v) as totalPoints " +
             "FROM VehicleTelemetry v " +
-            "WHERE DATE(v.timeStamp) = :date " +
+            "WHERE v.timeStamp >= :from AND v.timeStamp < :to " +
             "AND v.vehicleStatus IN ('EN_ROUTE', 'RETURNING') " +
             "GROUP BY v.vehicleId, v.vehicleStatus, v.vehicleType")
-    List<Object[]> calculateVehicleMetricsByDate(@Param("date") LocalDate date);
+    List<Object[]> calculateVehicleMetricsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    default List<Object[]> calculateVehicleMetricsByDate(LocalDate date) {
+        return calculateVehicleMetricsBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
 
     @Query("SELECT v FROM VehicleTelemetry v WHERE v.timeStamp = " +
             "(SELECT MAX(v2.timeStamp) FROM VehicleTelemetry v2 WHERE v2.vehicleId = v.vehicleId) " +
@@ -99,7 +128,7 @@ public interface VehicleTelemetryRepository extends JpaRepository<VehicleTelemet
                     "    FROM vehicle_telemetry " +
                     "    WHERE time_stamp >= :bufferDate AND time_stamp < (CAST(:toDate AS date) + 1)) raw_comparisons " +
                     "  WHERE (prev_fuel - fuel_level) > 0) calculated_drops " +
-                    "WHERE DATE(time_stamp) BETWEEN :fromDate AND :toDate " +
+                    "WHERE time_stamp >= :fromDate AND time_stamp < (CAST(:toDate AS date) + 1) " +
                     "GROUP BY vehicle_id, vehicle_type ORDER BY vehicle_id",
             nativeQuery = true)
     List<Object[]> calculateFuelConsumptionByVehicle(
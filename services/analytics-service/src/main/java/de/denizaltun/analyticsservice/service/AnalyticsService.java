@@ -143,6 +143,7 @@ public class AnalyticsService {
                 message.getVehicleStatus(),
                 message.getTimeStamp()
         );
+        metrics.updateSignals(message.getSignals());
 
         // Update fleet status tracking
         VehicleStatus oldStatus = lastKnownStatus.put(vehicleId, message.getVehicleStatus());
@@ -1,8 +1,10 @@
 package de.denizaltun.analyticsservice.service;
 
+import de.denizaltun.analyticsservice.archive.TelemetryArchive;
 import de.denizaltun.analyticsservice.entity.DailyFleetMetrics;
 import de.denizaltun.analyticsservice.entity.DailyVehicleMetrics;
 import de.denizaltun.analyticsservice.repository.DailyFleetMetricsRepository;
+import de.denizaltun.analyticsservice.repository.DailyTelemetrySource;
 import de.denizaltun.analyticsservice.repository.DailyVehicleMetricsRepository;
 import de.denizaltun.analyticsservice.repository.VehicleTelemetryRepository;
 import org.slf4j.Logger;
@@ -16,6 +18,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 @Service
@@ -26,13 +29,16 @@ public class MetricsAggregationService {
     private final VehicleTelemetryRepository telemetryRepository;
     private final DailyFleetMetricsRepository fleetMetricsRepository;
     private final DailyVehicleMetricsRepository vehicleMetricsRepository;
+    private final TelemetryArchive telemetryArchive;
 
     public MetricsAggregationService(VehicleTelemetryRepository telemetryRepository,
                                      DailyFleetMetricsRepository fleetMetricsRepository,
-                                     DailyVehicleMetricsRepository vehicleMetricsRepository) {
+                                     DailyVehicleMetricsRepository vehicleMetricsRepository,
+                                     TelemetryArchive telemetryArchive) {
         this.telemetryRepository = telemetryRepository;
         this.fleetMetricsRepository = fleetMetricsRepository;
         this.vehicleMetricsRepository = vehicleMetricsRepository;
+        this.telemetryArchive = telemetryArchive;
     }
 
     @Transactional
@@ -45,12 +51,17 @@ public class MetricsAggregationService {
             return;
         }
 
+        // Days already rolled into the cold archive are read from there (one scan for all queries)
+        Optional<DailyTelemetrySource> archived = telemetryArchive.dailySource(date);
+        archived.ifPresent(source -> logger.info("Aggregating {} from the telemetry archive", date));
+        DailyTelemetrySource telemetry = archived.orElse(telemetryRepository);
+
         // 1. Calculate fuel consumption by vehicle
         LocalDate bufferDate = date.minusDays(2);
-        List<Object[]> fuelData = telemetryRepository.calculateFuelConsumptionByVehicle(date, date, bufferDate);
+        List<Object[]> fuelData = telemetry.calculateFuelConsumptionByVehicle(date, date, bufferDate);
 
         // 2. Get vehicle metrics
-        List<Object[]> vehicleData = telemetryRepository.calculateVehicleMetricsByDate(date);
+        List<Object[]> vehicleData = telemetry.calculateVehicleMetricsByDate(date);
 
         // Create map of fuel consumption by vehicle ID
         Map<String, Double> fuelByVehicle = new HashMap<>();
@@ -99,18 +110,18 @@ public class MetricsAggregationService {
         vehicleMetricsRepository.saveAll(vehicleMetricsEntities);
 
         // 4. Calculate fleet metrics
-        Integer totalVehicles = telemetryRepository.countDistinctVehiclesByDate(date);
-        Double avgSpeed = telemetryRepository.calculateAverageSpeedByDate(date);
+        Integer totalVehicles = telemetry.countDistinctVehiclesByDate(date);
+        Double avgSpeed = telemetry.calculateAverageSpeedByDate(date);
 
         // Get average speed by vehicle status
-        List<Object[]> speedByStatus = telemetryRepository.calculateAverageSpeedByStatusAndDate(date);
+        List<Object[]> speedByStatus = telemetry.calculateAverageSpeedByStatusAndDate(date);
         Map<String, Double> speedByStatusMap = new HashMap<>();
         for (Object[] row : speedByStatus) {
             speedByStatusMap.put((String) row[0], (Double) row[1]);
         }
 
         // Get average speed by vehicle type
-        List<Object[]> speedByType = telemetryRepository.calculateAverageSpeedByTypeAndDate(date);
+        List<Object[]> speedByType = telemetry.calculateAverageSpeedByTypeAndDate(date);
         Map<String, Double> speedByTypeMap = new HashMap<>();
         for (Object[] row : speedByType) {
             speedByTypeMap.put((String) row[0], (Double) row[1]);
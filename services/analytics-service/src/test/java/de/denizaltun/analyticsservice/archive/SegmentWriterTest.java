@@ -0,0 +1,142 @@
+package de.denizaltun.analyticsservice.archive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SegmentWriter and SegmentReader")
+class SegmentWriterTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 10, 16, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back every value bit for bit, signals included, in (vehicle_id, time_stamp) order")
+    void shouldRoundTrip() throws IOException {
+        List<Row> rows = fleet(3, 5_000);
+        Path file = write(rows);
+
+        SegmentReader reader = SegmentReader.open(file);
+        List<Row> read = new ArrayList<>();
+        reader.scan(DAY, DAY.plusDays(1), reading -> read.add(Row.of(reading)));
+
+        assertThat(reader.getName()).isEqualTo("vehicle_telemetry_p20261016");
+        assertThat(reader.getFrom()).isEqualTo(DAY);
+        assertThat(reader.getTo()).isEqualTo(DAY.plusDays(1));
+        assertThat(reader.getRows()).isEqualTo(rows.size());
+        assertThat(read).containsExactlyElementsOf(rows);
+    }
+
+    @Test
+    @DisplayName("Should return only readings inside the scanned range")
+    void shouldScanRange() throws IOException {
+        List<Row> rows = fleet(3, 5_000);
+        SegmentReader reader = SegmentReader.open(write(rows));
+        LocalDateTime from = DAY.plusHours(1);
+        LocalDateTime to = DAY.plusHours(2);
+
+        List<Row> read = new ArrayList<>();
+        reader.scan(from, to, reading -> read.add(Row.of(reading)));
+
+        assertThat(read).isNotEmpty()
+                .containsExactlyElementsOf(rows.stream()
+                        .filter(row -> !row.timeStamp().isBefore(from) && row.timeStamp().isBefore(to))
+                        .toList());
+    }
+
+    @Test
+    @DisplayName("Should store a reading in a fraction of its uncompressed size")
+    void shouldCompress() throws IOException {
+        List<Row> rows = fleet(10, 2_000);
+
+        Path file = write(rows);
+
+        // Uncompressed: 8 bytes per timestamp and measurement, plus the enum and id columns
+        long raw = rows.size() * (7 * 8L + 3 * 4 + 1);
+        // Signals are stored as they are: the JSON plus its length
+        long signals = rows.stream()
+                .filter(row -> row.signals() != null)
+                .mapToLong(row -> 4 + row.signals().length())
+                .sum();
+        assertThat(Files.size(file) - signals).isLessThan(raw / 3);
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not a segment")
+    void shouldRejectForeignFile() throws IOException {
+        Path file = Files.writeString(directory.resolve("other.seg"), "not a segment at all");
+
+        assertThatThrownBy(() -> SegmentReader.open(file)).isInstanceOf(IOException.class);
+    }
+
+    private Path write(List<Row> rows) throws IOException {
+        SegmentWriter writer = new SegmentWriter();
+        for (Row row : rows) {
+            writer.append(row.vehicleId(), row.vehicleType(), row.vehicleStatus(), row.timeStamp(),
+                    row.latitude(), row.longitude(), row.speed(), row.fuelLevel(),
+                    row.engineTemp(), row.batteryVoltage(), row.lights(), row.signals());
+        }
+        Path file = directory.resolve("vehicle_telemetry_p20261016.seg");
+        writer.write(file, DAY, DAY.plusDays(1));
+        return file;
+    }
+
+    /**
+     * Readings every 5 s with jitter, drifting sensors and occasional status changes, sorted by vehicle;
+     * every tenth reading carries signals.
+     */
+    private static List<Row> fleet(int vehicles, int readingsPerVehicle) {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] statuses = {"IDLE", "EN_ROUTE", "ON_SCENE", "RETURNING"};
+        List<Row> rows = new ArrayList<>();
+        for (int v = 0; v < vehicles; v++) {
+            String vehicleId = "AMBULANCE-%03d".formatted(v);
+            LocalDateTime time = DAY.plusSeconds(v);
+            double latitude = 52.52;
+            double longitude = 13.405;
+            double fuel = 100.0;
+            int status = 0;
+            for (int i = 0; i < readingsPerVehicle; i++) {
+                time = time.plusNanos(5_000_000_000L + (random.nextInt(10) == 0 ? random.nextInt(1_000) * 1_000L : 0));
+                if (random.nextInt(200) == 0) {
+                    status = (status + 1) % statuses.length;
+                }
+                latitude += random.nextDouble(-1e-4, 1e-4);
+                longitude += random.nextDouble(-1e-4, 1e-4);
+                fuel = Math.max(0, fuel - random.nextDouble(0.01));
+                String signals = i % 10 == 0
+                        ? "{\"tire_pressure\": " + (20 + random.nextInt(10)) / 10.0 + ", \"cabin_temp\": 21.5}"
+                        : null;
+                rows.add(new Row(vehicleId, "AMBULANCE", statuses[status], time, latitude, longitude,
+                        status == 1 || status == 3 ? Math.round(random.nextDouble(30, 90) * 10) / 10.0 : 0.0,
+                        fuel, 90.0, 13.8, status == 1, signals));
+            }
+        }
+        return rows;
+    }
+
+    private record Row(String vehicleId, String vehicleType, String vehicleStatus, LocalDateTime timeStamp,
+                       double latitude, double longitude, double speed, double fuelLevel,
+                       double engineTemp, double batteryVoltage, boolean lights, String signals) {
+
+        static Row of(ArchivedReading reading) {
+            return new Row(reading.getVehicleId(), reading.getVehicleType(), reading.getVehicleStatus(),
+                    reading.getTimeStamp(), reading.getLatitude(), reading.getLongitude(), reading.getSpeed(),
+                    reading.getFuelLevel(), reading.getEngineTemp(), reading.getBatteryVoltage(),
+                    reading.isEmergencyLightsActive(), reading.getSignals());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package de.denizaltun.analyticsservice.archive;
+
+import de.denizaltun.analyticsservice.config.AnalyticsConfig;
+import de.denizaltun.analyticsservice.repository.DailyTelemetrySource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("TelemetryArchive")
+class TelemetryArchiveTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 16);
+
+    @TempDir
+    Path directory;
+
+    private TelemetryArchive archive;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        AnalyticsConfig config = new AnalyticsConfig();
+        config.getArchive().setEnabled(true);
+        config.getArchive().setDirectory(directory.toString());
+        archive = new TelemetryArchive(config);
+
+        // The buffer days before DATE only contribute each vehicle's fuel level before its first drop
+        SegmentWriter buffer = new SegmentWriter();
+        buffer.append("POLICE-001", "POLICE", "IDLE", at(DATE.minusDays(2), 12), 52.5, 13.4, 0.0, 50.0, 90.0, 13.8, false, null);
+        writeSegment(buffer, "vehicle_telemetry_p20261014", DATE.minusDays(2));
+
+        SegmentWriter previous = new SegmentWriter();
+        previous.append("AMBULANCE-001", "AMBULANCE", "IDLE", at(DATE.minusDays(1), 23), 52.5, 13.4, 0.0, 80.0, 90.0, 13.8, false, null);
+        writeSegment(previous, "vehicle_telemetry_p20261015", DATE.minusDays(1));
+
+        SegmentWriter day = new SegmentWriter();
+        day.append("AMBULANCE-001", "AMBULANCE", "EN_ROUTE", at(DATE, 8), 52.5, 13.4, 60.0, 70.0, 90.0, 13.8, true, null);
+        day.append("AMBULANCE-001", "AMBULANCE", "EN_ROUTE", at(DATE, 9), 52.5, 13.4, 80.0, 65.0, 90.0, 13.8, true, null);
+        day.append("AMBULANCE-001", "AMBULANCE", "ON_SCENE", at(DATE, 10), 52.5, 13.4, 0.0, 65.0, 90.0, 13.8, true, null);
+        day.append("POLICE-001", "POLICE", "IDLE", at(DATE, 8), 52.5, 13.4, 0.0, 50.0, 90.0, 13.8, false, null);
+        day.append("POLICE-001", "POLICE", "IDLE", at(DATE, 9), 52.5, 13.4, 0.0, 100.0, 90.0, 13.8, false, null);
+        writeSegment(day, "vehicle_telemetry_p20261016", DATE);
+    }
+
+    @Test
+    @DisplayName("Should load segments from the directory and report the covered range")
+    void shouldLoadSegments() {
+        archive.load();
+
+        assertThat(archive.getSegments()).hasSize(3);
+        assertThat(archive.contains("vehicle_telemetry_p20261016")).isTrue();
+        assertThat(archive.covers(DATE.minusDays(1).atStartOfDay(), DATE.plusDays(1).atStartOfDay())).isTrue();
+        assertThat(archive.covers(DATE.atStartOfDay(), DATE.plusDays(2).atStartOfDay())).isFalse();
+        assertThat(archive.dailySource(DATE.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should answer the daily aggregation queries like the repository")
+    void shouldAggregateArchivedDay() {
+        archive.load();
+
+        DailyTelemetrySource source = archive.dailySource(DATE).orElseThrow();
+
+        assertThat(source.countDistinctVehiclesByDate(DATE)).isEqualTo(2);
+        assertThat(source.calculateAverageSpeedByDate(DATE)).isEqualTo(70.0);
+        assertThat(source.calculateAverageSpeedByStatusAndDate(DATE))
+                .containsExactly(new Object[]{"EN_ROUTE", 70.0}, new Object[]{"IDLE", 0.0}, new Object[]{"ON_SCENE", 0.0});
+        assertThat(source.calculateAverageSpeedByTypeAndDate(DATE))
+                .containsExactly(new Object[]{"AMBULANCE", 70.0});
+        assertThat(source.calculateVehicleMetricsByDate(DATE)).containsExactly(
+                new Object[]{"AMBULANCE-001", "EN_ROUTE", "AMBULANCE", 70.0, 80.0, 60.0, 67.5, 65.0, 2L});
+
+        // 80 -> 70 -> 65 litres, times the ambulance factor; POLICE-001 only refuelled
+        List<Object[]> fuel = source.calculateFuelConsumptionByVehicle(DATE, DATE, DATE.minusDays(2));
+        assertThat(fuel).hasSize(1);
+        assertThat(fuel.get(0)[0]).isEqualTo("AMBULANCE-001");
+        assertThat((Double) fuel.get(0)[2]).isCloseTo(15 * 0.8, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should leave a day to the database when the archive lacks its fuel buffer days")
+    void shouldRequireBufferDays() throws IOException {
+        Files.delete(archive.segmentPath("vehicle_telemetry_p20261014"));
+        archive.load();
+
+        assertThat(archive.covers(DATE.atStartOfDay(), DATE.plusDays(1).atStartOfDay())).isTrue();
+        assertThat(archive.dailySource(DATE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should add an archived segment without reloading")
+    void shouldRegisterSegment() throws IOException {
+        archive.load();
+        SegmentWriter next = new SegmentWriter();
+        next.append("POLICE-001", "POLICE", "IDLE", at(DATE.plusDays(1), 8), 52.5, 13.4, 0.0, 100.0, 90.0, 13.8, false, null);
+        writeSegment(next, "vehicle_telemetry_p20261017", DATE.plusDays(1));
+
+        archive.register(archive.segmentPath("vehicle_telemetry_p20261017"));
+
+        assertThat(archive.covers(DATE.atStartOfDay(), DATE.plusDays(2).atStartOfDay())).isTrue();
+    }
+
+    private void writeSegment(SegmentWriter writer, String partition, LocalDate date) throws IOException {
+        writer.write(directory.resolve(partition + ".seg"), date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    private static LocalDateTime at(LocalDate date, int hour) {
+        return date.atTime(hour, 0);
+    }
+}
@@ -0,0 +1,78 @@
+package de.denizaltun.analyticsservice.consumer;
+
+import de.denizaltun.analyticsservice.dto.TelemetryEnvelopeMessage;
+import de.denizaltun.analyticsservice.dto.VehicleTelemetryMessage;
+import de.denizaltun.analyticsservice.service.AnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TelemetryConsumer Unit Tests")
+class TelemetryConsumerTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    private TelemetryConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new TelemetryConsumer(analyticsService);
+    }
+
+    private static VehicleTelemetryMessage reading(String vehicleId, int second) {
+        return VehicleTelemetryMessage.builder().vehicleId(vehicleId).timeStamp(TIME.plusSeconds(second)).build();
+    }
+
+    @Test
+    @DisplayName("Should process every reading of an envelope in envelope order")
+    void shouldUnpackEnvelopeInOrder() {
+        VehicleTelemetryMessage police1 = reading("POLICE_001", 0);
+        VehicleTelemetryMessage ambulance = reading("AMBULANCE_002", 0);
+        VehicleTelemetryMessage police2 = reading("POLICE_001", 5);
+
+        consumer.consumeEnvelope(new TelemetryEnvelopeMessage(List.of(police1, ambulance, police2)));
+
+        InOrder order = inOrder(analyticsService);
+        order.verify(analyticsService).processTelemetry(police1);
+        order.verify(analyticsService).processTelemetry(ambulance);
+        order.verify(analyticsService).processTelemetry(police2);
+    }
+
+    @Test
+    @DisplayName("Should keep processing an envelope after a reading failed")
+    void shouldContinueAfterFailedReading() {
+        VehicleTelemetryMessage failing = reading("POLICE_001", 0);
+        VehicleTelemetryMessage next = reading("AMBULANCE_002", 0);
+        doThrow(new IllegalStateException("bad reading")).when(analyticsService).processTelemetry(failing);
+
+        consumer.consumeEnvelope(new TelemetryEnvelopeMessage(List.of(failing, next)));
+
+        verify(analyticsService).processTelemetry(next);
+    }
+
+    @Test
+    @DisplayName("Should accept an empty envelope without processing anything")
+    void shouldAcceptEmptyEnvelope() {
+        consumer.consumeEnvelope(new TelemetryEnvelopeMessage(List.of()));
+        consumer.consumeEnvelope(new TelemetryEnvelopeMessage(null));
+
+        verify(analyticsService, never()).processTelemetry(any());
+    }
+}
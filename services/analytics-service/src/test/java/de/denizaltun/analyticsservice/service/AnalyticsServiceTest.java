@@ -166,6 +166,23 @@ class AnalyticsServiceTest {
             assertThat(metrics.getTotalFuelConsumed()).isEqualTo(5.0);
         }
 
+        @Test
+        @DisplayName("Should average wide-mode signals per channel")
+        void shouldAverageSignals() {
+            VehicleTelemetryMessage msg1 = createMessage("FIRE_TRUCK_001", VehicleType.FIRE_TRUCK);
+            msg1.setSignals(Map.of("pump_pressure", 8.0, "oil_temp", 90.0));
+            VehicleTelemetryMessage msg2 = createMessage("FIRE_TRUCK_001", VehicleType.FIRE_TRUCK);
+            msg2.setSignals(Map.of("pump_pressure", 12.0));
+
+            analyticsService.processTelemetry(msg1);
+            analyticsService.processTelemetry(msg2);
+
+            VehicleMetrics metrics = analyticsService.getVehicleMetrics("FIRE_TRUCK_001");
+            assertThat(metrics.getSignalAverages())
+                    .containsEntry("pump_pressure", 10.0)
+                    .containsEntry("oil_temp", 90.0);
+        }
+
         @Test
         @DisplayName("Should track status distribution")
         void shouldTrackStatusDistribution() {
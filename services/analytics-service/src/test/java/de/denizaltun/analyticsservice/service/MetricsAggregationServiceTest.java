@@ -1,5 +1,6 @@
 package de.denizaltun.analyticsservice.service;
 
+import de.denizaltun.analyticsservice.archive.TelemetryArchive;
 import de.denizaltun.analyticsservice.entity.DailyFleetMetrics;
 import de.denizaltun.analyticsservice.entity.DailyVehicleMetrics;
 import de.denizaltun.analyticsservice.repository.DailyFleetMetricsRepository;
@@ -54,6 +55,9 @@ class MetricsAggregationServiceTest {
     @Mock
     private DailyVehicleMetricsRepository vehicleMetricsRepository;
 
+    @Mock
+    private TelemetryArchive telemetryArchive;
+
     @InjectMocks
     private MetricsAggregationService aggregationService;
 
@@ -0,0 +1,9 @@
+package de.denizaltun.dataprocessor.config;
+
+/**
+ * How telemetry records are taken off the topic and persisted.
+ */
+public enum IngestMode {
+    RECORD,     // one listener call, one transaction per record
+    BATCH       // one listener call, one transaction per poll
+}
@@ -0,0 +1,9 @@
+package de.denizaltun.dataprocessor.config;
+
+/**
+ * How a batch of readings is written to vehicle_telemetry in batch ingest mode.
+ */
+public enum IngestWriter {
+    JPA,        // Hibernate entities, batched INSERTs
+    COPY        // PostgreSQL binary COPY, no entities
+}
@@ -0,0 +1,22 @@
+package de.denizaltun.dataprocessor.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot only auto-configures an ObjectMapper together with spring-web, which this service
+ * does not use. The COPY writer and the alert rule loader need one.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ObjectMapper objectMapper() {
+        // Registers jackson-datatype-jsr310 for LocalDateTime and Duration
+        return JsonMapper.builder().findAndAddModules().build();
+    }
+}
@@ -1,6 +1,8 @@
 package de.denizaltun.dataprocessor.config;
 
 import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
@@ -9,52 +11,122 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 import java.util.Map;
 
 /**
  * Kafka consumer configuration.
  * Sets up JSON deserialization for VehicleTelemetryMessage.
+ * <p>
+ * Besides the per-record factory there is a batch factory for {@code app.ingest.mode=batch}:
+ * its consumers fetch up to {@code batch-size} records per poll and hand them to the listener
+ * as one list, and offsets are committed only after the listener returned, i.e. after the
+ * batch transaction committed.
+ * <p>
+ * The per-record factory acknowledges manually and asynchronously: TelemetryConsumer hands readings
+ * to worker lanes and acknowledges each record when its readings are done, in any order. The
+ * container commits an offset only once every record before it was acknowledged too, and does not
+ * poll again until the previous poll is fully acknowledged, which bounds the records in flight
+ * to {@code max.poll.records}.
  */
+@Slf4j
 @EnableKafka
 @Configuration
 public class KafkaConsumerConfig {
 
     private final KafkaProperties kafkaProperties;
+    private final ProcessorConfig.Ingest ingest;
 
-    public KafkaConsumerConfig(KafkaProperties kafkaProperties) {
+    public KafkaConsumerConfig(KafkaProperties kafkaProperties, ProcessorConfig config) {
         this.kafkaProperties = kafkaProperties;
+        this.ingest = config.getIngest();
     }
 
     /**
      * Configure Kafka consumer factory with JSON deserialization and SASL/SSL.
      */
     @Bean
-    public ConsumerFactory<String, VehicleTelemetryMessage> consumerFactory() {
+    public ConsumerFactory<String, Object> consumerFactory() {
+        return createConsumerFactory(Map.of());
+    }
+
+    private ConsumerFactory<String, Object> createConsumerFactory(Map<String, Object> overrides) {
         Map<String, Object> props = kafkaProperties.buildConsumerProperties(null);
+        props.putAll(overrides);
 
         // Add JsonDeserializer properties - these will be applied via configure()
         // Using constructor-only (no setters) keeps typeMapper null, avoiding Spring Kafka 3.x conflict
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, VehicleTelemetryMessage.class.getName());
         props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        // Single readings or batch envelopes, told apart by the telemetry-format header
+        props.put(JsonDeserializer.VALUE_TYPE_METHOD, TelemetryPayloadTypes.class.getName() + ".resolve");
 
         // Create deserializer with target type only - don't call any setters!
         // The factory will call configure() which applies properties from the map
-        JsonDeserializer<VehicleTelemetryMessage> deserializer = new JsonDeserializer<>(VehicleTelemetryMessage.class);
+        // The type method picks the payload class per record, so the target type here is only a placeholder
+        JsonDeserializer<Object> deserializer = new JsonDeserializer<>(Object.class);
 
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), deserializer);
+        // Undecodable payloads become a DeserializationException for the error handler, which logs and
+        // skips the record, instead of failing every poll on the same offset
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(deserializer));
     }
 
     /**
      * Configure Kafka listener container factory.
      */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, VehicleTelemetryMessage> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, VehicleTelemetryMessage> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    /**
+     * Configure the listener container factory of the telemetry retry topics (TelemetryRetryConsumer).
+     * Acknowledged manually and asynchronously like the per-record factory: the listener schedules
+     * each record for its due time and acknowledges it once it was reprocessed.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> retryListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    /**
+     * Configure the batch listener container factory used in batch ingest mode.
+     * A batch whose transaction fails is redelivered with backoff for {@code retry-timeout};
+     * only then is it logged and skipped, so offsets never move past readings that were not stored.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(createConsumerFactory(Map.of(
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, ingest.getBatchSize(),
+                ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) ingest.getMaxWait().toMillis(),
+                ConsumerConfig.FETCH_MIN_BYTES_CONFIG, ingest.getMinBytes())));
+        factory.setBatchListener(true);
+
+        ExponentialBackOff backOff = new ExponentialBackOff(500, 2.0);
+        backOff.setMaxInterval(30_000);
+        backOff.setMaxElapsedTime(ingest.getRetryTimeout().toMillis());
+        factory.setCommonErrorHandler(new DefaultErrorHandler((record, e) ->
+                log.error("Giving up on telemetry from partition: {}, offset: {}: {}",
+                        record.partition(), record.offset(), e.getMessage()), backOff));
         return factory;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package de.denizaltun.dataprocessor.config;
 
 import de.denizaltun.dataprocessor.dto.AlertEvent;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
@@ -24,14 +25,31 @@ public class KafkaProducerConfig {
 
     @Bean
     public ProducerFactory<String, AlertEvent> alertProducerFactory() {
-        Map<String, Object> props = kafkaProperties.buildProducerProperties(null);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(props);
+        return createProducerFactory();
     }
 
     @Bean
     public KafkaTemplate<String, AlertEvent> alertKafkaTemplate() {
         return new KafkaTemplate<>(alertProducerFactory());
     }
+
+    /**
+     * Republishes failed readings to the retry and dead-letter topics.
+     */
+    @Bean
+    public ProducerFactory<String, VehicleTelemetryMessage> telemetryRetryProducerFactory() {
+        return createProducerFactory();
+    }
+
+    @Bean
+    public KafkaTemplate<String, VehicleTelemetryMessage> telemetryRetryKafkaTemplate() {
+        return new KafkaTemplate<>(telemetryRetryProducerFactory());
+    }
+
+    private <T> ProducerFactory<String, T> createProducerFactory() {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(null);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        return new DefaultKafkaProducerFactory<>(props);
+    }
 }
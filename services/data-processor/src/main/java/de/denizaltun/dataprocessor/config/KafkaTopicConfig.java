@@ -0,0 +1,42 @@
+package de.denizaltun.dataprocessor.config;
+
+import de.denizaltun.dataprocessor.consumer.TelemetryRetryTopics;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declares the topics the data processor publishes to, so KafkaAdmin creates them at startup
+ * instead of relying on the broker auto-creating them on first use, which may be disabled and
+ * otherwise applies the broker's defaults.
+ * <p>
+ * The retry tiers and the dead-letter topic follow {@code app.retry}; record mode only.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.ingest.mode", havingValue = "record", matchIfMissing = true)
+public class KafkaTopicConfig {
+
+    @Bean
+    public KafkaAdmin.NewTopics telemetryRetryTopicDeclarations(ProcessorConfig config) {
+        ProcessorConfig.Retry retry = config.getRetry();
+        List<NewTopic> topics = new ArrayList<>();
+        for (int tier = 0; tier < retry.getTiers(); tier++) {
+            topics.add(topic(TelemetryRetryTopics.topic(tier), retry));
+        }
+        topics.add(topic(TelemetryRetryTopics.DEAD_LETTER_TOPIC, retry));
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
+
+    private static NewTopic topic(String name, ProcessorConfig.Retry retry) {
+        return TopicBuilder.name(name)
+                .partitions(retry.getPartitions())
+                .replicas(retry.getReplicas())
+                .build();
+    }
+}
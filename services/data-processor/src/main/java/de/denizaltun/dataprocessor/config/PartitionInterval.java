@@ -0,0 +1,29 @@
+package de.denizaltun.dataprocessor.config;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Time span covered by one vehicle_telemetry partition.
+ */
+public enum PartitionInterval {
+    DAY,
+    WEEK;       // Monday to Monday
+
+    /**
+     * Start of the partition period containing {@code time}.
+     */
+    public LocalDateTime periodStart(LocalDateTime time) {
+        LocalDateTime midnight = time.toLocalDate().atStartOfDay();
+        return this == DAY ? midnight : midnight.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Start of the partition period after the one containing {@code time}.
+     */
+    public LocalDateTime nextPeriodStart(LocalDateTime time) {
+        LocalDateTime start = periodStart(time);
+        return this == DAY ? start.plusDays(1) : start.plusWeeks(1);
+    }
+}
@@ -0,0 +1,108 @@
+package de.denizaltun.dataprocessor.config;
+
+import de.denizaltun.dataprocessor.model.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app")
+public class ProcessorConfig {
+
+    private Ingest ingest = new Ingest();
+    private Partitioning partitioning = new Partitioning();
+    private Alerts alerts = new Alerts();
+    private Anomaly anomaly = new Anomaly();
+    private Retry retry = new Retry();
+
+    @Data
+    public static class Ingest {
+        private IngestMode mode = IngestMode.RECORD;
+        private IngestWriter writer = IngestWriter.JPA;        // batch mode only, record mode always uses JPA
+        private int batchSize = 500;                            // max records per poll, and per transaction
+        private Duration maxWait = Duration.ofMillis(200);      // broker waits this long to fill a batch
+        private int minBytes = 64 * 1024;                       // ... unless this many bytes are ready first
+        private Duration retryTimeout = Duration.ofMinutes(5);  // redeliver a failed batch for this long, then skip it
+        private int workers = Runtime.getRuntime().availableProcessors();  // record mode only, lanes keyed by vehicle id
+    }
+
+    @Data
+    public static class Partitioning {
+        private boolean enabled = true;                         // PostgreSQL only, ignored on other databases
+        private PartitionInterval interval = PartitionInterval.DAY;
+        private int premake = 7;                                // future partitions kept ready
+        private Duration retention = Duration.ofDays(90);       // partitions ending before now - retention expire
+        private boolean dropExpired = true;                     // false: detach only and keep the table
+        private boolean dropUnarchived = false;                 // true: also drop partitions analytics-service has not archived
+    }
+
+    /**
+     * Alert conditions are edge-triggered: an alert goes out when a condition starts to hold, and
+     * again only after it cleared. A condition clears once the value is back past {@code clear},
+     * not merely past {@code raise}, so a value hovering around the threshold does not re-alert.
+     * These are the defaults; {@code rulesFile} can override them per vehicle type and per vehicle.
+     */
+    @Data
+    public static class Alerts {
+        private Band lowFuel = new Band(20.0, 25.0);            // percent; alert below raise
+        private Band highEngineTemp = new Band(95.0, 90.0);     // °C; alert above raise
+        private Band lowBattery12v = new Band(11.5, 12.0);      // volts, police and ambulance; alert below raise
+        private Band lowBattery24v = new Band(23.0, 24.0);      // volts, fire trucks; alert below raise
+        private Duration emergencyLightsMinDuration = Duration.ZERO;
+        private String rulesFile;                               // optional JSON overrides, reloaded when it changes
+
+        public Band lowBattery(VehicleType vehicleType) {
+            return vehicleType == VehicleType.FIRE_TRUCK ? lowBattery24v : lowBattery12v;
+        }
+    }
+
+    /**
+     * Streaming detection against each vehicle's own recent behaviour, see AnomalyDetector.
+     */
+    @Data
+    public static class Anomaly {
+        private boolean enabled = true;
+        private int window = 32;                                // readings per vehicle in the trend window
+        private double alpha = 0.05;                            // EWMA weight of the newest reading
+        private int warmup = 30;                                // readings before a baseline is trusted
+        private double maxZScore = 4.0;                         // deviation from the baseline, in standard deviations
+        private double engineTempRise = 1.0;                    // °C per minute across a full window
+        private double batteryVoltageDrop = 1.0;                // V per hour across a full window
+    }
+
+    /**
+     * Record mode hands a reading whose processing failed to retry topics instead of dropping it:
+     * vehicle-telemetry-retry-0 after {@code delay}, each further tier {@code multiplier} times later,
+     * and vehicle-telemetry-dlt once all tiers failed. The main topic never waits for a retry.
+     */
+    @Data
+    public static class Retry {
+        private int tiers = 3;                                  // retry topics before the dead-letter topic
+        private Duration delay = Duration.ofSeconds(5);         // delay of the first tier
+        private double multiplier = 6.0;                        // 5s, 30s, 3m
+        private int partitions = 1;                             // of each retry topic and the dead-letter topic
+        private short replicas = 1;
+
+        public Duration delay(int tier) {
+            return Duration.ofMillis((long) (delay.toMillis() * Math.pow(multiplier, tier)));
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Band {
+        private double raise;                                   // threshold that raises the alert
+        private double clear;                                   // threshold that clears it again
+        private Duration minDuration = Duration.ZERO;           // must hold this long (reading time) before alerting
+
+        public Band(double raise, double clear) {
+            this(raise, clear, Duration.ZERO);
+        }
+    }
+}
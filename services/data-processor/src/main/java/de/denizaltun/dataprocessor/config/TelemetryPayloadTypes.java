@@ -0,0 +1,35 @@
+package de.denizaltun.dataprocessor.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import de.denizaltun.dataprocessor.dto.TelemetryEnvelopeMessage;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Chooses the payload type of a vehicle-telemetry record from its headers.
+ * Registered as the JsonDeserializer value type method, so single readings and
+ * envelopes can share the topic without sniffing the payload.
+ */
+public final class TelemetryPayloadTypes {
+
+    public static final String FORMAT_HEADER = "telemetry-format";
+    public static final String ENVELOPE = "envelope";
+
+    private static final JavaType SINGLE = TypeFactory.defaultInstance().constructType(VehicleTelemetryMessage.class);
+    private static final JavaType ENVELOPE_TYPE = TypeFactory.defaultInstance().constructType(TelemetryEnvelopeMessage.class);
+
+    private TelemetryPayloadTypes() {
+    }
+
+    public static JavaType resolve(String topic, byte[] data, Headers headers) {
+        Header format = headers == null ? null : headers.lastHeader(FORMAT_HEADER);
+        if (format != null && ENVELOPE.equals(new String(format.value(), StandardCharsets.UTF_8))) {
+            return ENVELOPE_TYPE;
+        }
+        return SINGLE;
+    }
+}
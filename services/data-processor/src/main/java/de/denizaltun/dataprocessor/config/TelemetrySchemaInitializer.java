@@ -0,0 +1,75 @@
+package de.denizaltun.dataprocessor.config;
+
+import de.denizaltun.dataprocessor.service.TelemetryPartitionManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Brings an existing PostgreSQL schema in line with what Hibernate's ddl-auto cannot migrate.
+ * <ul>
+ *   <li>vehicle_telemetry ids used to come from an IDENTITY column; they now come from a pooled
+ *   sequence that ddl-auto creates starting at 1. On a database that already holds rows the
+ *   sequence is moved past the highest id, otherwise the first inserts would collide.</li>
+ *   <li>ddl-auto cannot add the (vehicle_id, time_stamp) unique constraint to a table that already
+ *   holds redelivered duplicates. Those are deleted, keeping the first stored copy, and the
+ *   constraint is added.</li>
+ *   <li>ddl-auto creates a plain table; {@link TelemetryPartitionManager} turns it into a
+ *   partitioned one unless {@code app.partitioning.enabled} is off.</li>
+ * </ul>
+ * Runs once all singletons exist, i.e. after the schema update, and before the listener
+ * containers start, so no reading is stored while the schema changes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TelemetrySchemaInitializer implements SmartInitializingSingleton {
+
+    private static final String NATURAL_KEY = "uk_vehicle_telemetry_vehicle_time";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TelemetryPartitionManager partitionManager;
+    private final ProcessorConfig config;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!isPostgres()) {
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM vehicle_telemetry", Long.class);
+        Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM vehicle_telemetry_seq", Long.class);
+        if (maxId != null && lastValue != null && maxId > lastValue) {
+            jdbcTemplate.queryForObject("SELECT setval('vehicle_telemetry_seq', ?)", Long.class, maxId);
+            log.info("Moved vehicle_telemetry_seq from {} to {}", lastValue, maxId);
+        }
+
+        Integer keys = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE conname = ?", Integer.class, NATURAL_KEY);
+        if (keys != null && keys == 0) {
+            int deleted = jdbcTemplate.update("DELETE FROM vehicle_telemetry a USING vehicle_telemetry b "
+                    + "WHERE a.vehicle_id = b.vehicle_id AND a.time_stamp = b.time_stamp AND a.id > b.id");
+            jdbcTemplate.execute("ALTER TABLE vehicle_telemetry ADD CONSTRAINT " + NATURAL_KEY
+                    + " UNIQUE (vehicle_id, time_stamp)");
+            log.info("Deleted {} duplicate telemetry rows and added {}", deleted, NATURAL_KEY);
+        }
+
+        if (config.getPartitioning().isEnabled()) {
+            partitionManager.initialize();
+        }
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot determine the telemetry database", e);
+        }
+    }
+}
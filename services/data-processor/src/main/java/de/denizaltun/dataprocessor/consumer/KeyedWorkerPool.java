@@ -0,0 +1,84 @@
+package de.denizaltun.dataprocessor.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed set of single-threaded lanes, picked by hashing a key. Tasks with the same key run
+ * one after the other in submission order; tasks with different keys usually land on different
+ * lanes and run in parallel.
+ * <p>
+ * The queues are unbounded: callers bound the work in flight themselves, the telemetry consumer
+ * through the container, which polls no further until every record of the previous poll was acknowledged.
+ */
+@Slf4j
+public class KeyedWorkerPool implements AutoCloseable {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String name;
+    private final ExecutorService[] lanes;
+
+    public KeyedWorkerPool(String name, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("A worker pool needs at least one lane, got " + size);
+        }
+        this.name = name;
+        this.lanes = new ExecutorService[size];
+        AtomicInteger threads = new AtomicInteger();
+        for (int i = 0; i < size; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(task -> new Thread(task, name + "-" + threads.getAndIncrement()));
+        }
+    }
+
+    /**
+     * Queues a task on the lane of {@code key}.
+     */
+    public void execute(String key, Runnable task) {
+        lanes[laneOf(key)].execute(task);
+    }
+
+    int laneOf(String key) {
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    public int size() {
+        return lanes.length;
+    }
+
+    /**
+     * Stops accepting tasks and waits for the queued ones to finish.
+     */
+    @Override
+    public void close() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        try {
+            for (ExecutorService lane : lanes) {
+                if (!lane.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    log.warn("Worker pool {} did not drain within {}, dropping queued tasks", name, DRAIN_TIMEOUT);
+                    for (ExecutorService remaining : lanes) {
+                        remaining.shutdownNow();
+                    }
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (ExecutorService lane : lanes) {
+                lane.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package de.denizaltun.dataprocessor.consumer;
+
+import de.denizaltun.dataprocessor.dto.TelemetryEnvelopeMessage;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.service.TelemetryProcessingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kafka consumer for batch ingest mode ({@code app.ingest.mode=batch}).
+ * <p>
+ * Receives a whole poll at once, unpacks envelopes and stores all readings in a single
+ * transaction. An exception is deliberately not caught: the container then redelivers the
+ * batch instead of committing offsets for readings that were never stored.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.ingest.mode", havingValue = "batch")
+public class TelemetryBatchConsumer {
+
+    private final TelemetryProcessingService processingService;
+
+    @KafkaListener(
+            topics = "vehicle-telemetry",
+            groupId = "data-processor-group",
+            containerFactory = "batchListenerContainerFactory"
+    )
+    public void consumeBatch(List<ConsumerRecord<String, Object>> records) {
+        List<VehicleTelemetryMessage> messages = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, Object> record : records) {
+            switch (record.value()) {
+                case VehicleTelemetryMessage message -> messages.add(message);
+                case TelemetryEnvelopeMessage envelope when envelope.getReadings() != null ->
+                        messages.addAll(envelope.getReadings());
+                // Undecodable payloads arrive as null from the ErrorHandlingDeserializer
+                case null -> log.warn("Skipping undecodable telemetry from partition: {}, offset: {}",
+                        record.partition(), record.offset());
+                default -> log.warn("Skipping empty telemetry envelope from partition: {}, offset: {}",
+                        record.partition(), record.offset());
+            }
+        }
+
+        log.info("Received telemetry batch: {} records, {} readings", records.size(), messages.size());
+        processingService.processBatch(messages);
+    }
+}
@@ -1,52 +1,147 @@
 package de.denizaltun.dataprocessor.consumer;
 
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.TelemetryEnvelopeMessage;
 import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
 import de.denizaltun.dataprocessor.service.TelemetryProcessingService;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Kafka consumer that listens for vehicle telemetry messages.
  * Consumes from 'vehicle.telemetry' topic and processes each message.
+ * <p>
+ * A record holds either a single reading or a batch envelope of many vehicles' readings;
+ * the deserializer picks the type (see TelemetryPayloadTypes) and envelopes are unpacked here,
+ * so the processing service always sees one reading at a time.
+ * <p>
+ * Readings are not processed on the consumer thread but fanned out to {@code app.ingest.workers}
+ * lanes by vehicle id ({@link KeyedWorkerPool}), so one partition can keep every core busy while
+ * each vehicle's readings are still processed in order. A record is acknowledged once all its
+ * readings are done; the container acknowledges out of order but commits only up to the lowest
+ * offset whose record and all records before it are done (see KafkaConsumerConfig).
+ * A reading that fails is handed to the retry topics ({@link TelemetryRetryTopics}) and counts as done
+ * once the broker took it; until then its lane keeps trying, and a record is never acknowledged
+ * with a reading that was neither stored nor handed on.
+ * <p>
+ * Active in record ingest mode; {@link TelemetryBatchConsumer} replaces it in batch mode.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.ingest.mode", havingValue = "record", matchIfMissing = true)
+@KafkaListener(
+        topics = "vehicle-telemetry",
+        groupId = "data-processor-group",
+        containerFactory = "kafkaListenerContainerFactory"
+)
 public class TelemetryConsumer {
 
     private final TelemetryProcessingService processingService;
+    private final TelemetryRetryTopics retryTopics;
+    private final KeyedWorkerPool workers;
+
+    public TelemetryConsumer(TelemetryProcessingService processingService, TelemetryRetryTopics retryTopics,
+                             ProcessorConfig config) {
+        this.processingService = processingService;
+        this.retryTopics = retryTopics;
+        this.workers = new KeyedWorkerPool("telemetry-worker", config.getIngest().getWorkers());
+    }
 
     /**
-     * Listen to vehicle.telemetry topic and process each message.
+     * Process a single telemetry reading.
      *
      * @param message The deserialized telemetry message
      * @param partition The Kafka partition this message came from
      * @param offset The offset of this message in the partition
+     * @param acknowledgment Acknowledged once the reading was processed
      */
-    @KafkaListener(
-            topics = "vehicle-telemetry",
-            groupId = "data-processor-group",
-            containerFactory = "kafkaListenerContainerFactory"
-    )
+    @KafkaHandler(isDefault = true)
     public void consumeTelemetry(
             @Payload VehicleTelemetryMessage message,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset
+            @Header(KafkaHeaders.OFFSET) long offset,
+            Acknowledgment acknowledgment
     ) {
         log.info("Received telemetry from partition: {}, offset: {}, vehicle: {}",
                 partition, offset, message.getVehicleId());
 
+        dispatch(List.of(message), acknowledgment);
+    }
+
+    /**
+     * Unpack an envelope; each vehicle's readings are processed in envelope order.
+     * A failing reading is retried on its own, it does not hold back the rest of the envelope.
+     */
+    @KafkaHandler
+    public void consumeEnvelope(
+            @Payload TelemetryEnvelopeMessage envelope,
+            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+            @Header(KafkaHeaders.OFFSET) long offset,
+            Acknowledgment acknowledgment
+    ) {
+        if (envelope.getReadings() == null || envelope.getReadings().isEmpty()) {
+            log.warn("Received empty telemetry envelope from partition: {}, offset: {}", partition, offset);
+            acknowledgment.acknowledge();
+            return;
+        }
+        log.info("Received telemetry envelope from partition: {}, offset: {}, readings: {}",
+                partition, offset, envelope.getReadings().size());
+
+        dispatch(envelope.getReadings(), acknowledgment);
+    }
+
+    /**
+     * Queues each reading on its vehicle's lane and acknowledges the record after the last one finished.
+     */
+    private void dispatch(List<VehicleTelemetryMessage> readings, Acknowledgment acknowledgment) {
+        AtomicInteger remaining = new AtomicInteger(readings.size());
+        AtomicBoolean handled = new AtomicBoolean(true);
+        for (VehicleTelemetryMessage message : readings) {
+            workers.execute(message.getVehicleId(), () -> {
+                if (!process(message)) {
+                    handled.set(false);
+                }
+                // Left unacknowledged only on shutdown, the record is redelivered after the restart
+                if (remaining.decrementAndGet() == 0 && handled.get()) {
+                    acknowledgment.acknowledge();
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs after the listener container stopped. Readings that finish now can no longer be
+     * committed and are redelivered, which idempotent ingest drops as duplicates.
+     */
+    @PreDestroy
+    public void close() {
+        workers.close();
+    }
+
+    /**
+     * A reading that fails is handed to the first retry tier, so the partition moves on meanwhile.
+     *
+     * @return whether the reading was stored or handed to the retry topics
+     */
+    private boolean process(VehicleTelemetryMessage message) {
         try {
             processingService.processTelemetry(message);
+            return true;
         } catch (Exception e) {
-            log.error("Error processing telemetry for vehicle {}: {}",
-                    message.getVehicleId(), e.getMessage(), e);
-
+            log.warn("Error processing telemetry for vehicle {}: {}", message.getVehicleId(), e.getMessage());
+            return retryTopics.handOff(message, 0, e);
         }
     }
 }
@@ -0,0 +1,136 @@
+package de.denizaltun.dataprocessor.consumer;
+
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.metrics.IngestMetrics;
+import de.denizaltun.dataprocessor.service.TelemetryProcessingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reprocesses failed telemetry readings from the retry topics, one listener container per tier.
+ * <p>
+ * The consumer thread never waits for a record: it schedules each one for its due time, then
+ * reprocesses it on its vehicle's worker lane and acknowledges it from there, like TelemetryConsumer.
+ * No partition is paused for a record that is not yet due, and a vehicle that keeps failing only
+ * holds up its own lane. A tier's records all have the same delay, so the container's limit of one
+ * unacknowledged poll at a time (see KafkaConsumerConfig) only holds back records that would not be
+ * due yet either. A reading that fails again moves on to the next tier, past the last one to the
+ * dead-letter topic ({@link TelemetryRetryTopics}).
+ * <p>
+ * Readings of one vehicle may be stored out of order across tiers; they carry their own timestamps
+ * and alert state ignores late readings.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.ingest.mode", havingValue = "record", matchIfMissing = true)
+public class TelemetryRetryConsumer implements SmartLifecycle {
+
+    private final TelemetryProcessingService processingService;
+    private final TelemetryRetryTopics retryTopics;
+    private final IngestMetrics metrics;
+    private final ProcessorConfig.Retry settings;
+    private final List<ConcurrentMessageListenerContainer<String, Object>> containers = new ArrayList<>();
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(task -> new Thread(task, "telemetry-retry-scheduler"));
+    private final KeyedWorkerPool workers;
+
+    public TelemetryRetryConsumer(TelemetryProcessingService processingService, TelemetryRetryTopics retryTopics,
+                                  IngestMetrics metrics, ProcessorConfig config,
+                                  ConcurrentKafkaListenerContainerFactory<String, Object> retryListenerContainerFactory) {
+        this.processingService = processingService;
+        this.retryTopics = retryTopics;
+        this.metrics = metrics;
+        this.settings = config.getRetry();
+        this.workers = new KeyedWorkerPool("telemetry-retry-worker", config.getIngest().getWorkers());
+        for (int tier = 0; tier < retryTopics.tiers(); tier++) {
+            int current = tier;
+            ConcurrentMessageListenerContainer<String, Object> container =
+                    retryListenerContainerFactory.createContainer(TelemetryRetryTopics.topic(tier));
+            container.getContainerProperties().setGroupId("data-processor-group");
+            container.setBeanName("telemetry-retry-" + tier);
+            container.setupMessageListener((AcknowledgingMessageListener<String, Object>)
+                    (record, acknowledgment) -> consumeRetry(current, record, acknowledgment));
+            containers.add(container);
+        }
+    }
+
+    void consumeRetry(int tier, ConsumerRecord<String, Object> record, Acknowledgment acknowledgment) {
+        if (!(record.value() instanceof VehicleTelemetryMessage message)) {
+            log.warn("Skipping unexpected {} on {}, offset: {}", record.value(), record.topic(), record.offset());
+            acknowledgment.acknowledge();
+            return;
+        }
+        Runnable dispatch = () -> workers.execute(message.getVehicleId(), () -> {
+            if (reprocess(tier, message)) {
+                acknowledgment.acknowledge();
+            }
+        });
+        long wait = TelemetryRetryTopics.dueTime(record.headers()) - System.currentTimeMillis();
+        if (wait > 0) {
+            // Capped in case the producer's clock ran ahead
+            scheduler.schedule(dispatch, Math.min(wait, settings.delay(tier).toMillis()), TimeUnit.MILLISECONDS);
+        } else {
+            dispatch.run();
+        }
+    }
+
+    /**
+     * @return whether the reading was stored or handed to the next tier, i.e. may be acknowledged
+     */
+    private boolean reprocess(int tier, VehicleTelemetryMessage message) {
+        try {
+            processingService.processTelemetry(message);
+            metrics.recordRetrySucceeded(tier + 1);
+            return true;
+        } catch (Exception e) {
+            return retryTopics.handOff(message, tier + 1, e);
+        }
+    }
+
+    /**
+     * Runs after the listener containers stopped. Records still waiting for their due time, or for
+     * the broker to take their hand-off, stay unacknowledged and are redelivered after the restart.
+     */
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        workers.close();
+    }
+
+    @Override
+    public void start() {
+        containers.forEach(ConcurrentMessageListenerContainer::start);
+    }
+
+    @Override
+    public void stop() {
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return containers.stream().anyMatch(ConcurrentMessageListenerContainer::isRunning);
+    }
+
+    @Override
+    public int getPhase() {
+        // Start and stop together with the @KafkaListener containers
+        return AbstractMessageListenerContainer.DEFAULT_PHASE;
+    }
+}
@@ -0,0 +1,137 @@
+package de.denizaltun.dataprocessor.consumer;
+
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.metrics.IngestMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.backoff.BackOffExecution;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Routes failed telemetry readings through the retry tiers ({@code app.retry}):
+ * vehicle-telemetry-retry-0 .. -N, then vehicle-telemetry-dlt.
+ * <p>
+ * Each record carries the time it becomes due; all records of a tier have the same delay, so
+ * a tier's topic is ordered by due time. {@link TelemetryRetryConsumer} holds each record until then.
+ * Readings are keyed by vehicle id like on the main topic.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.ingest.mode", havingValue = "record", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TelemetryRetryTopics {
+
+    public static final String RETRY_TOPIC_PREFIX = "vehicle-telemetry-retry-";
+    public static final String DEAD_LETTER_TOPIC = "vehicle-telemetry-dlt";
+    public static final String DUE_HEADER = "telemetry-retry-due";
+    public static final String ERROR_HEADER = "telemetry-error";
+
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+    private static final long REPUBLISH_INITIAL_MILLIS = 500;
+    private static final long REPUBLISH_MAX_MILLIS = 30_000;
+
+    private final KafkaTemplate<String, VehicleTelemetryMessage> telemetryRetryKafkaTemplate;
+    private final IngestMetrics metrics;
+    private final ProcessorConfig config;
+
+    public int tiers() {
+        return config.getRetry().getTiers();
+    }
+
+    public static String topic(int tier) {
+        return RETRY_TOPIC_PREFIX + tier;
+    }
+
+    /**
+     * Hands a reading that failed to the given retry tier, or to the dead-letter topic past the last one.
+     * Waits for the broker, so the caller acknowledges the failed record only once its retry is safe.
+     *
+     * @throws KafkaException if the reading could not be republished
+     */
+    public void retry(VehicleTelemetryMessage message, int tier, Exception cause) {
+        boolean deadLetter = tier >= tiers();
+        String topic = deadLetter ? DEAD_LETTER_TOPIC : topic(tier);
+        ProducerRecord<String, VehicleTelemetryMessage> record =
+                new ProducerRecord<>(topic, message.getVehicleId(), message);
+        if (!deadLetter) {
+            long due = System.currentTimeMillis() + config.getRetry().delay(tier).toMillis();
+            record.headers().add(DUE_HEADER, Long.toString(due).getBytes(StandardCharsets.UTF_8));
+        }
+        record.headers().add(ERROR_HEADER, String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8));
+
+        try {
+            telemetryRetryKafkaTemplate.send(record).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while republishing telemetry to " + topic, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Failed to republish telemetry to " + topic, e);
+        }
+        metrics.recordRetryScheduled(topic);
+        if (deadLetter) {
+            log.error("Giving up on telemetry for vehicle {} after {} retries, sent to {}: {}",
+                    message.getVehicleId(), tiers(), topic, cause.getMessage());
+        } else {
+            log.warn("Retrying telemetry for vehicle {} via {}: {}", message.getVehicleId(), topic, cause.getMessage());
+        }
+    }
+
+    /**
+     * Hands a failed reading on like {@link #retry}, and keeps trying with exponential backoff while
+     * the broker does not take it. Blocks the calling worker lane, and with it only the vehicles on
+     * that lane, instead of letting the caller acknowledge a reading that went nowhere.
+     *
+     * @return true once the reading is on a retry or the dead-letter topic; false if the thread was
+     * interrupted first (shutdown), in which case the record must stay unacknowledged
+     */
+    public boolean handOff(VehicleTelemetryMessage message, int tier, Exception cause) {
+        BackOffExecution backOff = republishBackOff().start();
+        while (true) {
+            try {
+                retry(message, tier, cause);
+                return true;
+            } catch (RuntimeException e) {
+                // KafkaException from retry(), or whatever the producer throws before sending
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                long wait = backOff.nextBackOff();
+                log.warn("Could not hand telemetry for vehicle {} to retry tier {}, trying again in {} ms: {}",
+                        message.getVehicleId(), tier, wait, e.getMessage());
+                try {
+                    Thread.sleep(wait);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+    }
+
+    ExponentialBackOff republishBackOff() {
+        ExponentialBackOff backOff = new ExponentialBackOff(REPUBLISH_INITIAL_MILLIS, 2.0);
+        backOff.setMaxInterval(REPUBLISH_MAX_MILLIS);
+        return backOff;
+    }
+
+    /**
+     * When a retry record becomes due, in epoch milliseconds; 0 if it carries no due time.
+     */
+    public static long dueTime(Headers headers) {
+        Header due = headers.lastHeader(DUE_HEADER);
+        return due == null ? 0 : Long.parseLong(new String(due.value(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,36 @@
+package de.denizaltun.dataprocessor.dto;
+
+import de.denizaltun.dataprocessor.model.VehicleType;
+import de.denizaltun.dataprocessor.service.AlertCondition;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Alert rule overrides, read from the JSON file at {@code app.alerts.rules-file}.
+ * Every level only lists what it changes; later levels win: the {@code app.alerts} defaults, then
+ * {@code defaults}, then the reading's entry in {@code vehicleTypes}, then its entry in {@code vehicles}.
+ * <pre>
+ * {
+ *   "defaults":     { "LOW_FUEL": { "raise": 15.0, "clear": 20.0, "minDuration": "PT1M" } },
+ *   "vehicleTypes": { "FIRE_TRUCK": { "HIGH_ENGINE_TEMP": { "raise": 105.0, "clear": 98.0 } } },
+ *   "vehicles":     { "AMBULANCE-007": { "EMERGENCY_LIGHTS": { "enabled": false } } }
+ * }
+ * </pre>
+ */
+@Data
+public class AlertRuleFile {
+
+    private Map<AlertCondition, Rule> defaults = Map.of();
+    private Map<VehicleType, Map<AlertCondition, Rule>> vehicleTypes = Map.of();
+    private Map<String, Map<AlertCondition, Rule>> vehicles = Map.of();
+
+    @Data
+    public static class Rule {
+        private Boolean enabled;
+        private Double raise;
+        private Double clear;
+        private Duration minDuration;
+    }
+}
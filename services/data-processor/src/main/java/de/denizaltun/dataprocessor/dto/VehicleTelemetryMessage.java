@@ -8,13 +8,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * DTO for deserializing vehicle telemetry from Kafka messages.
  * Matches the structure sent by vehicle-simulator service.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class VehicleTelemetryMessage {
@@ -29,4 +30,5 @@ public class VehicleTelemetryMessage {
     private Double batteryVoltage;
     private VehicleStatus vehicleStatus;
     private Boolean emergencyLightsActive;
+    private Map<String, Double> signals;     // wide mode: extra sensor channels, null otherwise
 }
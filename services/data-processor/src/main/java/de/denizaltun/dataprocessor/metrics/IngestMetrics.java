@@ -0,0 +1,59 @@
+package de.denizaltun.dataprocessor.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ingest-side meters of the data processor.
+ * stored + duplicates is what arrived valid; a high duplicate share points at redelivery or producer retries.
+ * <p>
+ * processor.retry.scheduled counts readings handed to each retry topic and the dead-letter topic;
+ * processor.retry.depth is the number of retries a reading needed until it was stored.
+ */
+@Component
+public class IngestMetrics {
+
+    private final Counter stored;
+    private final Counter duplicates;
+    private final DistributionSummary retryDepth;
+    private final MeterRegistry registry;
+
+    public IngestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.stored = Counter.builder("processor.records.stored")
+                .description("Telemetry readings written to vehicle_telemetry")
+                .register(registry);
+        this.duplicates = Counter.builder("processor.records.duplicates")
+                .description("Telemetry readings dropped because their (vehicleId, timeStamp) was already stored")
+                .register(registry);
+        this.retryDepth = DistributionSummary.builder("processor.retry.depth")
+                .description("Retries a failed telemetry reading needed until it was stored")
+                .register(registry);
+    }
+
+    public void recordStored(int records) {
+        if (records > 0) {
+            stored.increment(records);
+        }
+    }
+
+    public void recordDuplicates(int records) {
+        if (records > 0) {
+            duplicates.increment(records);
+        }
+    }
+
+    public void recordRetryScheduled(String topic) {
+        Counter.builder("processor.retry.scheduled")
+                .description("Failed telemetry readings handed to a retry or dead-letter topic")
+                .tag("topic", topic)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordRetrySucceeded(int retries) {
+        retryDepth.record(retries);
+    }
+}
@@ -0,0 +1,10 @@
+package de.denizaltun.dataprocessor.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Natural key of a telemetry reading: a vehicle reports at most once per timestamp,
+ * so a second row with the same key can only be a redelivery.
+ */
+public record TelemetryKey(String vehicleId, LocalDateTime timeStamp) {
+}
@@ -5,15 +5,21 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * JPA Entity for storing vehicle telemetry data in PostgreSQL.
  * This matches the structure from vehicle-simulator's Kafka messages.
  */
 @Entity
-@Table(name = "vehicle_telemetry", indexes = {
+@Table(name = "vehicle_telemetry", uniqueConstraints = {
+        // Natural key: redelivered readings are dropped instead of stored twice
+        @UniqueConstraint(name = "uk_vehicle_telemetry_vehicle_time", columnNames = {"vehicle_id", "timeStamp"})
+}, indexes = {
         @Index(name = "idx_vehicle_id", columnList = "vehicle_id"),
         @Index(name = "idx_timeStamp", columnList = "timeStamp"),
         @Index(name = "idx_vehicle_status", columnList = "vehicle_status"),
@@ -25,8 +31,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class VehicleTelemetry {
 
+    /** Ids handed out per sequence call; writers that bypass Hibernate must use the same block size. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence instead of IDENTITY: ids are known before the INSERT, so Hibernate can batch
+    // inserts, and one sequence call covers 50 rows
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_telemetry_seq")
+    @SequenceGenerator(name = "vehicle_telemetry_seq", sequenceName = "vehicle_telemetry_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "vehicle_id", nullable = false)
@@ -64,6 +76,11 @@ public class VehicleTelemetry {
     @Column(name = "emergency_lights_active", nullable = false)
     private Boolean emergencyLightsActive;
 
+    // Wide mode: any number of extra sensor channels, jsonb on PostgreSQL
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "signals")
+    private Map<String, Double> signals;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
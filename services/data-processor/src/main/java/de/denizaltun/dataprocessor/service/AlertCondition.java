@@ -0,0 +1,65 @@
+package de.denizaltun.dataprocessor.service;
+
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+
+/**
+ * The conditions tracked by {@link AlertStateTracker}, each reading one value of a reading.
+ * Bits in the tracker's state bitsets are {@code 1 << ordinal()}.
+ */
+public enum AlertCondition {
+
+    LOW_FUEL(false) {
+        @Override
+        double read(VehicleTelemetryMessage message) {
+            return value(message.getFuelLevel());
+        }
+    },
+    HIGH_ENGINE_TEMP(true) {
+        @Override
+        double read(VehicleTelemetryMessage message) {
+            return value(message.getEngineTemp());
+        }
+    },
+    LOW_BATTERY(false) {
+        @Override
+        double read(VehicleTelemetryMessage message) {
+            return value(message.getBatteryVoltage());
+        }
+    },
+    // 1 while the lights are on; alerts above 0.5
+    EMERGENCY_LIGHTS(true) {
+        @Override
+        double read(VehicleTelemetryMessage message) {
+            Boolean lights = message.getEmergencyLightsActive();
+            return lights == null ? Double.NaN : lights ? 1.0 : 0.0;
+        }
+    };
+
+    static final AlertCondition[] VALUES = values();
+
+    private final boolean above;
+
+    AlertCondition(boolean above) {
+        this.above = above;
+    }
+
+    /**
+     * The value the condition compares, or NaN when the reading does not carry it.
+     */
+    abstract double read(VehicleTelemetryMessage message);
+
+    /**
+     * Whether the condition holds above its threshold (otherwise below).
+     */
+    public boolean isAbove() {
+        return above;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    private static double value(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+}
@@ -0,0 +1,72 @@
+package de.denizaltun.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.AlertRuleFile;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads alert rule overrides from {@code app.alerts.rules-file} (see {@link AlertRuleFile}) and
+ * reloads them whenever the file changes, without restarting or pausing the consumers.
+ * <p>
+ * A file that does not parse or compile is rejected as a whole and the previous rules stay in
+ * force. Deleting the file falls back to the {@code app.alerts} defaults.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertRuleLoader {
+
+    private final ProcessorConfig config;
+    private final AlertStateTracker tracker;
+    private final ObjectMapper objectMapper;
+
+    private FileTime loaded;
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelay = 10, initialDelay = 10, timeUnit = TimeUnit.SECONDS)
+    public synchronized void reload() {
+        String file = config.getAlerts().getRulesFile();
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        Path path = Path.of(file);
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            if (modified.equals(loaded)) {
+                return;
+            }
+            AlertRuleFile definitions = objectMapper.readerFor(AlertRuleFile.class)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(path.toFile());
+            tracker.setRules(AlertRules.compile(config.getAlerts(), definitions));
+            loaded = modified;
+            log.info("Loaded alert rules from {} ({} vehicle types, {} vehicles overridden)",
+                    path, definitions.getVehicleTypes().size(), definitions.getVehicles().size());
+        } catch (NoSuchFileException e) {
+            if (loaded != null) {
+                tracker.setRules(AlertRules.compile(config.getAlerts()));
+                loaded = null;
+                log.warn("Alert rules file {} was removed, using the configured defaults", path);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Rejected alert rules from {}, keeping the previous rules", path, e);
+        }
+    }
+}
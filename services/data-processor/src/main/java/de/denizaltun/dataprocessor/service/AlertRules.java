@@ -0,0 +1,186 @@
+package de.denizaltun.dataprocessor.service;
+
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.AlertRuleFile;
+import de.denizaltun.dataprocessor.model.VehicleType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Alert rules compiled into flat arrays, immutable once built.
+ * <p>
+ * Every combination of vehicle type and per-vehicle override is resolved at compile time into a
+ * rule set: a bitset of enabled conditions plus, per condition, raise and clear thresholds and a
+ * minimum duration at index {@code set * CONDITIONS + condition}. Thresholds of conditions that
+ * hold above their threshold are stored negated, so every check is a single
+ * {@code value * sign < threshold}. Finding a reading's rule set is one map lookup.
+ */
+public final class AlertRules {
+
+    static final int CONDITIONS = AlertCondition.VALUES.length;
+
+    // One slot per vehicle type, and a last one for readings without a type
+    private static final int TYPE_SLOTS = VehicleType.values().length + 1;
+
+    private final Map<String, Integer> vehicleSets;
+    private final int[] enabled;
+    private final double[] raise;
+    private final double[] clear;
+    private final long[] minDurationMillis;
+    private final double[] sign = new double[CONDITIONS];
+
+    private AlertRules(Map<String, Integer> vehicleSets, int sets) {
+        this.vehicleSets = vehicleSets;
+        this.enabled = new int[sets];
+        this.raise = new double[sets * CONDITIONS];
+        this.clear = new double[sets * CONDITIONS];
+        this.minDurationMillis = new long[sets * CONDITIONS];
+        for (AlertCondition condition : AlertCondition.VALUES) {
+            sign[condition.ordinal()] = condition.isAbove() ? -1.0 : 1.0;
+        }
+    }
+
+    /**
+     * The {@code app.alerts} defaults without overrides.
+     */
+    public static AlertRules compile(ProcessorConfig.Alerts defaults) {
+        return compile(defaults, new AlertRuleFile());
+    }
+
+    /**
+     * @throws IllegalArgumentException if a resolved rule clears on the alerting side of its raise threshold
+     */
+    public static AlertRules compile(ProcessorConfig.Alerts defaults, AlertRuleFile file) {
+        Map<String, Integer> vehicleSets = new HashMap<>();
+        int next = TYPE_SLOTS;
+        for (String vehicleId : file.getVehicles().keySet()) {
+            vehicleSets.put(vehicleId, next);
+            next += TYPE_SLOTS;
+        }
+        AlertRules rules = new AlertRules(Map.copyOf(vehicleSets), next);
+
+        for (int slot = 0; slot < TYPE_SLOTS; slot++) {
+            VehicleType type = slot < TYPE_SLOTS - 1 ? VehicleType.values()[slot] : null;
+            rules.setDefaults(slot, defaults, type);
+            rules.apply(slot, file.getDefaults());
+            if (type != null) {
+                rules.apply(slot, file.getVehicleTypes().getOrDefault(type, Map.of()));
+            }
+        }
+        file.getVehicles().forEach((vehicleId, overrides) -> {
+            int base = vehicleSets.get(vehicleId);
+            for (int slot = 0; slot < TYPE_SLOTS; slot++) {
+                rules.copy(slot, base + slot);
+                rules.apply(base + slot, overrides);
+            }
+        });
+        rules.validateAndSign();
+        return rules;
+    }
+
+    /**
+     * The rule set of a reading: its vehicle's overrides if it has any, on top of its type's rules.
+     */
+    public int ruleSet(String vehicleId, VehicleType vehicleType) {
+        int slot = vehicleType == null ? TYPE_SLOTS - 1 : vehicleType.ordinal();
+        Integer base = vehicleSets.get(vehicleId);
+        return base == null ? slot : base + slot;
+    }
+
+    /**
+     * Bitset of the conditions enabled in a rule set.
+     */
+    public int enabled(int set) {
+        return enabled[set];
+    }
+
+    /**
+     * Whether the condition's value is past the raise threshold.
+     */
+    boolean raises(int set, int condition, double value) {
+        return value * sign[condition] < raise[set * CONDITIONS + condition];
+    }
+
+    /**
+     * Whether the condition's value is still short of the clear threshold.
+     */
+    boolean keeps(int set, int condition, double value) {
+        return value * sign[condition] < clear[set * CONDITIONS + condition];
+    }
+
+    long minDurationMillis(int set, int condition) {
+        return minDurationMillis[set * CONDITIONS + condition];
+    }
+
+    /**
+     * The raise threshold as configured, for alert events.
+     */
+    public double threshold(int set, AlertCondition condition) {
+        return raise[set * CONDITIONS + condition.ordinal()] * sign[condition.ordinal()];
+    }
+
+    private void setDefaults(int set, ProcessorConfig.Alerts defaults, VehicleType type) {
+        put(set, AlertCondition.LOW_FUEL, defaults.getLowFuel());
+        put(set, AlertCondition.HIGH_ENGINE_TEMP, defaults.getHighEngineTemp());
+        // The battery threshold depends on the vehicle's system voltage; without a type it is unknown
+        put(set, AlertCondition.LOW_BATTERY, defaults.lowBattery(type));
+        if (type == null) {
+            enabled[set] &= ~AlertCondition.LOW_BATTERY.bit();
+        }
+        put(set, AlertCondition.EMERGENCY_LIGHTS,
+                new ProcessorConfig.Band(0.5, 0.5, defaults.getEmergencyLightsMinDuration()));
+    }
+
+    private void put(int set, AlertCondition condition, ProcessorConfig.Band band) {
+        int index = set * CONDITIONS + condition.ordinal();
+        enabled[set] |= condition.bit();
+        raise[index] = band.getRaise();
+        clear[index] = band.getClear();
+        minDurationMillis[index] = band.getMinDuration().toMillis();
+    }
+
+    private void apply(int set, Map<AlertCondition, AlertRuleFile.Rule> overrides) {
+        overrides.forEach((condition, rule) -> {
+            int index = set * CONDITIONS + condition.ordinal();
+            if (condition == AlertCondition.EMERGENCY_LIGHTS && (rule.getRaise() != null || rule.getClear() != null)) {
+                throw new IllegalArgumentException("EMERGENCY_LIGHTS takes no thresholds, only enabled and minDuration");
+            }
+            if (rule.getEnabled() != null) {
+                enabled[set] = rule.getEnabled() ? enabled[set] | condition.bit() : enabled[set] & ~condition.bit();
+            }
+            if (rule.getRaise() != null) {
+                raise[index] = rule.getRaise();
+            }
+            if (rule.getClear() != null) {
+                clear[index] = rule.getClear();
+            }
+            if (rule.getMinDuration() != null) {
+                minDurationMillis[index] = rule.getMinDuration().toMillis();
+            }
+        });
+    }
+
+    private void copy(int from, int to) {
+        enabled[to] = enabled[from];
+        System.arraycopy(raise, from * CONDITIONS, raise, to * CONDITIONS, CONDITIONS);
+        System.arraycopy(clear, from * CONDITIONS, clear, to * CONDITIONS, CONDITIONS);
+        System.arraycopy(minDurationMillis, from * CONDITIONS, minDurationMillis, to * CONDITIONS, CONDITIONS);
+    }
+
+    private void validateAndSign() {
+        for (int index = 0; index < raise.length; index++) {
+            int condition = index % CONDITIONS;
+            raise[index] *= sign[condition];
+            clear[index] *= sign[condition];
+            if (clear[index] < raise[index]) {
+                throw new IllegalArgumentException(AlertCondition.VALUES[condition] + " clears at "
+                        + clear[index] * sign[condition] + ", on the alerting side of its raise threshold "
+                        + raise[index] * sign[condition]);
+            }
+            if (minDurationMillis[index] < 0) {
+                throw new IllegalArgumentException(AlertCondition.VALUES[condition] + " has a negative minDuration");
+            }
+        }
+    }
+}
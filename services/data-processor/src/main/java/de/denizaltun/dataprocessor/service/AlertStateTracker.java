@@ -0,0 +1,137 @@
+package de.denizaltun.dataprocessor.service;
+
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-vehicle alert state, so that alerts are sent on transitions instead of on every reading.
+ * <p>
+ * A vehicle's state is two bitsets - conditions that are active, and conditions that hold but
+ * have not yet held for their minimum duration - plus the time each pending condition started.
+ * A condition becomes active once it held for its minimum duration, which is the only moment an
+ * alert is due; it clears once the value is back past the rule's clear threshold. Durations are
+ * measured on reading timestamps, so replaying old readings behaves like live traffic; a reading
+ * older than the vehicle's latest one is ignored.
+ * <p>
+ * Thresholds come from the compiled {@link AlertRules}, which {@link AlertRuleLoader} swaps
+ * atomically; each reading is evaluated against one consistent snapshot.
+ * <p>
+ * State lives in memory: after a restart, conditions that still hold are alerted once more.
+ */
+@Component
+public class AlertStateTracker {
+
+    private final AtomicReference<AlertRules> rules;
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    public AlertStateTracker(ProcessorConfig config) {
+        this.rules = new AtomicReference<>(AlertRules.compile(config.getAlerts()));
+    }
+
+    /**
+     * Applies one reading to its vehicle's state.
+     *
+     * @return the conditions that became active with this reading, as a bitset of {@link AlertCondition#bit()}
+     */
+    public int update(VehicleTelemetryMessage message) {
+        AlertRules current = rules.get();
+        int set = current.ruleSet(message.getVehicleId(), message.getVehicleType());
+        int enabled = current.enabled(set);
+        long time = message.getTimeStamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+        State state = states.computeIfAbsent(message.getVehicleId(), vehicleId -> new State());
+
+        // Readings of one vehicle normally arrive on one consumer thread; the lock is uncontended
+        synchronized (state) {
+            if (time < state.lastTime) {
+                return 0;
+            }
+            state.lastTime = time;
+            // A condition switched off by a rule reload is dropped, and alerts anew once re-enabled
+            state.active &= enabled;
+            state.pending &= enabled;
+
+            int raised = 0;
+            for (int condition = 0; condition < AlertRules.CONDITIONS; condition++) {
+                if ((enabled & (1 << condition)) == 0) {
+                    continue;
+                }
+                double value = AlertCondition.VALUES[condition].read(message);
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                raised |= state.step(condition, current.raises(set, condition, value),
+                        current.keeps(set, condition, value), current.minDurationMillis(set, condition), time);
+            }
+            return raised;
+        }
+    }
+
+    /**
+     * The raise threshold that applies to a reading, for alert events.
+     */
+    public double threshold(VehicleTelemetryMessage message, AlertCondition condition) {
+        AlertRules current = rules.get();
+        return current.threshold(current.ruleSet(message.getVehicleId(), message.getVehicleType()), condition);
+    }
+
+    /**
+     * The active conditions of a vehicle, as a bitset.
+     */
+    public int getActive(String vehicleId) {
+        State state = states.get(vehicleId);
+        return state == null ? 0 : state.active;
+    }
+
+    public AlertRules getRules() {
+        return rules.get();
+    }
+
+    /**
+     * Replaces the rules; readings being evaluated finish on the previous ones.
+     */
+    public void setRules(AlertRules rules) {
+        this.rules.set(rules);
+    }
+
+    private static final class State {
+        private int active;
+        private int pending;
+        private long lastTime = Long.MIN_VALUE;
+        private final long[] pendingSince = new long[AlertRules.CONDITIONS];
+
+        /**
+         * @param raise whether the value is past the raise threshold
+         * @param keep  whether the value is still short of the clear threshold
+         * @return the condition's bit if it became active, otherwise 0
+         */
+        int step(int condition, boolean raise, boolean keep, long minDurationMillis, long time) {
+            int bit = 1 << condition;
+            if ((active & bit) != 0) {
+                if (!keep) {
+                    active &= ~bit;
+                }
+                return 0;
+            }
+            if (!raise) {
+                pending &= ~bit;
+                return 0;
+            }
+            if ((pending & bit) == 0) {
+                pending |= bit;
+                pendingSince[condition] = time;
+            }
+            if (time - pendingSince[condition] < minDurationMillis) {
+                return 0;
+            }
+            pending &= ~bit;
+            active |= bit;
+            return bit;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package de.denizaltun.dataprocessor.service;
+
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.AlertEvent;
+import de.denizaltun.dataprocessor.dto.AlertType;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.model.VehicleStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming anomaly detection per vehicle ({@code app.anomaly}), for what fixed thresholds miss:
+ * a sensor leaving its usual range while still inside the limits, or drifting steadily.
+ * <ul>
+ *   <li>Engine temperature, battery voltage and fuel drop rate each keep an exponentially weighted
+ *   mean and variance. A reading further than {@code max-z-score} standard deviations from its
+ *   baseline - hotter, lower voltage, faster fuel drop - raises an anomaly alert.</li>
+ *   <li>The smoothed engine temperature and battery voltage of the last {@code window} readings
+ *   sit in a ring buffer with running regression sums; a least-squares slope past
+ *   {@code engine-temp-rise} or {@code battery-voltage-drop} raises a trend alert.</li>
+ * </ul>
+ * Like the threshold alerts, these are edge-triggered: an alert is raised once and re-armed when
+ * the score falls back below half its threshold. Engine temperature and fuel consumption depend
+ * on what the vehicle is doing, so each status has its own baselines and temperature trend, which
+ * carry over from one stint in that status to the next; a dispatch cycle passes through a status in
+ * a handful of readings, far fewer than the warmup. Battery voltage does not depend on the status
+ * and keeps one baseline and trend throughout.
+ * <p>
+ * Each reading costs constant time; the regression sums are recomputed from the ring once per
+ * lap to keep rounding error bounded. A vehicle's state is bounded: two doubles per window
+ * slot for the battery trend and for each status's temperature trend, plus a few scalars each,
+ * roughly 0.6 KB per trend with the default window.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnomalyDetector {
+
+    private static final int ENGINE_TEMP = 0;
+    private static final int BATTERY_VOLTAGE = 1;
+    private static final int FUEL_RATE = 2;
+
+    // Floors on a baseline's standard deviation, so a signal that barely varies is not alerted on noise
+    private static final double[] MIN_STD_DEV = {0.5, 0.05, 0.05};     // °C, V, % per minute
+
+    private static final int TEMP_ANOMALY = 1;
+    private static final int TEMP_RISING = 1 << 1;
+    private static final int BATTERY_ANOMALY = 1 << 2;
+    private static final int BATTERY_FALLING = 1 << 3;
+    private static final int FUEL_ANOMALY = 1 << 4;
+
+    private final AlertPublisher alertPublisher;
+    private final ProcessorConfig config;
+    private final Map<String, VehicleWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a stored reading to its vehicle's window and publishes the alerts it raises.
+     */
+    public void process(VehicleTelemetryMessage message) {
+        ProcessorConfig.Anomaly settings = config.getAnomaly();
+        if (!settings.isEnabled() || message.getTimeStamp() == null) {
+            return;
+        }
+        VehicleWindow window = windows.computeIfAbsent(message.getVehicleId(),
+                vehicleId -> new VehicleWindow(settings.getWindow()));
+        // Readings of one vehicle normally arrive on one consumer thread; the lock is uncontended
+        synchronized (window) {
+            int raised = window.update(message, settings);
+            if (raised != 0) {
+                publish(message, window, raised, settings);
+            }
+        }
+    }
+
+    /**
+     * Number of vehicles with detector state.
+     */
+    public int getVehicleCount() {
+        return windows.size();
+    }
+
+    private void publish(VehicleTelemetryMessage message, VehicleWindow window, int raised,
+                         ProcessorConfig.Anomaly settings) {
+        double maxZ = settings.getMaxZScore();
+        if ((raised & TEMP_ANOMALY) != 0) {
+            publishAlert(message, AlertType.ENGINE_TEMP_ANOMALY,
+                    String.format("Engine temp %.1f°C is %.1fσ above its baseline of %.1f°C",
+                            message.getEngineTemp(), window.temp.score, window.temp.previousMean),
+                    maxZ, window.temp.score);
+        }
+        if ((raised & TEMP_RISING) != 0) {
+            publishAlert(message, AlertType.ENGINE_TEMP_RISING,
+                    String.format("Engine temp rising %.2f°C/min", window.tempSlope),
+                    settings.getEngineTempRise(), window.tempSlope);
+        }
+        if ((raised & BATTERY_ANOMALY) != 0) {
+            publishAlert(message, AlertType.BATTERY_VOLTAGE_ANOMALY,
+                    String.format("Battery %.2fV is %.1fσ below its baseline of %.2fV",
+                            message.getBatteryVoltage(), -window.battery.score, window.battery.previousMean),
+                    -maxZ, window.battery.score);
+        }
+        if ((raised & BATTERY_FALLING) != 0) {
+            publishAlert(message, AlertType.BATTERY_VOLTAGE_FALLING,
+                    String.format("Battery voltage falling %.2fV/h", -window.batterySlope),
+                    -settings.getBatteryVoltageDrop(), window.batterySlope);
+        }
+        if ((raised & FUEL_ANOMALY) != 0) {
+            publishAlert(message, AlertType.FUEL_CONSUMPTION_ANOMALY,
+                    String.format("Fuel dropping %.2f%%/min, %.1fσ above its usual rate of %.2f%%/min",
+                            window.fuelRate, window.fuel.score, window.fuel.previousMean),
+                    maxZ, window.fuel.score);
+        }
+    }
+
+    private void publishAlert(VehicleTelemetryMessage message, AlertType alertType,
+                              String alertMessage, double threshold, double actualValue) {
+        alertPublisher.publishAlert(AlertEvent.builder()
+                .vehicleId(message.getVehicleId())
+                .vehicleType(message.getVehicleType())
+                .alertType(alertType)
+                .message(alertMessage)
+                .thresholdValue(threshold)
+                .actualValue(actualValue)
+                .timestamp(LocalDateTime.now())
+                .build());
+        log.warn("ANOMALY - {} for vehicle {}: {}", alertType, message.getVehicleId(), alertMessage);
+    }
+
+    /**
+     * Detector state of one vehicle. All primitive, allocated once per status the vehicle has been in.
+     */
+    static final class VehicleWindow {
+
+        private static final int STATUSES = VehicleStatus.values().length;
+
+        private final int capacity;
+        private final Baseline battery = new Baseline();
+        private final Trend batteryTrend;
+        // Indexed by status ordinal, the last slot for readings without a status
+        private final Baseline[] temps = new Baseline[STATUSES + 1];
+        private final Baseline[] fuelRates = new Baseline[STATUSES + 1];
+        private final Trend[] tempTrends = new Trend[STATUSES + 1];
+
+        private Baseline temp;
+        private Baseline fuel;
+        private Trend tempTrend;
+        private double lastTime = Double.NEGATIVE_INFINITY;
+        private double lastFuel = Double.NaN;
+        private int active;
+
+        // Rates of the latest reading, for alert messages
+        private double fuelRate;
+        private double tempSlope;
+        private double batterySlope;
+
+        VehicleWindow(int capacity) {
+            this.capacity = capacity;
+            this.batteryTrend = new Trend(capacity);
+        }
+
+        /**
+         * @return the alerts raised by this reading, as a bitset
+         */
+        int update(VehicleTelemetryMessage message, ProcessorConfig.Anomaly settings) {
+            LocalDateTime timeStamp = message.getTimeStamp();
+            double time = timeStamp.toEpochSecond(ZoneOffset.UTC) + timeStamp.getNano() / 1e9;
+            if (time <= lastTime) {
+                return 0;
+            }
+            double elapsed = time - lastTime;
+            lastTime = time;
+            selectStatus(message.getVehicleStatus());
+
+            double maxZ = settings.getMaxZScore();
+            int raised = 0;
+            if (message.getEngineTemp() != null) {
+                double z = temp.score(message.getEngineTemp(), MIN_STD_DEV[ENGINE_TEMP], settings);
+                raised |= edge(TEMP_ANOMALY, z >= maxZ, z >= maxZ / 2);
+                tempTrend.push(time, temp.mean);
+                tempSlope = tempTrend.slope(temp, settings) * 60.0;
+                double rise = settings.getEngineTempRise();
+                raised |= edge(TEMP_RISING, tempSlope >= rise, tempSlope >= rise / 2);
+            }
+            if (message.getBatteryVoltage() != null) {
+                double z = battery.score(message.getBatteryVoltage(), MIN_STD_DEV[BATTERY_VOLTAGE], settings);
+                raised |= edge(BATTERY_ANOMALY, z <= -maxZ, z <= -maxZ / 2);
+                batteryTrend.push(time, battery.mean);
+                batterySlope = batteryTrend.slope(battery, settings) * 3600.0;
+                double drop = settings.getBatteryVoltageDrop();
+                raised |= edge(BATTERY_FALLING, batterySlope <= -drop, batterySlope <= -drop / 2);
+            }
+            if (message.getFuelLevel() != null) {
+                double level = message.getFuelLevel();
+                // Refuelling is not consumption; it only moves the reference level
+                if (!Double.isNaN(lastFuel) && level <= lastFuel) {
+                    fuelRate = (lastFuel - level) / elapsed * 60.0;
+                    double z = fuel.score(fuelRate, MIN_STD_DEV[FUEL_RATE], settings);
+                    raised |= edge(FUEL_ANOMALY, z >= maxZ, z >= maxZ / 2);
+                }
+                lastFuel = level;
+            }
+            return raised;
+        }
+
+        /**
+         * Switches engine temperature and fuel consumption to the baselines and trend of the
+         * reading's status. They pick up where the vehicle's last stint in that status left them.
+         */
+        private void selectStatus(VehicleStatus status) {
+            int index = status == null ? STATUSES : status.ordinal();
+            if (temps[index] == null) {
+                temps[index] = new Baseline();
+                fuelRates[index] = new Baseline();
+                tempTrends[index] = new Trend(capacity);
+            }
+            temp = temps[index];
+            fuel = fuelRates[index];
+            tempTrend = tempTrends[index];
+        }
+
+        /**
+         * Raises an alert bit on its rising edge and clears it once {@code keep} no longer holds.
+         */
+        private int edge(int alert, boolean raise, boolean keep) {
+            if ((active & alert) != 0) {
+                if (!keep) {
+                    active &= ~alert;
+                }
+                return 0;
+            }
+            if (raise) {
+                active |= alert;
+                return alert;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Exponentially weighted mean and variance of one signal.
+     */
+    static final class Baseline {
+
+        private double mean;
+        private double variance;
+        private int samples;
+
+        // Of the latest reading, for alert messages
+        private double score;
+        private double previousMean;
+
+        /**
+         * Scores a value against the baseline, then folds it in.
+         *
+         * @return the z-score, or NaN while the baseline is warming up
+         */
+        double score(double value, double minStdDev, ProcessorConfig.Anomaly settings) {
+            double z = Double.NaN;
+            previousMean = mean;
+            if (samples == 0) {
+                mean = value;
+                variance = 0.0;
+            } else {
+                if (samples >= settings.getWarmup()) {
+                    z = (value - mean) / Math.max(Math.sqrt(variance), minStdDev);
+                }
+                double diff = value - mean;
+                double increment = settings.getAlpha() * diff;
+                mean += increment;
+                variance = (1 - settings.getAlpha()) * (variance + diff * increment);
+            }
+            if (samples < Integer.MAX_VALUE) {
+                samples++;
+            }
+            score = z;
+            return z;
+        }
+    }
+
+    /**
+     * The last {@code capacity} smoothed values of one signal with running regression sums.
+     */
+    static final class Trend {
+
+        private final int capacity;
+        // [time | value], capacity slots each
+        private final double[] ring;
+        private int head;
+        private int size;
+        private double base;                    // epoch seconds the ring's times are relative to
+        private double sumT;
+        private double sumTT;
+        private double sumV;
+        private double sumTV;
+
+        Trend(int capacity) {
+            this.capacity = capacity;
+            this.ring = new double[2 * capacity];
+        }
+
+        void push(double time, double value) {
+            if (size == 0) {
+                base = time;
+            }
+            if (size == capacity) {
+                double t = ring[head];
+                double old = ring[capacity + head];
+                sumT -= t;
+                sumTT -= t * t;
+                sumV -= old;
+                sumTV -= t * old;
+            } else {
+                size++;
+            }
+            double t = time - base;
+            ring[head] = t;
+            ring[capacity + head] = value;
+            sumT += t;
+            sumTT += t * t;
+            sumV += value;
+            sumTV += t * value;
+            head = (head + 1) % capacity;
+            if (head == 0) {
+                rebase();
+            }
+        }
+
+        /**
+         * Least-squares slope per second, or 0 until the ring is full and its baseline warmed up.
+         */
+        double slope(Baseline baseline, ProcessorConfig.Anomaly settings) {
+            if (size < capacity || baseline.samples < settings.getWarmup()) {
+                return 0.0;
+            }
+            double denominator = size * sumTT - sumT * sumT;
+            return denominator <= 0 ? 0.0 : (size * sumTV - sumT * sumV) / denominator;
+        }
+
+        /**
+         * Once per lap: shifts times to start at the oldest slot and recomputes the sums exactly,
+         * so neither the times nor the rounding error of the running sums grow without bound.
+         */
+        private void rebase() {
+            double offset = ring[size == capacity ? head : 0];
+            base += offset;
+            sumT = sumTT = sumV = sumTV = 0.0;
+            for (int i = 0; i < size; i++) {
+                double t = ring[i] - offset;
+                ring[i] = t;
+                sumT += t;
+                sumTT += t * t;
+                sumV += ring[capacity + i];
+                sumTV += t * ring[capacity + i];
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package de.denizaltun.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams readings into vehicle_telemetry with PostgreSQL's binary COPY protocol.
+ * <p>
+ * No entities, no per-row statements and no text parsing on the server: each batch is one
+ * COPY ... FROM STDIN (FORMAT binary) on the transaction's connection, so it commits or rolls
+ * back with the batch. Ids come from {@link TelemetryIdAllocator}, so all writers can run
+ * against one table.
+ * <p>
+ * COPY cannot skip conflicting rows, so the batch is copied into a session-local staging table
+ * and moved over with a single INSERT ... ON CONFLICT DO NOTHING; the ids it returns tell which
+ * readings were new.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.ingest.writer", havingValue = "copy")
+public class CopyTelemetryWriter implements TelemetryWriter {
+
+    static final String COLUMNS = "id, vehicle_id, vehicle_type, vehicle_status, time_stamp, latitude, longitude, "
+            + "speed, fuel_level, engine_temp, battery_voltage, emergency_lights_active, signals, created_at";
+
+    static final String STAGING_TABLE = "vehicle_telemetry_staging";
+    static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE IF NOT EXISTS " + STAGING_TABLE
+            + " (LIKE vehicle_telemetry INCLUDING DEFAULTS) ON COMMIT DELETE ROWS";
+    static final String MERGE_SQL = "INSERT INTO vehicle_telemetry (" + COLUMNS + ") SELECT " + COLUMNS
+            + " FROM " + STAGING_TABLE + " ON CONFLICT (vehicle_id, time_stamp) DO NOTHING RETURNING id";
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final LocalDateTime POSTGRES_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final short FIELD_COUNT = 14;
+    private static final byte JSONB_VERSION = 1;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TelemetryIdAllocator idAllocator;
+
+    static String copySql(String table) {
+        return "COPY " + table + " (" + COLUMNS + ") FROM STDIN (FORMAT binary)";
+    }
+
+    @Override
+    public List<VehicleTelemetryMessage> write(List<VehicleTelemetryMessage> messages) {
+        if (messages.isEmpty()) {
+            return messages;
+        }
+        long[] ids = idAllocator.allocate(messages.size());
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+
+        // The transaction's connection, not a new one: the rows must commit together with the batch
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new PGCopyOutputStream(connection.unwrap(PGConnection.class), copySql(STAGING_TABLE)), 64 * 1024))) {
+            encode(messages, ids, LocalDateTime.now(), out);
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY into " + STAGING_TABLE + " failed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("COPY into " + STAGING_TABLE + " failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        // Staged rows are deleted on commit, so one write per transaction sees only its own batch
+        Set<Long> inserted = new HashSet<>(jdbcTemplate.queryForList(MERGE_SQL, Long.class));
+        log.debug("Copied {} telemetry rows, {} were new", messages.size(), inserted.size());
+
+        if (inserted.size() == messages.size()) {
+            return messages;
+        }
+        List<VehicleTelemetryMessage> stored = new ArrayList<>(inserted.size());
+        for (int i = 0; i < messages.size(); i++) {
+            if (inserted.contains(ids[i])) {
+                stored.add(messages.get(i));
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Writes a complete binary COPY stream: header, one tuple per message, trailer.
+     */
+    void encode(List<VehicleTelemetryMessage> messages, long[] ids, LocalDateTime createdAt,
+                DataOutputStream out) throws IOException {
+        out.write(SIGNATURE);
+        out.writeInt(0);        // flags
+        out.writeInt(0);        // header extension length
+
+        for (int i = 0; i < messages.size(); i++) {
+            VehicleTelemetryMessage message = messages.get(i);
+            out.writeShort(FIELD_COUNT);
+            writeLong(out, ids[i]);
+            writeText(out, message.getVehicleId());
+            writeText(out, message.getVehicleType() != null ? message.getVehicleType().name() : null);
+            writeText(out, message.getVehicleStatus() != null ? message.getVehicleStatus().name() : null);
+            writeTimestamp(out, message.getTimeStamp());
+            writeDouble(out, message.getLatitude());
+            writeDouble(out, message.getLongitude());
+            writeDouble(out, message.getSpeed());
+            writeDouble(out, message.getFuelLevel());
+            writeDouble(out, message.getEngineTemp());
+            writeDouble(out, message.getBatteryVoltage());
+            writeBoolean(out, message.getEmergencyLightsActive());
+            writeJsonb(out, message.getSignals());
+            writeTimestamp(out, createdAt);
+        }
+        out.writeShort(-1);     // trailer
+    }
+
+    private void writeLong(DataOutputStream out, long value) throws IOException {
+        out.writeInt(8);
+        out.writeLong(value);
+    }
+
+    private void writeDouble(DataOutputStream out, Double value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(8);
+        out.writeDouble(value);
+    }
+
+    private void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(1);
+        out.writeByte(value ? 1 : 0);
+    }
+
+    private void writeText(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // timestamp without time zone: microseconds since 2000-01-01
+    private void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        writeLong(out, ChronoUnit.MICROS.between(POSTGRES_EPOCH, value));
+    }
+
+    // jsonb: a version byte followed by the JSON text
+    private void writeJsonb(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] json = objectMapper.writeValueAsBytes(value);
+        out.writeInt(json.length + 1);
+        out.writeByte(JSONB_VERSION);
+        out.write(json);
+    }
+}
@@ -0,0 +1,29 @@
+package de.denizaltun.dataprocessor.service;
+
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default batch writer ({@code app.ingest.writer=jpa}): multi-row INSERT ... ON CONFLICT DO NOTHING
+ * statements through {@link TelemetryInserter}, the same path record mode stores single readings with.
+ * <p>
+ * Hibernate cannot express ON CONFLICT, so the rows no longer go through entities; a lookup of
+ * the stored keys followed by the INSERT cost an extra round trip and let a concurrent writer of the
+ * same key slip in between.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.ingest.writer", havingValue = "jpa", matchIfMissing = true)
+public class JpaTelemetryWriter implements TelemetryWriter {
+
+    private final TelemetryInserter inserter;
+
+    @Override
+    public List<VehicleTelemetryMessage> write(List<VehicleTelemetryMessage> messages) {
+        return inserter.insertAll(messages);
+    }
+}
@@ -0,0 +1,48 @@
+package de.denizaltun.dataprocessor.service;
+
+import de.denizaltun.dataprocessor.model.VehicleTelemetry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hands out vehicle_telemetry ids for writers that bypass Hibernate.
+ * <p>
+ * Ids come from the entity's pooled sequence in blocks of {@link VehicleTelemetry#ID_ALLOCATION_SIZE},
+ * the same way Hibernate draws them, so every writer can run against one table. The rest of a
+ * block is kept for the next call: a reading in record mode costs a sequence call only once per block.
+ * Thread-safe; the worker lanes share one allocator.
+ */
+@Component
+@RequiredArgsConstructor
+public class TelemetryIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private long next = 1;
+    private long high;          // last id of the current block, next > high when it is used up
+
+    public synchronized long[] allocate(int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count && next <= high) {
+            ids[filled++] = next++;
+        }
+        if (filled < count) {
+            int blocks = (count - filled + VehicleTelemetry.ID_ALLOCATION_SIZE - 1) / VehicleTelemetry.ID_ALLOCATION_SIZE;
+            List<Long> highs = jdbcTemplate.queryForList(
+                    "SELECT nextval('vehicle_telemetry_seq') FROM generate_series(1, ?)", Long.class, blocks);
+            for (long blockHigh : highs) {
+                // A block ends at the returned value; the very first value of a fresh sequence is a block of one
+                next = Math.max(1, blockHigh - VehicleTelemetry.ID_ALLOCATION_SIZE + 1);
+                high = blockHigh;
+                while (filled < count && next <= high) {
+                    ids[filled++] = next++;
+                }
+            }
+        }
+        return ids;
+    }
+}
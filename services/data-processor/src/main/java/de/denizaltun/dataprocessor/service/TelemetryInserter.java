@@ -0,0 +1,118 @@
+package de.denizaltun.dataprocessor.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inserts readings with INSERT ... ON CONFLICT (vehicle_id, time_stamp) DO NOTHING, up to
+ * {@link #MAX_ROWS} rows per statement.
+ * <p>
+ * The database skips a reading that is already stored in the same round trip as the insert, instead
+ * of an existence check before it, and two concurrent deliveries of one reading cannot both get past
+ * it. Ids come from {@link TelemetryIdAllocator}; the ids the statement returns tell which readings were new.
+ * Same statement as the COPY writer's merge, without the staging table.
+ */
+@Component
+@RequiredArgsConstructor
+public class TelemetryInserter {
+
+    // 14 parameters per row, well below PostgreSQL's limit of 32767 per statement
+    static final int MAX_ROWS = 1000;
+
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TelemetryIdAllocator idAllocator;
+    private final ObjectMapper objectMapper;
+
+    static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO vehicle_telemetry (")
+                .append(CopyTelemetryWriter.COLUMNS).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append(ROW);
+        }
+        return sql.append(" ON CONFLICT (vehicle_id, time_stamp) DO NOTHING RETURNING id").toString();
+    }
+
+    /**
+     * @return whether the reading was stored, false if it already was
+     */
+    public boolean insert(VehicleTelemetryMessage message) {
+        return !insertAll(List.of(message)).isEmpty();
+    }
+
+    /**
+     * @param messages readings with distinct natural keys
+     * @return the readings that were actually stored, in input order
+     */
+    public List<VehicleTelemetryMessage> insertAll(List<VehicleTelemetryMessage> messages) {
+        if (messages.isEmpty()) {
+            return messages;
+        }
+        long[] ids = idAllocator.allocate(messages.size());
+        LocalDateTime createdAt = LocalDateTime.now();
+        Set<Long> inserted = new HashSet<>();
+        for (int from = 0; from < messages.size(); from += MAX_ROWS) {
+            int start = from;
+            int rows = Math.min(MAX_ROWS, messages.size() - from);
+            inserted.addAll(jdbcTemplate.query(insertSql(rows), statement -> {
+                for (int i = 0; i < rows; i++) {
+                    bind(statement, i * 14, ids[start + i], messages.get(start + i), createdAt);
+                }
+            }, (resultSet, rowNum) -> resultSet.getLong(1)));
+        }
+
+        if (inserted.size() == messages.size()) {
+            return messages;
+        }
+        List<VehicleTelemetryMessage> stored = new ArrayList<>(inserted.size());
+        for (int i = 0; i < messages.size(); i++) {
+            if (inserted.contains(ids[i])) {
+                stored.add(messages.get(i));
+            }
+        }
+        return stored;
+    }
+
+    void bind(PreparedStatement statement, int offset, long id, VehicleTelemetryMessage message,
+              LocalDateTime createdAt) throws SQLException {
+        statement.setLong(offset + 1, id);
+        statement.setString(offset + 2, message.getVehicleId());
+        statement.setString(offset + 3, message.getVehicleType() != null ? message.getVehicleType().name() : null);
+        statement.setString(offset + 4, message.getVehicleStatus() != null ? message.getVehicleStatus().name() : null);
+        statement.setObject(offset + 5, message.getTimeStamp());
+        statement.setObject(offset + 6, message.getLatitude(), Types.DOUBLE);
+        statement.setObject(offset + 7, message.getLongitude(), Types.DOUBLE);
+        statement.setObject(offset + 8, message.getSpeed(), Types.DOUBLE);
+        statement.setObject(offset + 9, message.getFuelLevel(), Types.DOUBLE);
+        statement.setObject(offset + 10, message.getEngineTemp(), Types.DOUBLE);
+        statement.setObject(offset + 11, message.getBatteryVoltage(), Types.DOUBLE);
+        statement.setObject(offset + 12, message.getEmergencyLightsActive(), Types.BOOLEAN);
+        statement.setString(offset + 13, toJson(message));
+        statement.setObject(offset + 14, createdAt);
+    }
+
+    private String toJson(VehicleTelemetryMessage message) {
+        if (message.getSignals() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(message.getSignals());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot encode signals of vehicle " + message.getVehicleId(), e);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package de.denizaltun.dataprocessor.service;
+
+import de.denizaltun.dataprocessor.config.PartitionInterval;
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps vehicle_telemetry range-partitioned by time_stamp on PostgreSQL ({@code app.partitioning}).
+ * <p>
+ * On startup a plain table is converted once: its rows stay where they are, attached as a legacy
+ * partition covering everything before the first new period. After that, maintenance runs hourly:
+ * <ul>
+ *   <li>partitions are created {@code premake} periods ahead, so inserts never wait on DDL</li>
+ *   <li>partitions that ended more than {@code retention} ago are detached, and dropped unless
+ *   {@code drop-expired} is off; dropping a partition replaces a huge DELETE. Only partitions that
+ *   analytics-service recorded as archived are dropped, unless {@code drop-unarchived} is on; the
+ *   others stay attached, so the archiver still finds them</li>
+ *   <li>a default partition catches readings outside every range (far-future clocks, gaps while
+ *   the service was down); its rows move into a new partition when one is created for their range</li>
+ * </ul>
+ * Every run holds a transaction-level advisory lock, so several instances never run DDL at once.
+ * A run that creates partitions also locks vehicle_telemetry against writes until it commits, so no
+ * insert reaches the default partition while rows move out of it; inserts wait, queries don't.
+ */
+@Slf4j
+@Component
+public class TelemetryPartitionManager {
+
+    static final String TABLE = "vehicle_telemetry";
+    static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String LEGACY_PARTITION = TABLE + "_legacy";
+    private static final String ARCHIVED_TABLE = "telemetry_archived_partitions";     // written by analytics-service
+    private static final long LOCK_KEY = 0x76745F7061727473L;       // "vt_parts"
+
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern FROM_BOUND = Pattern.compile("FROM \\('([^']+)'\\)");
+    private static final Pattern TO_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProcessorConfig.Partitioning config;
+
+    private volatile boolean active;
+
+    public TelemetryPartitionManager(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                     ProcessorConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.config = config.getPartitioning();
+    }
+
+    /**
+     * A partition of vehicle_telemetry; {@code from} is null for the legacy partition (MINVALUE).
+     */
+    record Partition(String name, LocalDateTime from, LocalDateTime to) {
+    }
+
+    /**
+     * Converts a plain vehicle_telemetry into a partitioned one if needed and runs the first
+     * maintenance. PostgreSQL only; called once the schema update is done, before consumption starts.
+     */
+    public void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            if (!isPartitioned()) {
+                convert();
+            }
+            maintain(LocalDateTime.now());
+        });
+        active = true;
+    }
+
+    @Scheduled(cron = "0 5 * * * *")
+    public void scheduledMaintenance() {
+        if (!active) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                maintain(LocalDateTime.now());
+            });
+        } catch (Exception e) {
+            // Retried next hour; premade partitions cover the gap
+            log.error("Partition maintenance for {} failed: {}", TABLE, e.getMessage(), e);
+        }
+    }
+
+    private void lock() {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + LOCK_KEY + ")");
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, TABLE);
+        return "p".equals(kind);
+    }
+
+    private void convert() {
+        // Free the constraint and index names for the new parent; ATTACH rebuilds them on the old rows
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_PARTITION);
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " DROP CONSTRAINT IF EXISTS " + TABLE + "_pkey");
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " DROP CONSTRAINT IF EXISTS uk_vehicle_telemetry_vehicle_time");
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_vehicle_id, idx_timestamp, idx_vehicle_status, idx_vehicle_type");
+
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_PARTITION + " INCLUDING DEFAULTS) "
+                + "PARTITION BY RANGE (time_stamp)");
+        // A unique key on a partitioned table must contain the partition key
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TABLE + "_pkey PRIMARY KEY (id, time_stamp)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT uk_vehicle_telemetry_vehicle_time "
+                + "UNIQUE (vehicle_id, time_stamp)");
+        jdbcTemplate.execute("CREATE INDEX idx_vehicle_id ON " + TABLE + " (vehicle_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_timestamp ON " + TABLE + " (time_stamp)");
+        jdbcTemplate.execute("CREATE INDEX idx_vehicle_status ON " + TABLE + " (vehicle_status)");
+        jdbcTemplate.execute("CREATE INDEX idx_vehicle_type ON " + TABLE + " (vehicle_type)");
+
+        LocalDateTime newest = jdbcTemplate.queryForObject(
+                "SELECT max(time_stamp) FROM " + LEGACY_PARTITION, LocalDateTime.class);
+        if (newest == null) {
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_PARTITION);
+            log.info("Converted empty {} to a partitioned table", TABLE);
+            return;
+        }
+        LocalDateTime boundary = config.getInterval().nextPeriodStart(newest);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + LEGACY_PARTITION
+                + " FOR VALUES FROM (MINVALUE) TO ('" + BOUND_FORMAT.format(boundary) + "')");
+        log.info("Converted {} to a partitioned table; existing rows before {} kept in {}",
+                TABLE, boundary, LEGACY_PARTITION);
+    }
+
+    private void maintain(LocalDateTime now) {
+        List<Partition> partitions = listPartitions();
+        List<Partition> missing = missingPartitions(partitions, now, config.getInterval(), config.getPremake());
+        boolean moveFromDefault = !missing.isEmpty() && hasDefaultPartition();
+        if (moveFromDefault) {
+            // Blocks writes, not reads, until commit: an insert routed to the default partition between
+            // moving its rows out and attaching the new partition would fail the ATTACH or be stranded
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN SHARE ROW EXCLUSIVE MODE");
+        }
+        for (Partition partition : missing) {
+            create(partition, moveFromDefault);
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+        if (config.getRetention().isZero()) {
+            return;
+        }
+        LocalDateTime cutoff = now.minus(config.getRetention());
+        boolean archivedOnly = config.isDropExpired() && !config.isDropUnarchived();
+        Set<String> archived = archivedOnly ? archivedPartitions() : Set.of();
+        for (Partition partition : expiredPartitions(partitions, cutoff)) {
+            if (archivedOnly && !archived.contains(partition.name())) {
+                log.warn("Keeping expired partition {} ({} to {}): not archived yet",
+                        partition.name(), partition.from(), partition.to());
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition.name());
+            if (config.isDropExpired()) {
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+                log.info("Dropped expired partition {} ({} to {})", partition.name(), partition.from(), partition.to());
+            } else {
+                log.info("Detached expired partition {} ({} to {})", partition.name(), partition.from(), partition.to());
+            }
+        }
+        if (config.isDropExpired() && config.isDropUnarchived()) {
+            // The archive only covers range partitions, never the default one
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE time_stamp < ?", cutoff);
+        }
+    }
+
+    /**
+     * Creates the partition as a plain table, moves any rows the default partition holds for its
+     * range into it, then attaches it; attaching while the default still holds such rows would fail.
+     * The caller holds a write lock on the table while rows are moved, see {@link #maintain}.
+     */
+    private void create(Partition partition, boolean moveFromDefault) {
+        String from = BOUND_FORMAT.format(partition.from());
+        String to = BOUND_FORMAT.format(partition.to());
+        jdbcTemplate.execute("CREATE TABLE " + partition.name() + " (LIKE " + TABLE + " INCLUDING DEFAULTS)");
+        if (moveFromDefault) {
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                    + " WHERE time_stamp >= ? AND time_stamp < ? RETURNING *) INSERT INTO " + partition.name()
+                    + " SELECT * FROM moved", partition.from(), partition.to());
+            if (moved > 0) {
+                log.info("Moved {} rows from {} into {}", moved, DEFAULT_PARTITION, partition.name());
+            }
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition.name()
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        log.info("Created partition {} ({} to {})", partition.name(), from, to);
+    }
+
+    private Set<String> archivedPartitions() {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, ARCHIVED_TABLE);
+        if (!Boolean.TRUE.equals(exists)) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT partition_name FROM " + ARCHIVED_TABLE, String.class));
+    }
+
+    private boolean hasDefaultPartition() {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, DEFAULT_PARTITION);
+    }
+
+    private List<Partition> listPartitions() {
+        return jdbcTemplate.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)",
+                (rs, row) -> parse(rs.getString(1), rs.getString(2)), TABLE)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Reads the bounds from pg_get_expr(relpartbound), e.g.
+     * {@code FOR VALUES FROM ('2026-10-17 00:00:00') TO ('2026-10-18 00:00:00')}.
+     *
+     * @return null for the default partition
+     */
+    static Partition parse(String name, String bound) {
+        Matcher to = TO_BOUND.matcher(bound);
+        if (!to.find()) {
+            return null;
+        }
+        Matcher from = FROM_BOUND.matcher(bound);
+        return new Partition(name,
+                from.find() ? LocalDateTime.parse(from.group(1), BOUND_FORMAT) : null,
+                LocalDateTime.parse(to.group(1), BOUND_FORMAT));
+    }
+
+    /**
+     * Partitions to create so that every period from the current one to {@code premake} periods
+     * ahead is covered. Starts at the end of the newest existing partition, so a change of
+     * interval never produces overlapping ranges.
+     */
+    static List<Partition> missingPartitions(List<Partition> existing, LocalDateTime now,
+                                             PartitionInterval interval, int premake) {
+        LocalDateTime current = interval.periodStart(now);
+        LocalDateTime horizon = current;
+        for (int i = 0; i <= premake; i++) {
+            horizon = interval.nextPeriodStart(horizon);
+        }
+        LocalDateTime cursor = existing.stream()
+                .map(Partition::to)
+                .max(Comparator.naturalOrder())
+                .filter(newest -> newest.isAfter(current))
+                .orElse(current);
+
+        List<Partition> missing = new ArrayList<>();
+        while (cursor.isBefore(horizon)) {
+            LocalDateTime next = interval.nextPeriodStart(cursor);
+            missing.add(new Partition(TABLE + "_p" + NAME_FORMAT.format(cursor), cursor, next));
+            cursor = next;
+        }
+        return missing;
+    }
+
+    /**
+     * Partitions whose whole range lies before {@code cutoff}.
+     */
+    static List<Partition> expiredPartitions(List<Partition> existing, LocalDateTime cutoff) {
+        return existing.stream()
+                .filter(partition -> !partition.to().isAfter(cutoff))
+                .toList();
+    }
+}
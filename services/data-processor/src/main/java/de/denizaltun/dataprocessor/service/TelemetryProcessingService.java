@@ -3,8 +3,8 @@ package de.denizaltun.dataprocessor.service;
 import de.denizaltun.dataprocessor.dto.AlertEvent;
 import de.denizaltun.dataprocessor.dto.AlertType;
 import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
-import de.denizaltun.dataprocessor.model.VehicleTelemetry;
-import de.denizaltun.dataprocessor.model.VehicleType;
+import de.denizaltun.dataprocessor.metrics.IngestMetrics;
+import de.denizaltun.dataprocessor.model.TelemetryKey;
 import de.denizaltun.dataprocessor.repository.VehicleTelemetryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +12,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Service for processing and storing vehicle telemetry data.
@@ -24,12 +28,11 @@ public class TelemetryProcessingService {
 
     private final VehicleTelemetryRepository repository;
     private final AlertPublisher alertPublisher;
-
-    // Alert thresholds
-    private static final double LOW_FUEL_THRESHOLD = 20.0;
-    private static final double HIGH_ENGINE_TEMP_THRESHOLD = 95.0;
-    private static final double LOW_BATTERY_12V_THRESHOLD = 11.5;
-    private static final double LOW_BATTERY_24V_THRESHOLD = 23.0;
+    private final TelemetryWriter writer;
+    private final TelemetryInserter inserter;
+    private final IngestMetrics metrics;
+    private final AlertStateTracker alertState;
+    private final AnomalyDetector anomalyDetector;
 
     /**
      * Process incoming telemetry message from Kafka.
@@ -45,17 +48,46 @@ public class TelemetryProcessingService {
             return;
         }
 
-        // Convert DTO to Entity
-        VehicleTelemetry telemetry = convertToEntity(message);
-
-        // Save to database
-        VehicleTelemetry saved = repository.save(telemetry);
-        log.debug("Saved telemetry with ID: {}", saved.getId());
+        // Save to database; a redelivered reading is already stored, and its alerts already went out
+        if (!inserter.insert(message)) {
+            log.debug("Dropping duplicate telemetry for vehicle {} at {}", message.getVehicleId(), message.getTimeStamp());
+            metrics.recordDuplicates(1);
+            return;
+        }
+        log.debug("Saved telemetry for vehicle {} at {}", message.getVehicleId(), message.getTimeStamp());
+        metrics.recordStored(1);
 
         // Check for alert conditions
         checkAlertConditions(message);
     }
 
+    /**
+     * Process one poll of telemetry messages in a single transaction.
+     * Invalid messages are skipped, and so are duplicates, within the batch and against what is
+     * already stored; the rest go to the configured {@link TelemetryWriter} (app.ingest.writer).
+     * Alerts are checked for the newly stored readings, once all rows were handed to the database.
+     */
+    @Transactional
+    public void processBatch(List<VehicleTelemetryMessage> messages) {
+        Map<TelemetryKey, VehicleTelemetryMessage> unique = new LinkedHashMap<>();
+        int valid = 0;
+        for (VehicleTelemetryMessage message : messages) {
+            if (!isValid(message)) {
+                log.warn("Invalid telemetry message received: {}", message);
+                continue;
+            }
+            valid++;
+            unique.putIfAbsent(new TelemetryKey(message.getVehicleId(), message.getTimeStamp()), message);
+        }
+
+        List<VehicleTelemetryMessage> stored = writer.write(new ArrayList<>(unique.values()));
+        log.debug("Saved {} telemetry records in one batch, dropped {} duplicates", stored.size(), valid - stored.size());
+        metrics.recordStored(stored.size());
+        metrics.recordDuplicates(valid - stored.size());
+
+        stored.forEach(this::checkAlertConditions);
+    }
+
     /**
      * Validate telemetry message.
      */
@@ -73,51 +105,45 @@ public class TelemetryProcessingService {
     }
 
     /**
-     * Convert DTO to JPA Entity.
+     * Publishes an alert for each condition this reading raised. Conditions that were already
+     * active are not alerted again until they cleared ({@link AlertStateTracker}).
+     * The reading also feeds the vehicle's anomaly baselines ({@link AnomalyDetector}).
      */
-    private VehicleTelemetry convertToEntity(VehicleTelemetryMessage message) {
-        return VehicleTelemetry.builder()
-                .vehicleId(message.getVehicleId())
-                .vehicleType(message.getVehicleType())
-                .vehicleStatus(message.getVehicleStatus())
-                .timeStamp(message.getTimeStamp())
-                .latitude(message.getLatitude())
-                .longitude(message.getLongitude())
-                .speed(message.getSpeed())
-                .fuelLevel(message.getFuelLevel())
-                .batteryVoltage(message.getBatteryVoltage())
-                .engineTemp(message.getEngineTemp())
-                .emergencyLightsActive(message.getEmergencyLightsActive())
-                .build();
-    }
+    private void checkAlertConditions(VehicleTelemetryMessage message) {
+        anomalyDetector.process(message);
+        int raised = alertState.update(message);
+        if (raised == 0) {
+            return;
+        }
 
-    /**
-     * Check for alert conditions (low fuel, high temp, etc.).
-     * For now, just log alerts. Later, we can publish to an alert topic.
-     */
-    private void checkAlertConditions(VehicleTelemetryMessage  message) {
         // Low fuel alert
-        if (message.getFuelLevel() < LOW_FUEL_THRESHOLD) {
+        if ((raised & AlertCondition.LOW_FUEL.bit()) != 0) {
             publishAlert(message, AlertType.LOW_FUEL,
                     String.format("Low fuel: %.1f%%", message.getFuelLevel()),
-                    LOW_FUEL_THRESHOLD,
+                    alertState.threshold(message, AlertCondition.LOW_FUEL),
                     message.getFuelLevel());
         }
 
         // High engine temperature alert
-        if (message.getEngineTemp() > HIGH_ENGINE_TEMP_THRESHOLD) {
+        if ((raised & AlertCondition.HIGH_ENGINE_TEMP.bit()) != 0) {
             publishAlert(message, AlertType.HIGH_ENGINE_TEMP,
                     String.format("High engine temp: %.1f°C", message.getEngineTemp()),
-                    HIGH_ENGINE_TEMP_THRESHOLD,
+                    alertState.threshold(message, AlertCondition.HIGH_ENGINE_TEMP),
                     message.getEngineTemp());
         }
 
-        // Low battery voltage alert (threshold depends on vehicle type)
-        checkBatteryAlert(message);
+        // Low battery voltage alert (threshold depends on vehicle type and rule overrides)
+        if ((raised & AlertCondition.LOW_BATTERY.bit()) != 0) {
+            double threshold = alertState.threshold(message, AlertCondition.LOW_BATTERY);
+            publishAlert(message, AlertType.LOW_BATTERY,
+                    String.format("Low battery: %.1fV (threshold: %.1fV)",
+                            message.getBatteryVoltage(), threshold),
+                    threshold,
+                    message.getBatteryVoltage());
+        }
 
-        // Emergency lights active during idle (potential issue)
         // Emergency status change
-        if (message.getEmergencyLightsActive() != null && message.getEmergencyLightsActive()) {
+        if ((raised & AlertCondition.EMERGENCY_LIGHTS.bit()) != 0) {
             publishAlert(message, AlertType.EMERGENCY_STATUS_CHANGE,
                     "Emergency lights activated",
                     null,
@@ -125,24 +151,6 @@ public class TelemetryProcessingService {
         }
     }
 
-    private void checkBatteryAlert(VehicleTelemetryMessage message) {
-        if (message.getBatteryVoltage() == null || message.getVehicleType() == null) {
-            return;
-        }
-
-        double threshold = (message.getVehicleType() == VehicleType.FIRE_TRUCK)
-                ? LOW_BATTERY_24V_THRESHOLD
-                : LOW_BATTERY_12V_THRESHOLD;
-
-        if (message.getBatteryVoltage() < threshold) {
-            publishAlert(message, AlertType.LOW_BATTERY,
-                    String.format("Low battery: %.1fV (threshold: %.1fV)",
-                            message.getBatteryVoltage(), threshold),
-                    threshold,
-                    message.getBatteryVoltage());
-        }
-    }
-
     private void publishAlert(VehicleTelemetryMessage message, AlertType alertType,
                               String alertMessage, Double threshold, Double actualValue) {
         AlertEvent alertEvent = AlertEvent.builder()
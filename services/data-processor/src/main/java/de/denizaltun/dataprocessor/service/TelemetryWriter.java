@@ -0,0 +1,21 @@
+package de.denizaltun.dataprocessor.service;
+
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+
+import java.util.List;
+
+/**
+ * Persists a batch of validated readings to vehicle_telemetry.
+ * Called inside the batch transaction; implementations must join it rather than commit themselves.
+ * <p>
+ * Writes are idempotent: a reading whose (vehicleId, timeStamp) is already stored is skipped,
+ * so a redelivered batch stores nothing twice.
+ */
+public interface TelemetryWriter {
+
+    /**
+     * @param messages readings with distinct natural keys
+     * @return the readings that were actually stored, in input order
+     */
+    List<VehicleTelemetryMessage> write(List<VehicleTelemetryMessage> messages);
+}
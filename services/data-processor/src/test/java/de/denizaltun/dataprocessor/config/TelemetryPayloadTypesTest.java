@@ -0,0 +1,44 @@
+package de.denizaltun.dataprocessor.config;
+
+import de.denizaltun.dataprocessor.dto.TelemetryEnvelopeMessage;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TelemetryPayloadTypes Unit Tests")
+class TelemetryPayloadTypesTest {
+
+    private static RecordHeaders format(String value) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(TelemetryPayloadTypes.FORMAT_HEADER, value.getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+
+    @Test
+    @DisplayName("Should read a record with the envelope header as an envelope")
+    void shouldResolveEnvelope() {
+        assertThat(TelemetryPayloadTypes.resolve("vehicle-telemetry", new byte[0], format("envelope")).getRawClass())
+                .isEqualTo(TelemetryEnvelopeMessage.class);
+    }
+
+    @Test
+    @DisplayName("Should read a record without the header as a single reading")
+    void shouldResolveSingleWithoutHeader() {
+        assertThat(TelemetryPayloadTypes.resolve("vehicle-telemetry", new byte[0], new RecordHeaders()).getRawClass())
+                .isEqualTo(VehicleTelemetryMessage.class);
+        assertThat(TelemetryPayloadTypes.resolve("vehicle-telemetry", new byte[0], null).getRawClass())
+                .isEqualTo(VehicleTelemetryMessage.class);
+    }
+
+    @Test
+    @DisplayName("Should read a record with another format as a single reading")
+    void shouldResolveSingleForOtherFormat() {
+        assertThat(TelemetryPayloadTypes.resolve("vehicle-telemetry", new byte[0], format("single")).getRawClass())
+                .isEqualTo(VehicleTelemetryMessage.class);
+    }
+}
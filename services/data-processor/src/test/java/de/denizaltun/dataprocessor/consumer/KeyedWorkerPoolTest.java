@@ -0,0 +1,62 @@
+package de.denizaltun.dataprocessor.consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KeyedWorkerPool Unit Tests")
+class KeyedWorkerPoolTest {
+
+    @Test
+    @DisplayName("Should run the tasks of one key in submission order")
+    void shouldKeepOrderPerKey() {
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        try (KeyedWorkerPool pool = new KeyedWorkerPool("test-worker", 4)) {
+            for (int i = 0; i < 1000; i++) {
+                int sequence = i;
+                String key = "VEHICLE_" + (i % 10);
+                pool.execute(key, () -> seen.computeIfAbsent(key, k -> new ArrayList<>()).add(sequence));
+            }
+        }
+
+        assertThat(seen).hasSize(10);
+        seen.forEach((key, sequences) -> assertThat(sequences).hasSize(100).isSorted());
+    }
+
+    @Test
+    @DisplayName("Should run tasks of keys on different lanes in parallel")
+    void shouldRunLanesInParallel() throws InterruptedException {
+        try (KeyedWorkerPool pool = new KeyedWorkerPool("test-worker", 4)) {
+            String first = "POLICE_001";
+            String second = IntStream.range(2, 100).mapToObj(i -> String.format("POLICE_%03d", i))
+                    .filter(key -> pool.laneOf(key) != pool.laneOf(first))
+                    .findFirst().orElseThrow();
+            CountDownLatch started = new CountDownLatch(2);
+            CountDownLatch release = new CountDownLatch(1);
+            Runnable blocking = () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+
+            pool.execute(first, blocking);
+            pool.execute(second, blocking);
+
+            // Both tasks block until released, so they only both start if they run concurrently
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package de.denizaltun.dataprocessor.consumer;
+
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.TelemetryEnvelopeMessage;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.service.TelemetryProcessingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TelemetryConsumer Unit Tests")
+class TelemetryConsumerTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    @Mock
+    private TelemetryProcessingService processingService;
+
+    @Mock
+    private TelemetryRetryTopics retryTopics;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private TelemetryConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        ProcessorConfig config = new ProcessorConfig();
+        config.getIngest().setWorkers(2);
+        consumer = new TelemetryConsumer(processingService, retryTopics, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.close();
+    }
+
+    private static VehicleTelemetryMessage reading(String vehicleId, int second) {
+        return VehicleTelemetryMessage.builder().vehicleId(vehicleId).timeStamp(TIME.plusSeconds(second)).build();
+    }
+
+    @Test
+    @DisplayName("Should process every reading of an envelope, each vehicle in envelope order, then acknowledge")
+    void shouldUnpackEnvelopeInOrder() {
+        VehicleTelemetryMessage police1 = reading("POLICE_001", 0);
+        VehicleTelemetryMessage ambulance = reading("AMBULANCE_002", 0);
+        VehicleTelemetryMessage police2 = reading("POLICE_001", 5);
+        VehicleTelemetryMessage police3 = reading("POLICE_001", 10);
+
+        consumer.consumeEnvelope(new TelemetryEnvelopeMessage(List.of(police1, ambulance, police2, police3)),
+                0, 42L, acknowledgment);
+
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+        InOrder order = inOrder(processingService);
+        order.verify(processingService).processTelemetry(police1);
+        order.verify(processingService).processTelemetry(police2);
+        order.verify(processingService).processTelemetry(police3);
+        verify(processingService).processTelemetry(ambulance);
+    }
+
+    @Test
+    @DisplayName("Should acknowledge an empty envelope without processing anything")
+    void shouldAcknowledgeEmptyEnvelope() {
+        consumer.consumeEnvelope(new TelemetryEnvelopeMessage(List.of()), 0, 42L, acknowledgment);
+        consumer.consumeEnvelope(new TelemetryEnvelopeMessage(null), 0, 43L, acknowledgment);
+
+        verify(acknowledgment, times(2)).acknowledge();
+        verify(processingService, never()).processTelemetry(any());
+    }
+
+    @Test
+    @DisplayName("Should acknowledge an envelope once its failed reading was handed to the retry topics")
+    void shouldAcknowledgeAfterHandOff() {
+        VehicleTelemetryMessage failing = reading("POLICE_001", 0);
+        doThrow(new IllegalStateException("database unavailable")).when(processingService).processTelemetry(failing);
+        when(retryTopics.handOff(eq(failing), eq(0), any(IllegalStateException.class))).thenReturn(true);
+
+        consumer.consumeEnvelope(new TelemetryEnvelopeMessage(List.of(failing, reading("AMBULANCE_002", 0))),
+                0, 42L, acknowledgment);
+
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should not acknowledge an envelope with a reading that was neither stored nor handed on")
+    void shouldNotAcknowledgeUnhandledReading() {
+        VehicleTelemetryMessage failing = reading("POLICE_001", 0);
+        VehicleTelemetryMessage other = reading("AMBULANCE_002", 0);
+        doThrow(new IllegalStateException("database unavailable")).when(processingService).processTelemetry(failing);
+        when(retryTopics.handOff(eq(failing), anyInt(), any())).thenReturn(false);
+
+        consumer.consumeEnvelope(new TelemetryEnvelopeMessage(List.of(failing, other)), 0, 42L, acknowledgment);
+
+        verify(processingService, timeout(5_000)).processTelemetry(other);
+        verify(retryTopics, timeout(5_000)).handOff(eq(failing), eq(0), any());
+        consumer.close();
+        verify(acknowledgment, never()).acknowledge();
+    }
+}
@@ -0,0 +1,146 @@
+package de.denizaltun.dataprocessor.consumer;
+
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.metrics.IngestMetrics;
+import de.denizaltun.dataprocessor.service.TelemetryProcessingService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TelemetryRetryConsumer Unit Tests")
+class TelemetryRetryConsumerTest {
+
+    @Mock
+    private TelemetryProcessingService processingService;
+
+    @Mock
+    private TelemetryRetryTopics retryTopics;
+
+    @Mock
+    private IngestMetrics metrics;
+
+    @Mock
+    private ConcurrentKafkaListenerContainerFactory<String, Object> factory;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private final VehicleTelemetryMessage message = VehicleTelemetryMessage.builder().vehicleId("POLICE_001").build();
+
+    private TelemetryRetryConsumer consumer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ConcurrentMessageListenerContainer<String, Object> container = mock(ConcurrentMessageListenerContainer.class);
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties("topic"));
+        when(factory.createContainer(anyString())).thenReturn(container);
+        when(retryTopics.tiers()).thenReturn(3);
+        consumer = new TelemetryRetryConsumer(processingService, retryTopics, metrics, new ProcessorConfig(), factory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.close();
+    }
+
+    private ConsumerRecord<String, Object> record(long due) {
+        ConsumerRecord<String, Object> record =
+                new ConsumerRecord<>(TelemetryRetryTopics.topic(1), 0, 42L, "POLICE_001", message);
+        record.headers().add(TelemetryRetryTopics.DUE_HEADER, Long.toString(due).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    @Test
+    @DisplayName("Should create one listener container per retry tier")
+    void shouldCreateContainerPerTier() {
+        verify(factory).createContainer("vehicle-telemetry-retry-0");
+        verify(factory).createContainer("vehicle-telemetry-retry-1");
+        verify(factory).createContainer("vehicle-telemetry-retry-2");
+    }
+
+    @Test
+    @DisplayName("Should hold a record until it is due without pausing the tier")
+    void shouldWaitUntilDue() {
+        consumer.consumeRetry(1, record(System.currentTimeMillis() + 300), acknowledgment);
+
+        verify(acknowledgment, never()).nack(any(Duration.class));
+        verify(processingService, never()).processTelemetry(any());
+        verify(processingService, timeout(5_000)).processTelemetry(message);
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should keep reprocessing other vehicles while one waits for its due time")
+    void shouldNotHoldBackOtherVehicles() {
+        VehicleTelemetryMessage other = VehicleTelemetryMessage.builder().vehicleId("AMBULANCE_002").build();
+        Acknowledgment otherAcknowledgment = mock(Acknowledgment.class);
+        consumer.consumeRetry(1, record(System.currentTimeMillis() + 10_000), acknowledgment);
+
+        consumer.consumeRetry(1, new ConsumerRecord<>(TelemetryRetryTopics.topic(1), 0, 43L, "AMBULANCE_002", other),
+                otherAcknowledgment);
+
+        verify(processingService, timeout(5_000)).processTelemetry(other);
+        verify(otherAcknowledgment, timeout(5_000)).acknowledge();
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should reprocess a due record and record its retry depth")
+    void shouldReprocessDueRecord() {
+        consumer.consumeRetry(1, record(System.currentTimeMillis() - 1), acknowledgment);
+
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+        verify(processingService).processTelemetry(message);
+        verify(metrics).recordRetrySucceeded(2);
+    }
+
+    @Test
+    @DisplayName("Should hand a record that fails again to the next tier")
+    void shouldMoveToNextTier() {
+        doThrow(new IllegalStateException("database unavailable")).when(processingService).processTelemetry(message);
+        when(retryTopics.handOff(eq(message), eq(2), any(IllegalStateException.class))).thenReturn(true);
+
+        consumer.consumeRetry(1, record(System.currentTimeMillis() - 1), acknowledgment);
+
+        verify(acknowledgment, timeout(5_000)).acknowledge();
+        verify(metrics, never()).recordRetrySucceeded(2);
+    }
+
+    @Test
+    @DisplayName("Should not acknowledge a record that was neither stored nor handed on")
+    void shouldNotAcknowledgeUnhandledRecord() {
+        doThrow(new IllegalStateException("database unavailable")).when(processingService).processTelemetry(message);
+        when(retryTopics.handOff(eq(message), eq(2), any())).thenReturn(false);
+
+        consumer.consumeRetry(1, record(System.currentTimeMillis() - 1), acknowledgment);
+
+        verify(retryTopics, timeout(5_000)).handOff(eq(message), eq(2), any());
+        consumer.close();
+        verify(acknowledgment, never()).acknowledge();
+    }
+}
@@ -0,0 +1,92 @@
+package de.denizaltun.dataprocessor.consumer;
+
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.metrics.IngestMetrics;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TelemetryRetryTopics Unit Tests")
+class TelemetryRetryTopicsTest {
+
+    @Mock
+    private KafkaTemplate<String, VehicleTelemetryMessage> kafkaTemplate;
+
+    @Mock
+    private IngestMetrics metrics;
+
+    private final VehicleTelemetryMessage message = VehicleTelemetryMessage.builder().vehicleId("POLICE_001").build();
+    private final IllegalStateException cause = new IllegalStateException("database unavailable");
+
+    private TelemetryRetryTopics retryTopics;
+
+    @BeforeEach
+    void setUp() {
+        retryTopics = new TelemetryRetryTopics(kafkaTemplate, metrics, new ProcessorConfig());
+    }
+
+    @Test
+    @DisplayName("Should send a reading past the last tier to the dead-letter topic")
+    @SuppressWarnings("unchecked")
+    void shouldDeadLetterAfterLastTier() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        retryTopics.retry(message, 3, cause);
+
+        ArgumentCaptor<ProducerRecord<String, VehicleTelemetryMessage>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(sent.capture());
+        assertThat(sent.getValue().topic()).isEqualTo(TelemetryRetryTopics.DEAD_LETTER_TOPIC);
+        assertThat(sent.getValue().key()).isEqualTo("POLICE_001");
+        assertThat(TelemetryRetryTopics.dueTime(sent.getValue().headers())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep republishing until the broker takes the reading")
+    @SuppressWarnings("unchecked")
+    void shouldRetryHandOffUntilSent() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        assertThat(retryTopics.handOff(message, 0, cause)).isTrue();
+
+        verify(kafkaTemplate, times(2)).send(any(ProducerRecord.class));
+        verify(metrics).recordRetryScheduled(TelemetryRetryTopics.topic(0));
+    }
+
+    @Test
+    @DisplayName("Should give up the hand-off only when interrupted, so the record stays unacknowledged")
+    @SuppressWarnings("unchecked")
+    void shouldStopHandOffWhenInterrupted() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker unavailable")));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThat(retryTopics.handOff(message, 0, cause)).isFalse();
+        } finally {
+            Thread.interrupted();
+        }
+        verify(metrics, never()).recordRetryScheduled(any());
+    }
+}
@@ -0,0 +1,81 @@
+package de.denizaltun.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AlertRuleLoader Unit Tests")
+class AlertRuleLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private AlertStateTracker tracker;
+    private AlertRuleLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("alert-rules.json");
+        ProcessorConfig config = new ProcessorConfig();
+        config.getAlerts().setRulesFile(file.toString());
+        tracker = new AlertStateTracker(config);
+        loader = new AlertRuleLoader(config, tracker, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private void write(String json, long modifiedSeconds) throws IOException {
+        Files.writeString(file, json);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.ofEpochSecond(modifiedSeconds)));
+    }
+
+    private double policeFuelThreshold() {
+        AlertRules rules = tracker.getRules();
+        return rules.threshold(rules.ruleSet("POLICE_001", VehicleType.POLICE), AlertCondition.LOW_FUEL);
+    }
+
+    @Test
+    @DisplayName("Should swap in new rules when the file changes")
+    void shouldReloadChangedFile() throws IOException {
+        write("{\"defaults\": {\"LOW_FUEL\": {\"raise\": 15.0, \"clear\": 20.0, \"minDuration\": \"PT1M\"}}}", 1_000);
+        loader.reload();
+        assertThat(policeFuelThreshold()).isEqualTo(15.0);
+
+        write("{\"vehicleTypes\": {\"POLICE\": {\"LOW_FUEL\": {\"raise\": 10.0}}}}", 2_000);
+        loader.reload();
+        assertThat(policeFuelThreshold()).isEqualTo(10.0);
+
+        Files.delete(file);
+        loader.reload();
+        assertThat(policeFuelThreshold()).isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("Should keep the previous rules when the file is invalid")
+    void shouldKeepRulesOnInvalidFile() throws IOException {
+        write("{\"defaults\": {\"LOW_FUEL\": {\"raise\": 15.0, \"clear\": 20.0}}}", 1_000);
+        loader.reload();
+        AlertRules loaded = tracker.getRules();
+
+        write("{\"defaults\": {\"LOW_FUEL\": {\"raise\": 15.0, \"clear\": 10.0}}}", 2_000);
+        loader.reload();
+        write("{\"defaults\": {\"LOW_FEUL\": {\"raise\": 15.0}}}", 3_000);
+        loader.reload();
+        write("{\"defaults\": {\"LOW_FUEL\": {\"rise\": 15.0}}}", 4_000);
+        loader.reload();
+
+        assertThat(tracker.getRules()).isSameAs(loaded);
+    }
+}
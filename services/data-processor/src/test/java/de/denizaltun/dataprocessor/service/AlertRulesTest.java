@@ -0,0 +1,93 @@
+package de.denizaltun.dataprocessor.service;
+
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.AlertRuleFile;
+import de.denizaltun.dataprocessor.model.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AlertRules Unit Tests")
+class AlertRulesTest {
+
+    private final ProcessorConfig.Alerts defaults = new ProcessorConfig().getAlerts();
+
+    private static AlertRuleFile.Rule rule(Double raise, Double clear, Boolean enabled) {
+        AlertRuleFile.Rule rule = new AlertRuleFile.Rule();
+        rule.setRaise(raise);
+        rule.setClear(clear);
+        rule.setEnabled(enabled);
+        return rule;
+    }
+
+    @Test
+    @DisplayName("Should compile the configured defaults, with the battery threshold by vehicle type")
+    void shouldCompileDefaults() {
+        AlertRules rules = AlertRules.compile(defaults);
+
+        int fireTruck = rules.ruleSet("FIRE_TRUCK_001", VehicleType.FIRE_TRUCK);
+        int police = rules.ruleSet("POLICE_001", VehicleType.POLICE);
+        int unknown = rules.ruleSet("UNKNOWN_001", null);
+
+        assertThat(rules.threshold(fireTruck, AlertCondition.LOW_BATTERY)).isEqualTo(23.0);
+        assertThat(rules.threshold(police, AlertCondition.LOW_BATTERY)).isEqualTo(11.5);
+        assertThat(rules.enabled(unknown) & AlertCondition.LOW_BATTERY.bit()).isZero();
+
+        int fuel = AlertCondition.LOW_FUEL.ordinal();
+        int temp = AlertCondition.HIGH_ENGINE_TEMP.ordinal();
+        assertThat(rules.raises(police, fuel, 19.9)).isTrue();
+        assertThat(rules.raises(police, fuel, 20.0)).isFalse();
+        assertThat(rules.keeps(police, fuel, 24.9)).isTrue();
+        assertThat(rules.raises(police, temp, 95.1)).isTrue();
+        assertThat(rules.keeps(police, temp, 90.0)).isFalse();
+        assertThat(rules.threshold(police, AlertCondition.HIGH_ENGINE_TEMP)).isEqualTo(95.0);
+    }
+
+    @Test
+    @DisplayName("Should layer file defaults, vehicle type and vehicle overrides in that order")
+    void shouldApplyOverrides() {
+        AlertRuleFile file = new AlertRuleFile();
+        AlertRuleFile.Rule slowFuel = rule(15.0, 18.0, null);
+        slowFuel.setMinDuration(Duration.ofMinutes(2));
+        file.setDefaults(Map.of(AlertCondition.LOW_FUEL, slowFuel));
+        file.setVehicleTypes(Map.of(VehicleType.FIRE_TRUCK,
+                Map.of(AlertCondition.HIGH_ENGINE_TEMP, rule(105.0, 98.0, null))));
+        file.setVehicles(Map.of("FIRE_TRUCK_007", Map.of(
+                AlertCondition.LOW_FUEL, rule(30.0, 35.0, null),
+                AlertCondition.EMERGENCY_LIGHTS, rule(null, null, false))));
+
+        AlertRules rules = AlertRules.compile(defaults, file);
+
+        int ambulance = rules.ruleSet("AMBULANCE_001", VehicleType.AMBULANCE);
+        int fireTruck = rules.ruleSet("FIRE_TRUCK_001", VehicleType.FIRE_TRUCK);
+        int overridden = rules.ruleSet("FIRE_TRUCK_007", VehicleType.FIRE_TRUCK);
+        int fuel = AlertCondition.LOW_FUEL.ordinal();
+
+        assertThat(rules.threshold(ambulance, AlertCondition.LOW_FUEL)).isEqualTo(15.0);
+        assertThat(rules.minDurationMillis(ambulance, fuel)).isEqualTo(120_000);
+        assertThat(rules.threshold(ambulance, AlertCondition.HIGH_ENGINE_TEMP)).isEqualTo(95.0);
+        assertThat(rules.threshold(fireTruck, AlertCondition.HIGH_ENGINE_TEMP)).isEqualTo(105.0);
+
+        assertThat(rules.threshold(overridden, AlertCondition.LOW_FUEL)).isEqualTo(30.0);
+        assertThat(rules.minDurationMillis(overridden, fuel)).isEqualTo(120_000);
+        assertThat(rules.threshold(overridden, AlertCondition.HIGH_ENGINE_TEMP)).isEqualTo(105.0);
+        assertThat(rules.enabled(overridden) & AlertCondition.EMERGENCY_LIGHTS.bit()).isZero();
+        assertThat(rules.enabled(fireTruck) & AlertCondition.EMERGENCY_LIGHTS.bit()).isNotZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a rule that clears on the alerting side of its threshold")
+    void shouldRejectInvertedBand() {
+        AlertRuleFile file = new AlertRuleFile();
+        file.setDefaults(Map.of(AlertCondition.HIGH_ENGINE_TEMP, rule(95.0, 100.0, null)));
+
+        assertThatThrownBy(() -> AlertRules.compile(defaults, file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("HIGH_ENGINE_TEMP");
+    }
+}
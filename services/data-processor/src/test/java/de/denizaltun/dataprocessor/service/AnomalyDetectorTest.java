@@ -0,0 +1,178 @@
+package de.denizaltun.dataprocessor.service;
+
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.dto.AlertEvent;
+import de.denizaltun.dataprocessor.dto.AlertType;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.model.VehicleStatus;
+import de.denizaltun.dataprocessor.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnomalyDetector Unit Tests")
+class AnomalyDetectorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 8, 0);
+
+    @Mock
+    private AlertPublisher alertPublisher;
+
+    private final ProcessorConfig config = new ProcessorConfig();
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private AnomalyDetector detector;
+    private int reading;
+    private double fuel = 90.0;
+    private VehicleStatus status = VehicleStatus.EN_ROUTE;
+
+    @BeforeEach
+    void setUp() {
+        detector = new AnomalyDetector(alertPublisher, config);
+    }
+
+    /**
+     * One reading every 10 seconds: engine temp 85 ± 1 °C, battery 12.6 ± 0.05 V,
+     * fuel dropping 0.01 - 0.03 % per reading.
+     */
+    private void normal(int count) {
+        for (int i = 0; i < count; i++) {
+            send(85.0 + random.nextDouble(-1.0, 1.0), 12.6 + random.nextDouble(-0.05, 0.05),
+                    random.nextDouble(0.01, 0.03));
+        }
+    }
+
+    private void send(double engineTemp, double batteryVoltage, double fuelDrop) {
+        fuel -= fuelDrop;
+        detector.process(VehicleTelemetryMessage.builder()
+                .vehicleId("POLICE_001")
+                .vehicleType(VehicleType.POLICE)
+                .vehicleStatus(status)
+                .timeStamp(START.plusSeconds(10L * reading++))
+                .fuelLevel(fuel)
+                .engineTemp(engineTemp)
+                .batteryVoltage(batteryVoltage)
+                .build());
+    }
+
+    /**
+     * Dispatch cycles as the simulator drives them: 5 - 10 readings each EN_ROUTE, ON_SCENE and
+     * RETURNING, engine temp around 95, 75 and 85 ± 5 °C, battery {@code battery} volts.
+     */
+    private void cycles(int count, DoubleUnaryOperator battery) {
+        for (int i = 0; i < count; i++) {
+            stint(VehicleStatus.EN_ROUTE, 95.0, battery);
+            stint(VehicleStatus.ON_SCENE, 75.0, battery);
+            stint(VehicleStatus.RETURNING, 85.0, battery);
+        }
+    }
+
+    private void stint(VehicleStatus stintStatus, double engineTemp, DoubleUnaryOperator battery) {
+        status = stintStatus;
+        for (int i = random.nextInt(5, 11); i > 0; i--) {
+            send(engineTemp + random.nextDouble(-5.0, 5.0), battery.applyAsDouble(reading),
+                    random.nextDouble(0.0, 0.5));
+        }
+    }
+
+    private List<AlertType> publishedTypes() {
+        ArgumentCaptor<AlertEvent> captor = ArgumentCaptor.forClass(AlertEvent.class);
+        verify(alertPublisher, atLeastOnce()).publishAlert(captor.capture());
+        return captor.getAllValues().stream().map(AlertEvent::getAlertType).toList();
+    }
+
+    @Test
+    @DisplayName("Should stay quiet on a noisy but stationary vehicle")
+    void shouldStayQuietOnStationaryNoise() {
+        normal(2000);
+
+        verify(alertPublisher, never()).publishAlert(any());
+        assertThat(detector.getVehicleCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should alert once on a spike and again only after the value recovered")
+    void shouldAlertOnSpikeOnce() {
+        normal(100);
+        send(110.0, 12.6, 0.02);
+        send(110.0, 12.6, 0.02);
+        normal(100);
+        send(110.0, 12.6, 0.02);
+
+        assertThat(publishedTypes()).containsExactly(AlertType.ENGINE_TEMP_ANOMALY, AlertType.ENGINE_TEMP_ANOMALY);
+    }
+
+    @Test
+    @DisplayName("Should raise a trend alert on a steady climb that stays inside the thresholds")
+    void shouldAlertOnRisingTrend() {
+        normal(100);
+        for (int i = 0; i < 40; i++) {
+            send(80.0 + 0.5 * i, 12.6, 0.02);           // 3 °C per minute
+        }
+
+        assertThat(publishedTypes()).contains(AlertType.ENGINE_TEMP_RISING);
+    }
+
+    @Test
+    @DisplayName("Should raise a trend alert on a battery that keeps draining")
+    void shouldAlertOnFallingBattery() {
+        normal(100);
+        for (int i = 0; i < 40; i++) {
+            send(85.0, 12.6 - 0.01 * i, 0.02);          // 3.6 V per hour
+        }
+
+        assertThat(publishedTypes()).contains(AlertType.BATTERY_VOLTAGE_FALLING);
+    }
+
+    @Test
+    @DisplayName("Should alert on fuel draining much faster than usual, but not on refuelling")
+    void shouldAlertOnFuelLeak() {
+        normal(100);
+        send(85.0, 12.6, -50.0);                        // refuelled
+        normal(10);
+        verify(alertPublisher, never()).publishAlert(any());
+
+        send(85.0, 12.6, 1.0);
+
+        assertThat(publishedTypes()).containsExactly(AlertType.FUEL_CONSUMPTION_ANOMALY);
+    }
+
+    @Test
+    @DisplayName("Should keep per-status baselines through short dispatch cycles and alert on a spike")
+    void shouldAlertAcrossStatusCycles() {
+        cycles(20, n -> 12.6 + random.nextDouble(-0.05, 0.05));
+        verify(alertPublisher, never()).publishAlert(any());
+
+        status = VehicleStatus.ON_SCENE;
+        send(100.0, 12.6, 0.25);                        // normal while en route, not on scene
+        send(75.0, 12.6, 3.0);
+
+        assertThat(publishedTypes()).containsExactly(AlertType.ENGINE_TEMP_ANOMALY, AlertType.FUEL_CONSUMPTION_ANOMALY);
+    }
+
+    @Test
+    @DisplayName("Should follow a battery trend across status changes")
+    void shouldAlertOnFallingBatteryAcrossStatusCycles() {
+        cycles(10, n -> 12.6);
+        int drainFrom = reading;
+        cycles(3, n -> 12.6 - 0.01 * (n - drainFrom));  // 3.6 V per hour
+
+        assertThat(publishedTypes()).containsExactly(AlertType.BATTERY_VOLTAGE_FALLING);
+    }
+}
@@ -0,0 +1,84 @@
+package de.denizaltun.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.model.VehicleStatus;
+import de.denizaltun.dataprocessor.model.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CopyTelemetryWriter Unit Tests")
+class CopyTelemetryWriterTest {
+
+    private final CopyTelemetryWriter writer = new CopyTelemetryWriter(null, null, new ObjectMapper(), null);
+
+    @Test
+    @DisplayName("Should encode readings as a PostgreSQL binary COPY stream")
+    void shouldEncodeBinaryCopyStream() throws Exception {
+        VehicleTelemetryMessage message = VehicleTelemetryMessage.builder()
+                .vehicleId("AMBULANCE_007")
+                .vehicleType(VehicleType.AMBULANCE)
+                .vehicleStatus(VehicleStatus.EN_ROUTE)
+                .timeStamp(LocalDateTime.of(2000, 1, 1, 0, 0, 1))
+                .latitude(48.1351)
+                .longitude(11.5820)
+                .speed(62.5)
+                .fuelLevel(80.0)
+                .engineTemp(88.0)
+                .batteryVoltage(null)
+                .emergencyLightsActive(true)
+                .signals(Map.of("oil_pressure", 3.5))
+                .build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writer.encode(List.of(message), new long[]{42}, LocalDateTime.of(2000, 1, 2, 0, 0),
+                new DataOutputStream(bytes));
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+        byte[] signature = new byte[11];
+        in.readFully(signature);
+        assertThat(new String(signature, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("PGCOP");
+        assertThat(in.readInt()).isZero();                  // flags
+        assertThat(in.readInt()).isZero();                  // header extension
+
+        assertThat(in.readShort()).isEqualTo((short) 14);
+        assertThat(in.readInt()).isEqualTo(8);
+        assertThat(in.readLong()).isEqualTo(42);
+        assertThat(readText(in)).isEqualTo("AMBULANCE_007");
+        assertThat(readText(in)).isEqualTo("AMBULANCE");
+        assertThat(readText(in)).isEqualTo("EN_ROUTE");
+        assertThat(in.readInt()).isEqualTo(8);
+        assertThat(in.readLong()).isEqualTo(1_000_000);     // microseconds since 2000-01-01
+        for (double expected : new double[]{48.1351, 11.5820, 62.5, 80.0, 88.0}) {
+            assertThat(in.readInt()).isEqualTo(8);
+            assertThat(in.readDouble()).isEqualTo(expected);
+        }
+        assertThat(in.readInt()).isEqualTo(-1);             // null battery voltage
+        assertThat(in.readInt()).isEqualTo(1);
+        assertThat(in.readByte()).isEqualTo((byte) 1);
+        int jsonLength = in.readInt();
+        assertThat(in.readByte()).isEqualTo((byte) 1);      // jsonb version
+        assertThat(new String(in.readNBytes(jsonLength - 1), StandardCharsets.UTF_8))
+                .isEqualTo("{\"oil_pressure\":3.5}");
+        assertThat(in.readInt()).isEqualTo(8);
+        assertThat(in.readLong()).isEqualTo(86_400_000_000L);
+
+        assertThat(in.readShort()).isEqualTo((short) -1);   // trailer
+        assertThat(in.available()).isZero();
+    }
+
+    private static String readText(DataInputStream in) throws Exception {
+        return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,172 @@
+package de.denizaltun.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.model.VehicleStatus;
+import de.denizaltun.dataprocessor.model.VehicleType;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/**
+ * Compares rows per second into vehicle_telemetry for the two batch writers: batched INSERTs
+ * as Hibernate sends them (JDBC batch with reWriteBatchedInserts) and binary COPY into the
+ * staging table followed by the ON CONFLICT merge, exactly as {@link CopyTelemetryWriter} runs them.
+ * <p>
+ * Not a unit test - needs a running PostgreSQL. Writes into a session-local temp table that
+ * shadows vehicle_telemetry, so the real table is untouched:
+ * {@code IngestBenchmark [url=jdbc:postgresql://localhost:55432/emergencywatch] [user=postgres]
+ * [password=postgres] [rows=200000] [batch=500]}
+ */
+public class IngestBenchmark {
+
+    private static final String INSERT_SQL = "INSERT INTO vehicle_telemetry (id, vehicle_id, vehicle_type, "
+            + "vehicle_status, time_stamp, latitude, longitude, speed, fuel_level, engine_temp, battery_voltage, "
+            + "emergency_lights_active, signals, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "jdbc:postgresql://localhost:55432/emergencywatch";
+        String user = args.length > 1 ? args[1] : "postgres";
+        String password = args.length > 2 ? args[2] : "postgres";
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 200_000;
+        int batch = args.length > 4 ? Integer.parseInt(args[4]) : 500;
+
+        Properties properties = new Properties();
+        properties.setProperty("user", user);
+        properties.setProperty("password", password);
+        properties.setProperty("reWriteBatchedInserts", "true");
+
+        List<VehicleTelemetryMessage> messages = generate(rows);
+        CopyTelemetryWriter copyWriter = new CopyTelemetryWriter(null, null, new ObjectMapper(), null);
+
+        try (Connection connection = DriverManager.getConnection(url, properties)) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TEMP TABLE vehicle_telemetry (id bigint PRIMARY KEY, "
+                        + "vehicle_id varchar(255) NOT NULL, vehicle_type varchar(255) NOT NULL, "
+                        + "vehicle_status varchar(255) NOT NULL, time_stamp timestamp(6) NOT NULL, "
+                        + "latitude float8 NOT NULL, longitude float8 NOT NULL, speed float8 NOT NULL, "
+                        + "fuel_level float8 NOT NULL, engine_temp float8 NOT NULL, battery_voltage float8 NOT NULL, "
+                        + "emergency_lights_active boolean NOT NULL, signals jsonb, created_at timestamp(6) NOT NULL, "
+                        + "UNIQUE (vehicle_id, time_stamp))");
+                statement.execute(CopyTelemetryWriter.CREATE_STAGING_SQL);
+            }
+            connection.commit();
+
+            System.out.printf("%d rows in batches of %d%n", rows, batch);
+            // First pass warms up the JIT and the server, second one is reported
+            for (boolean report : new boolean[]{false, true}) {
+                truncate(connection);
+                long start = System.nanoTime();
+                insert(connection, messages, batch);
+                print("insert", rows, start, report);
+
+                truncate(connection);
+                start = System.nanoTime();
+                copy(connection, copyWriter, messages, batch);
+                print("copy", rows, start, report);
+            }
+        }
+    }
+
+    private static void insert(Connection connection, List<VehicleTelemetryMessage> messages, int batch) throws Exception {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (int i = 0; i < messages.size(); i++) {
+                VehicleTelemetryMessage message = messages.get(i);
+                statement.setLong(1, i + 1);
+                statement.setString(2, message.getVehicleId());
+                statement.setString(3, message.getVehicleType().name());
+                statement.setString(4, message.getVehicleStatus().name());
+                statement.setTimestamp(5, Timestamp.valueOf(message.getTimeStamp()));
+                statement.setDouble(6, message.getLatitude());
+                statement.setDouble(7, message.getLongitude());
+                statement.setDouble(8, message.getSpeed());
+                statement.setDouble(9, message.getFuelLevel());
+                statement.setDouble(10, message.getEngineTemp());
+                statement.setDouble(11, message.getBatteryVoltage());
+                statement.setBoolean(12, message.getEmergencyLightsActive());
+                statement.setNull(13, Types.OTHER);
+                statement.setTimestamp(14, createdAt);
+                statement.addBatch();
+                if ((i + 1) % batch == 0 || i == messages.size() - 1) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private static void copy(Connection connection, CopyTelemetryWriter writer,
+                             List<VehicleTelemetryMessage> messages, int batch) throws Exception {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        for (int from = 0; from < messages.size(); from += batch) {
+            List<VehicleTelemetryMessage> chunk = messages.subList(from, Math.min(from + batch, messages.size()));
+            long[] ids = new long[chunk.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = from + i + 1;
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new PGCopyOutputStream(
+                    pgConnection, CopyTelemetryWriter.copySql(CopyTelemetryWriter.STAGING_TABLE)), 64 * 1024))) {
+                writer.encode(chunk, ids, LocalDateTime.now(), out);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CopyTelemetryWriter.MERGE_SQL);
+            }
+            connection.commit();
+        }
+    }
+
+    private static void truncate(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE vehicle_telemetry");
+        }
+        connection.commit();
+    }
+
+    private static void print(String writer, int rows, long startNanos, boolean report) {
+        if (!report) {
+            return;
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%-6s %10.0f rows/s  (%.2f s)%n", writer, rows / seconds, seconds);
+    }
+
+    private static List<VehicleTelemetryMessage> generate(int rows) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        VehicleType[] types = VehicleType.values();
+        VehicleStatus[] statuses = VehicleStatus.values();
+        List<VehicleTelemetryMessage> messages = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            VehicleType type = types[i % types.length];
+            messages.add(VehicleTelemetryMessage.builder()
+                    .vehicleId(type.name() + "_" + (i % 1000))
+                    .vehicleType(type)
+                    .vehicleStatus(statuses[random.nextInt(statuses.length)])
+                    .timeStamp(start.plusNanos(i * 3_000_000L))
+                    .latitude(48.0 + random.nextDouble(0.3))
+                    .longitude(11.4 + random.nextDouble(0.3))
+                    .speed(random.nextDouble(120))
+                    .fuelLevel(random.nextDouble(100))
+                    .engineTemp(70 + random.nextDouble(30))
+                    .batteryVoltage(12 + random.nextDouble(2))
+                    .emergencyLightsActive(random.nextBoolean())
+                    .build());
+        }
+        return messages;
+    }
+}
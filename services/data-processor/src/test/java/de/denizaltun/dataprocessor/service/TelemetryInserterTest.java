@@ -0,0 +1,103 @@
+package de.denizaltun.dataprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.model.VehicleStatus;
+import de.denizaltun.dataprocessor.model.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TelemetryInserter Unit Tests")
+class TelemetryInserterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TelemetryIdAllocator idAllocator;
+
+    private TelemetryInserter inserter() {
+        return new TelemetryInserter(jdbcTemplate, idAllocator, new ObjectMapper());
+    }
+
+    private VehicleTelemetryMessage reading(String vehicleId) {
+        return VehicleTelemetryMessage.builder()
+                .vehicleId(vehicleId)
+                .vehicleType(VehicleType.AMBULANCE)
+                .vehicleStatus(VehicleStatus.EN_ROUTE)
+                .timeStamp(LocalDateTime.of(2025, 6, 1, 8, 0))
+                .latitude(48.1351)
+                .longitude(11.5820)
+                .speed(62.5)
+                .fuelLevel(80.0)
+                .engineTemp(88.0)
+                .batteryVoltage(null)
+                .emergencyLightsActive(true)
+                .signals(Map.of("oil_pressure", 3.5))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should insert all rows in one statement that skips stored keys")
+    void shouldBuildMultiRowInsert() {
+        String sql = TelemetryInserter.insertSql(2);
+
+        assertThat(sql).startsWith("INSERT INTO vehicle_telemetry (" + CopyTelemetryWriter.COLUMNS + ") VALUES (")
+                .endsWith(" ON CONFLICT (vehicle_id, time_stamp) DO NOTHING RETURNING id");
+        assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(28);
+    }
+
+    @Test
+    @DisplayName("Should bind every column of a reading")
+    void shouldBindColumns() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        VehicleTelemetryMessage message = reading("AMBULANCE_007");
+        LocalDateTime createdAt = LocalDateTime.of(2025, 6, 1, 8, 0, 5);
+
+        inserter().bind(statement, 14, 42L, message, createdAt);
+
+        verify(statement).setLong(15, 42L);
+        verify(statement).setString(16, "AMBULANCE_007");
+        verify(statement).setString(17, "AMBULANCE");
+        verify(statement).setString(18, "EN_ROUTE");
+        verify(statement).setObject(19, message.getTimeStamp());
+        verify(statement).setObject(22, 62.5, Types.DOUBLE);
+        verify(statement).setObject(25, null, Types.DOUBLE);
+        verify(statement).setObject(26, true, Types.BOOLEAN);
+        verify(statement).setString(27, "{\"oil_pressure\":3.5}");
+        verify(statement).setObject(28, createdAt);
+    }
+
+    @Test
+    @DisplayName("Should report only the readings whose ids the database returned as stored")
+    @SuppressWarnings("unchecked")
+    void shouldReturnStoredReadings() {
+        VehicleTelemetryMessage stored = reading("AMBULANCE_007");
+        VehicleTelemetryMessage duplicate = reading("AMBULANCE_008");
+        when(idAllocator.allocate(2)).thenReturn(new long[]{41, 42});
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(List.of(41L));
+
+        assertThat(inserter().insertAll(List.of(stored, duplicate))).containsExactly(stored);
+    }
+}
@@ -0,0 +1,147 @@
+package de.denizaltun.dataprocessor.service;
+
+import de.denizaltun.dataprocessor.config.PartitionInterval;
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
+import de.denizaltun.dataprocessor.service.TelemetryPartitionManager.Partition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TelemetryPartitionManager Unit Tests")
+class TelemetryPartitionManagerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 14, 30);   // a Saturday
+
+    @Test
+    @DisplayName("Should plan the current day and premake days ahead when nothing exists")
+    void shouldPlanDailyPartitions() {
+        List<Partition> missing = TelemetryPartitionManager.missingPartitions(List.of(), NOW, PartitionInterval.DAY, 2);
+
+        assertThat(missing).extracting(Partition::name).containsExactly(
+                "vehicle_telemetry_p20261017", "vehicle_telemetry_p20261018", "vehicle_telemetry_p20261019");
+        assertThat(missing.get(0).from()).isEqualTo(LocalDateTime.of(2026, 10, 17, 0, 0));
+        assertThat(missing.get(0).to()).isEqualTo(LocalDateTime.of(2026, 10, 18, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should continue after the newest partition, including a legacy one, without overlap")
+    void shouldContinueAfterExistingPartitions() {
+        List<Partition> existing = List.of(
+                new Partition("vehicle_telemetry_legacy", null, LocalDateTime.of(2026, 10, 18, 0, 0)));
+
+        List<Partition> missing = TelemetryPartitionManager.missingPartitions(existing, NOW, PartitionInterval.DAY, 1);
+
+        assertThat(missing).extracting(Partition::name).containsExactly("vehicle_telemetry_p20261018");
+    }
+
+    @Test
+    @DisplayName("Should align weekly partitions on Mondays")
+    void shouldPlanWeeklyPartitions() {
+        List<Partition> missing = TelemetryPartitionManager.missingPartitions(List.of(), NOW, PartitionInterval.WEEK, 1);
+
+        assertThat(missing).extracting(Partition::from).containsExactly(
+                LocalDateTime.of(2026, 10, 12, 0, 0), LocalDateTime.of(2026, 10, 19, 0, 0));
+        assertThat(missing.get(1).to()).isEqualTo(LocalDateTime.of(2026, 10, 26, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should expire only partitions that ended before the cutoff")
+    void shouldFindExpiredPartitions() {
+        Partition legacy = new Partition("vehicle_telemetry_legacy", null, LocalDateTime.of(2026, 7, 1, 0, 0));
+        Partition old = new Partition("vehicle_telemetry_p20260718", LocalDateTime.of(2026, 7, 18, 0, 0),
+                LocalDateTime.of(2026, 7, 19, 0, 0));
+        Partition current = new Partition("vehicle_telemetry_p20260719", LocalDateTime.of(2026, 7, 19, 0, 0),
+                LocalDateTime.of(2026, 7, 20, 0, 0));
+
+        List<Partition> expired = TelemetryPartitionManager.expiredPartitions(
+                List.of(legacy, old, current), NOW.minusDays(90));
+
+        assertThat(expired).containsExactly(legacy, old);
+    }
+
+    @Test
+    @DisplayName("Should read partition bounds from pg_get_expr and ignore the default partition")
+    void shouldParseBounds() {
+        Partition range = TelemetryPartitionManager.parse("vehicle_telemetry_p20261017",
+                "FOR VALUES FROM ('2026-10-17 00:00:00') TO ('2026-10-18 00:00:00')");
+        Partition legacy = TelemetryPartitionManager.parse("vehicle_telemetry_legacy",
+                "FOR VALUES FROM (MINVALUE) TO ('2026-10-17 00:00:00')");
+
+        assertThat(range.from()).isEqualTo(LocalDateTime.of(2026, 10, 17, 0, 0));
+        assertThat(range.to()).isEqualTo(LocalDateTime.of(2026, 10, 18, 0, 0));
+        assertThat(legacy.from()).isNull();
+        assertThat(TelemetryPartitionManager.parse("vehicle_telemetry_default", "DEFAULT")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should lock out writes before moving rows out of the default partition and attaching")
+    @SuppressWarnings("unchecked")
+    void shouldLockBeforeMovingRows() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(jdbcTemplate.queryForObject(contains("relkind"), eq(String.class), any(Object[].class))).thenReturn("p");
+        when(jdbcTemplate.queryForObject(contains("IS NOT NULL"), eq(Boolean.class), any(Object[].class))).thenReturn(true);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        new TelemetryPartitionManager(jdbcTemplate, transactionTemplate, new ProcessorConfig()).initialize();
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("LOCK TABLE vehicle_telemetry IN SHARE ROW EXCLUSIVE MODE");
+        order.verify(jdbcTemplate).update(startsWith("WITH moved AS (DELETE FROM vehicle_telemetry_default"),
+                any(Object[].class));
+        order.verify(jdbcTemplate).execute(startsWith("ALTER TABLE vehicle_telemetry ATTACH PARTITION"));
+    }
+
+    @Test
+    @DisplayName("Should drop only expired partitions the archive recorded and keep the others attached")
+    @SuppressWarnings("unchecked")
+    void shouldKeepUnarchivedPartitions() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(jdbcTemplate.queryForObject(contains("relkind"), eq(String.class), any(Object[].class))).thenReturn("p");
+        when(jdbcTemplate.queryForObject(contains("IS NOT NULL"), eq(Boolean.class), any(Object[].class))).thenReturn(true);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(
+                new Partition("vehicle_telemetry_p20200101", LocalDateTime.of(2020, 1, 1, 0, 0),
+                        LocalDateTime.of(2020, 1, 2, 0, 0)),
+                new Partition("vehicle_telemetry_p20200102", LocalDateTime.of(2020, 1, 2, 0, 0),
+                        LocalDateTime.of(2020, 1, 3, 0, 0))));
+        when(jdbcTemplate.queryForList(contains("telemetry_archived_partitions"), eq(String.class)))
+                .thenReturn(List.of("vehicle_telemetry_p20200101"));
+
+        new TelemetryPartitionManager(jdbcTemplate, transactionTemplate, new ProcessorConfig()).initialize();
+
+        verify(jdbcTemplate).execute("DROP TABLE vehicle_telemetry_p20200101");
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION vehicle_telemetry_p20200102"));
+        verify(jdbcTemplate, never()).execute("DROP TABLE vehicle_telemetry_p20200102");
+        verify(jdbcTemplate, never()).update(startsWith("DELETE FROM vehicle_telemetry_default"), any(Object[].class));
+    }
+}
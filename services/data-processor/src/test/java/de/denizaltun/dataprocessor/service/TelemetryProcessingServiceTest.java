@@ -1,10 +1,11 @@
 package de.denizaltun.dataprocessor.service;
 
+import de.denizaltun.dataprocessor.config.ProcessorConfig;
 import de.denizaltun.dataprocessor.dto.AlertEvent;
 import de.denizaltun.dataprocessor.dto.AlertType;
 import de.denizaltun.dataprocessor.dto.VehicleTelemetryMessage;
+import de.denizaltun.dataprocessor.metrics.IngestMetrics;
 import de.denizaltun.dataprocessor.model.VehicleStatus;
-import de.denizaltun.dataprocessor.model.VehicleTelemetry;
 import de.denizaltun.dataprocessor.model.VehicleType;
 import de.denizaltun.dataprocessor.repository.VehicleTelemetryRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,13 +16,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -37,11 +42,27 @@ class TelemetryProcessingServiceTest {
     @Mock
     private AlertPublisher alertPublisher;
 
+    @Mock
+    private TelemetryWriter writer;
+
+    @Mock
+    private TelemetryInserter inserter;
+
+    @Mock
+    private IngestMetrics metrics;
+
+    @Mock
+    private AnomalyDetector anomalyDetector;
+
+    private final ProcessorConfig config = new ProcessorConfig();
+
+    @Spy
+    private AlertStateTracker alertState = new AlertStateTracker(config);
+
     @InjectMocks
     private TelemetryProcessingService service;
 
     private VehicleTelemetryMessage validMessage;
-    private VehicleTelemetry savedTelemetry;
 
     @BeforeEach
     void setUp() {
@@ -58,20 +79,6 @@ class TelemetryProcessingServiceTest {
                 .engineTemp(75.0)
                 .emergencyLightsActive(false)
                 .build();
-
-        savedTelemetry = VehicleTelemetry.builder()
-                .id(1L)
-                .vehicleId("FIRE_TRUCK_001")
-                .vehicleStatus(VehicleStatus.IDLE)
-                .timeStamp(LocalDateTime.now())
-                .latitude(48.1351)
-                .longitude(11.5820)
-                .speed(0.0)
-                .fuelLevel(50.0)
-                .batteryVoltage(24.5)
-                .engineTemp(75.0)
-                .emergencyLightsActive(false)
-                .build();
     }
 
     @Nested
@@ -81,31 +88,34 @@ class TelemetryProcessingServiceTest {
         @Test
         @DisplayName("Should save valid telemetry to database")
         void shouldSaveValidTelemetry() {
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
-            verify(repository, times(1)).save(any(VehicleTelemetry.class));
+            verify(inserter, times(1)).insert(any(VehicleTelemetryMessage.class));
         }
 
         @Test
-        @DisplayName("Should map all fields correctly when converting to entity")
-        void shouldMapAllFieldsCorrectly() {
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+        @DisplayName("Should insert the validated reading as received")
+        void shouldInsertReadingAsReceived() {
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
-            ArgumentCaptor<VehicleTelemetry> captor = ArgumentCaptor.forClass(VehicleTelemetry.class);
-            verify(repository).save(captor.capture());
-            VehicleTelemetry captured = captor.getValue();
+            verify(inserter).insert(validMessage);
+            verify(metrics).recordStored(1);
+        }
+
+        @Test
+        @DisplayName("Should drop a redelivered reading without saving it or alerting again")
+        void shouldDropDuplicateReading() {
+            validMessage.setFuelLevel(10.0);
+            when(inserter.insert(validMessage)).thenReturn(false);
+
+            service.processTelemetry(validMessage);
 
-            assertThat(captured.getVehicleId()).isEqualTo("FIRE_TRUCK_001");
-            assertThat(captured.getVehicleStatus()).isEqualTo(VehicleStatus.IDLE);
-            assertThat(captured.getFuelLevel()).isEqualTo(50.0);
-            assertThat(captured.getBatteryVoltage()).isEqualTo(24.5);
-            assertThat(captured.getEngineTemp()).isEqualTo(75.0);
-            assertThat(captured.getLatitude()).isEqualTo(48.1351);
-            assertThat(captured.getLongitude()).isEqualTo(11.5820);
+            verify(alertPublisher, never()).publishAlert(any(AlertEvent.class));
+            verify(metrics).recordDuplicates(1);
         }
 
         @Test
@@ -115,7 +125,7 @@ class TelemetryProcessingServiceTest {
 
             service.processTelemetry(validMessage);
 
-            verify(repository, never()).save(any(VehicleTelemetry.class));
+            verify(inserter, never()).insert(any(VehicleTelemetryMessage.class));
             verify(alertPublisher, never()).publishAlert(any(AlertEvent.class));
         }
 
@@ -126,7 +136,7 @@ class TelemetryProcessingServiceTest {
 
             service.processTelemetry(validMessage);
 
-            verify(repository, never()).save(any(VehicleTelemetry.class));
+            verify(inserter, never()).insert(any(VehicleTelemetryMessage.class));
         }
 
         @Test
@@ -136,7 +146,7 @@ class TelemetryProcessingServiceTest {
 
             service.processTelemetry(validMessage);
 
-            verify(repository, never()).save(any(VehicleTelemetry.class));
+            verify(inserter, never()).insert(any(VehicleTelemetryMessage.class));
         }
 
         @Test
@@ -146,7 +156,58 @@ class TelemetryProcessingServiceTest {
 
             service.processTelemetry(validMessage);
 
-            verify(repository, never()).save(any(VehicleTelemetry.class));
+            verify(inserter, never()).insert(any(VehicleTelemetryMessage.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("processBatch() - Batch Ingest Tests")
+    class ProcessBatchTests {
+
+        @Test
+        @DisplayName("Should hand all valid readings of a batch to the writer in one call and skip invalid ones")
+        @SuppressWarnings("unchecked")
+        void shouldWriteValidReadingsTogether() {
+            VehicleTelemetryMessage invalid = VehicleTelemetryMessage.builder()
+                    .vehicleId("POLICE_001")
+                    .build();
+            VehicleTelemetryMessage other = validMessage.toBuilder().vehicleId("FIRE_TRUCK_002").build();
+
+            service.processBatch(List.of(validMessage, invalid, other));
+
+            ArgumentCaptor<List<VehicleTelemetryMessage>> captor = ArgumentCaptor.forClass(List.class);
+            verify(writer, times(1)).write(captor.capture());
+            verify(inserter, never()).insert(any(VehicleTelemetryMessage.class));
+            assertThat(captor.getValue()).containsExactly(validMessage, other);
+        }
+
+        @Test
+        @DisplayName("Should drop duplicates within a batch and count those the writer skipped")
+        @SuppressWarnings("unchecked")
+        void shouldDropDuplicates() {
+            VehicleTelemetryMessage redelivered = validMessage.toBuilder().build();
+            VehicleTelemetryMessage stored = validMessage.toBuilder().vehicleId("FIRE_TRUCK_002").build();
+            when(writer.write(anyList())).thenReturn(List.of(stored));
+
+            service.processBatch(List.of(validMessage, redelivered, stored));
+
+            ArgumentCaptor<List<VehicleTelemetryMessage>> captor = ArgumentCaptor.forClass(List.class);
+            verify(writer).write(captor.capture());
+            assertThat(captor.getValue()).containsExactly(validMessage, stored);
+            verify(metrics).recordStored(1);
+            verify(metrics).recordDuplicates(2);
+        }
+
+        @Test
+        @DisplayName("Should check alert conditions for every newly stored reading")
+        void shouldCheckAlertsForEachReading() {
+            validMessage.setFuelLevel(10.0);
+            VehicleTelemetryMessage other = validMessage.toBuilder().vehicleId("FIRE_TRUCK_002").build();
+            when(writer.write(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            service.processBatch(List.of(validMessage, other));
+
+            verify(alertPublisher, times(2)).publishAlert(any(AlertEvent.class));
         }
     }
 
@@ -158,7 +219,7 @@ class TelemetryProcessingServiceTest {
         @DisplayName("Should publish LOW_FUEL alert when fuel < 20%")
         void shouldPublishLowFuelAlert() {
             validMessage.setFuelLevel(15.5);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -176,7 +237,7 @@ class TelemetryProcessingServiceTest {
         @DisplayName("Should NOT publish alert when fuel >= 20%")
         void shouldNotPublishAlertWhenFuelNormal() {
             validMessage.setFuelLevel(20.0);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -187,7 +248,7 @@ class TelemetryProcessingServiceTest {
         @DisplayName("Should publish alert when fuel exactly at 19.99%")
         void shouldPublishAlertAtEdgeCase() {
             validMessage.setFuelLevel(19.99);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -203,7 +264,7 @@ class TelemetryProcessingServiceTest {
         @DisplayName("Should publish HIGH_ENGINE_TEMP alert when temp > 95°C")
         void shouldPublishHighTempAlert() {
             validMessage.setEngineTemp(98.5);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -220,7 +281,7 @@ class TelemetryProcessingServiceTest {
         @DisplayName("Should NOT publish alert when temp <= 95°C")
         void shouldNotPublishAlertWhenTempNormal() {
             validMessage.setEngineTemp(95.0);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -237,7 +298,7 @@ class TelemetryProcessingServiceTest {
         void shouldPublishLowBatteryAlertForFireTruck() {
             validMessage.setVehicleType(VehicleType.FIRE_TRUCK);
             validMessage.setBatteryVoltage(22.5);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -255,7 +316,7 @@ class TelemetryProcessingServiceTest {
         void shouldNotPublishAlertForFireTruckWhenVoltageNormal() {
             validMessage.setVehicleType(VehicleType.FIRE_TRUCK);
             validMessage.setBatteryVoltage(24.0);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -267,7 +328,7 @@ class TelemetryProcessingServiceTest {
         void shouldPublishLowBatteryAlertForPolice() {
             validMessage.setVehicleType(VehicleType.POLICE);
             validMessage.setBatteryVoltage(11.0);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -285,7 +346,7 @@ class TelemetryProcessingServiceTest {
         void shouldPublishLowBatteryAlertForAmbulance() {
             validMessage.setVehicleType(VehicleType.AMBULANCE);
             validMessage.setBatteryVoltage(11.2);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -301,7 +362,7 @@ class TelemetryProcessingServiceTest {
         @DisplayName("Should NOT publish battery alert when voltage is null")
         void shouldNotPublishAlertWhenVoltageNull() {
             validMessage.setBatteryVoltage(null);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -313,7 +374,7 @@ class TelemetryProcessingServiceTest {
         void shouldNotPublishAlertWhenVehicleTypeNull() {
             validMessage.setVehicleType(null);
             validMessage.setBatteryVoltage(10.0); // Very low, but no type to determine threshold
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -329,7 +390,7 @@ class TelemetryProcessingServiceTest {
         @DisplayName("Should publish EMERGENCY_STATUS_CHANGE alert when lights active")
         void shouldPublishEmergencyStatusChangeAlert() {
             validMessage.setEmergencyLightsActive(true);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -345,7 +406,7 @@ class TelemetryProcessingServiceTest {
         @DisplayName("Should NOT publish alert when emergency lights inactive")
         void shouldNotPublishAlertWhenLightsInactive() {
             validMessage.setEmergencyLightsActive(false);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -356,7 +417,7 @@ class TelemetryProcessingServiceTest {
         @DisplayName("Should NOT publish alert when emergency lights null")
         void shouldNotPublishAlertWhenLightsNull() {
             validMessage.setEmergencyLightsActive(null);
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -374,7 +435,7 @@ class TelemetryProcessingServiceTest {
             validMessage.setFuelLevel(15.0);           // LOW_FUEL
             validMessage.setEngineTemp(98.0);          // HIGH_ENGINE_TEMP
             validMessage.setEmergencyLightsActive(true); // EMERGENCY_STATUS_CHANGE
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -390,7 +451,7 @@ class TelemetryProcessingServiceTest {
             validMessage.setEngineTemp(100.0);         // HIGH_ENGINE_TEMP
             validMessage.setBatteryVoltage(22.0);      // LOW_BATTERY (24V system)
             validMessage.setEmergencyLightsActive(true); // EMERGENCY_STATUS_CHANGE
-            when(repository.save(any(VehicleTelemetry.class))).thenReturn(savedTelemetry);
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
 
             service.processTelemetry(validMessage);
 
@@ -398,6 +459,104 @@ class TelemetryProcessingServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Alert State - Edge Triggering and Hysteresis Tests")
+    class AlertStateTests {
+
+        private final LocalDateTime start = LocalDateTime.of(2026, 10, 17, 8, 0);
+
+        private VehicleTelemetryMessage reading(int seconds, double fuelLevel, boolean lights) {
+            return validMessage.toBuilder()
+                    .timeStamp(start.plusSeconds(seconds))
+                    .fuelLevel(fuelLevel)
+                    .emergencyLightsActive(lights)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should alert once while a condition holds, and again only after it cleared")
+        void shouldAlertOnTransitionsOnly() {
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
+
+            service.processTelemetry(reading(0, 15.0, false));
+            service.processTelemetry(reading(5, 14.0, false));
+            service.processTelemetry(reading(10, 13.0, false));
+            service.processTelemetry(reading(15, 30.0, false));   // refuelled, clears
+            service.processTelemetry(reading(20, 18.0, false));
+
+            verify(alertPublisher, times(2)).publishAlert(any(AlertEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should not re-alert while the value stays inside the hysteresis band")
+        void shouldNotFlapInsideHysteresisBand() {
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
+
+            service.processTelemetry(reading(0, 19.0, false));
+            service.processTelemetry(reading(5, 22.0, false));    // above raise (20) but below clear (25)
+            service.processTelemetry(reading(10, 19.5, false));
+
+            verify(alertPublisher, times(1)).publishAlert(any(AlertEvent.class));
+            assertThat(alertState.getActive("FIRE_TRUCK_001") & AlertCondition.LOW_FUEL.bit()).isNotZero();
+        }
+
+        @Test
+        @DisplayName("Should alert emergency lights only when they are switched on")
+        void shouldAlertEmergencyLightsOnRisingEdge() {
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
+
+            service.processTelemetry(reading(0, 50.0, true));
+            service.processTelemetry(reading(5, 50.0, true));
+            service.processTelemetry(reading(10, 50.0, false));
+            service.processTelemetry(reading(15, 50.0, true));
+
+            ArgumentCaptor<AlertEvent> captor = ArgumentCaptor.forClass(AlertEvent.class);
+            verify(alertPublisher, times(2)).publishAlert(captor.capture());
+            assertThat(captor.getAllValues()).extracting(AlertEvent::getAlertType)
+                    .containsOnly(AlertType.EMERGENCY_STATUS_CHANGE);
+        }
+
+        @Test
+        @DisplayName("Should alert only once a condition held for its minimum duration")
+        void shouldRespectMinimumDuration() {
+            config.getAlerts().getLowFuel().setMinDuration(Duration.ofMinutes(1));
+            alertState.setRules(AlertRules.compile(config.getAlerts()));
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
+
+            service.processTelemetry(reading(0, 15.0, false));
+            service.processTelemetry(reading(30, 15.0, false));
+            verify(alertPublisher, never()).publishAlert(any(AlertEvent.class));
+
+            service.processTelemetry(reading(60, 15.0, false));
+            verify(alertPublisher, times(1)).publishAlert(any(AlertEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should restart the minimum duration when the condition stops holding")
+        void shouldResetPendingCondition() {
+            config.getAlerts().getLowFuel().setMinDuration(Duration.ofMinutes(1));
+            alertState.setRules(AlertRules.compile(config.getAlerts()));
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
+
+            service.processTelemetry(reading(0, 15.0, false));
+            service.processTelemetry(reading(40, 21.0, false));
+            service.processTelemetry(reading(70, 15.0, false));
+
+            verify(alertPublisher, never()).publishAlert(any(AlertEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should ignore a reading older than the vehicle's latest one")
+        void shouldIgnoreLateReading() {
+            when(inserter.insert(any(VehicleTelemetryMessage.class))).thenReturn(true);
+
+            service.processTelemetry(reading(10, 50.0, false));
+            service.processTelemetry(reading(5, 10.0, true));
+
+            verify(alertPublisher, never()).publishAlert(any(AlertEvent.class));
+        }
+    }
+
     @Nested
     @DisplayName("Statistics Methods Tests")
     class StatisticsTests {
@@ -0,0 +1,53 @@
+package de.denizaltun.notificationservice.config;
+
+import de.denizaltun.notificationservice.model.AlertType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate creates the alerts table with a check constraint listing the {@link AlertType} values
+ * known at the time, and ddl-auto never updates it. On an existing PostgreSQL database the
+ * constraint is recreated from the current enum, otherwise alerts of newer types cannot be stored.
+ * Runs once all singletons exist, i.e. after the schema update, and before the listener containers start.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final String ALERT_TYPE_CHECK = "alerts_alert_type_check";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!isPostgres()) {
+            return;
+        }
+        String alertTypes = Arrays.stream(AlertType.values())
+                .map(type -> "'" + type.name() + "'")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("ALTER TABLE alerts DROP CONSTRAINT IF EXISTS " + ALERT_TYPE_CHECK);
+        jdbcTemplate.execute("ALTER TABLE alerts ADD CONSTRAINT " + ALERT_TYPE_CHECK
+                + " CHECK (alert_type IN (" + alertTypes + "))");
+        log.info("Recreated {} for {} alert types", ALERT_TYPE_CHECK, AlertType.values().length);
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot determine the alerts database", e);
+        }
+    }
+}
@@ -1,28 +1,68 @@
 package de.denizaltun.notificationservice.consumer;
 
 import de.denizaltun.notificationservice.dto.AlertEvent;
+import de.denizaltun.notificationservice.metrics.AlertRetryMetrics;
 import de.denizaltun.notificationservice.service.AlertService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
+import java.math.BigInteger;
+
+/**
+ * Consumes alert events from 'vehicle-alerts'.
+ * <p>
+ * An event that fails is not dropped and does not block the partition either: it is republished to
+ * vehicle-alerts-retry-0 .. -2 with growing delays ({@code app.retry}), each consumed by its own
+ * listener that waits until the event is due, and finally to vehicle-alerts-dlt.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AlertConsumer {
 
     private final AlertService alertService;
+    private final AlertRetryMetrics metrics;
 
+    @RetryableTopic(
+            attempts = "${app.retry.attempts:4}",
+            backoff = @Backoff(delayExpression = "${app.retry.delay:5000}", multiplierExpression = "${app.retry.multiplier:6}"),
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            kafkaTemplate = "alertRetryKafkaTemplate"
+    )
     @KafkaListener(topics = "vehicle-alerts", groupId = "notification-service-group")
-    public void consumeAlert(AlertEvent alertEvent) {
-        log.info("Received alert event: {} for vehicle {}",
-                alertEvent.getAlertType(), alertEvent.getVehicleId());
+    public void consumeAlert(
+            @Payload AlertEvent alertEvent,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            @Header(name = RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS, required = false) byte[] attempts
+    ) {
+        log.info("Received alert event: {} for vehicle {} from {}",
+                alertEvent.getAlertType(), alertEvent.getVehicleId(), topic);
 
         try {
             alertService.processAlertEvent(alertEvent);
-        } catch (Exception e) {
-            log.error("Error processing alert event: {}", e.getMessage(), e);
+        } catch (RuntimeException e) {
+            log.warn("Error processing alert event from {}, retrying later: {}", topic, e.getMessage());
+            metrics.recordFailed(topic);
+            throw e;
         }
+        // The attempts header is absent on the main topic and counts the first delivery as attempt 1
+        metrics.recordProcessed(attempts == null ? 0 : new BigInteger(attempts).intValue() - 1);
+    }
+
+    @DltHandler
+    public void consumeDeadLetter(@Payload AlertEvent alertEvent, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        log.error("Giving up on alert event {} for vehicle {}, parked in {}",
+                alertEvent.getAlertType(), alertEvent.getVehicleId(), topic);
+        metrics.recordDeadLetter();
     }
 }
@@ -0,0 +1,46 @@
+package de.denizaltun.notificationservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters of the alert retry topics.
+ * notification.alerts.failed counts failed attempts per topic, each of which moves the alert on to the
+ * next retry topic or the dead-letter topic; notification.retry.depth is the number of retries an
+ * alert needed until it was stored.
+ */
+@Component
+public class AlertRetryMetrics {
+
+    private final MeterRegistry registry;
+    private final DistributionSummary retryDepth;
+    private final Counter deadLetters;
+
+    public AlertRetryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.retryDepth = DistributionSummary.builder("notification.retry.depth")
+                .description("Retries an alert event needed until it was stored")
+                .register(registry);
+        this.deadLetters = Counter.builder("notification.alerts.dead.letters")
+                .description("Alert events that failed every retry and went to the dead-letter topic")
+                .register(registry);
+    }
+
+    public void recordFailed(String topic) {
+        Counter.builder("notification.alerts.failed")
+                .description("Failed attempts to process an alert event")
+                .tag("topic", topic)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordProcessed(int retries) {
+        retryDepth.record(retries);
+    }
+
+    public void recordDeadLetter() {
+        deadLetters.increment();
+    }
+}
@@ -5,5 +5,11 @@ public enum AlertType {
     HIGH_ENGINE_TEMP,
     LOW_BATTERY,
     VEHICLE_IDLE_TOO_LONG,
-    EMERGENCY_STATUS_CHANGE
+    EMERGENCY_STATUS_CHANGE,
+    // Raised by the data-processor's anomaly detector against each vehicle's own baseline
+    ENGINE_TEMP_ANOMALY,
+    ENGINE_TEMP_RISING,
+    BATTERY_VOLTAGE_ANOMALY,
+    BATTERY_VOLTAGE_FALLING,
+    FUEL_CONSUMPTION_ANOMALY
 }
@@ -0,0 +1,70 @@
+package de.denizaltun.notificationservice.consumer;
+
+import de.denizaltun.notificationservice.dto.AlertEvent;
+import de.denizaltun.notificationservice.metrics.AlertRetryMetrics;
+import de.denizaltun.notificationservice.model.AlertType;
+import de.denizaltun.notificationservice.service.AlertService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlertConsumer Unit Tests")
+class AlertConsumerTest {
+
+    @Mock
+    private AlertService alertService;
+
+    @Mock
+    private AlertRetryMetrics metrics;
+
+    @InjectMocks
+    private AlertConsumer consumer;
+
+    private final AlertEvent event = AlertEvent.builder()
+            .vehicleId("AMBULANCE_001")
+            .alertType(AlertType.LOW_FUEL)
+            .build();
+
+    @Test
+    @DisplayName("Should rethrow a failure so the event moves on to the next retry topic")
+    void shouldRethrowFailure() {
+        when(alertService.processAlertEvent(event)).thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThatThrownBy(() -> consumer.consumeAlert(event, "vehicle-alerts", null))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(metrics).recordFailed("vehicle-alerts");
+        verify(metrics, never()).recordProcessed(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should record no retries for an event stored on first delivery")
+    void shouldRecordFirstDelivery() {
+        consumer.consumeAlert(event, "vehicle-alerts", null);
+
+        verify(alertService).processAlertEvent(event);
+        verify(metrics).recordProcessed(0);
+    }
+
+    @Test
+    @DisplayName("Should record the retry depth from the attempts header")
+    void shouldRecordRetryDepth() {
+        byte[] attempts = ByteBuffer.allocate(Integer.BYTES).putInt(3).array();
+
+        consumer.consumeAlert(event, "vehicle-alerts-retry-1", attempts);
+
+        verify(metrics).recordProcessed(2);
+    }
+}
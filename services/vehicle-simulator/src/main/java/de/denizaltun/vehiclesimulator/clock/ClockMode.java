@@ -0,0 +1,10 @@
+package de.denizaltun.vehiclesimulator.clock;
+
+/**
+ * How simulated time relates to wall-clock time.
+ */
+public enum ClockMode {
+    REALTIME,   // simulated time is wall-clock time
+    SCALED,     // simulated time runs app.clock.factor times faster than wall-clock time
+    FASTEST     // shards advance in lock-step, one tick as soon as every shard finished the previous one
+}
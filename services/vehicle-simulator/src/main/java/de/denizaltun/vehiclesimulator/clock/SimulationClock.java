@@ -0,0 +1,108 @@
+package de.denizaltun.vehiclesimulator.clock;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.Phaser;
+
+/**
+ * Source of simulated time for the whole fleet, in epoch millis.
+ * <p>
+ * Publish deadlines, telemetry timestamps and therefore state transitions and refuelling
+ * (which happen once per published update) all follow this clock, so a month of history
+ * can be produced in minutes. In FASTEST mode the shards advance together through a
+ * {@link Phaser}: a tick starts when every shard finished the previous one, which makes
+ * the pipeline (bounded by the publisher's in-flight window) the only limit.
+ */
+@Slf4j
+@Component
+public class SimulationClock {
+
+    private final ClockMode mode;
+    private final double factor;
+    private final long tickMillis;
+    private final long originMillis;
+    private final long endMillis;
+    private final long wallStartMillis;
+    private final Phaser phaser = new Phaser();
+
+    public SimulationClock(SimulatorConfig config) {
+        SimulatorConfig.Clock clockConfig = config.getClock();
+        this.mode = clockConfig.getMode();
+        this.factor = mode == ClockMode.SCALED ? clockConfig.getFactor() : 1.0;
+        if (factor <= 0) {
+            throw new IllegalArgumentException("app.clock.factor must be positive: " + factor);
+        }
+        this.tickMillis = config.getScheduler().getTickMillis();
+        this.wallStartMillis = System.currentTimeMillis();
+        this.originMillis = clockConfig.getStart() != null
+                ? clockConfig.getStart().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : wallStartMillis;
+        this.endMillis = clockConfig.getDuration() != null
+                ? originMillis + clockConfig.getDuration().toMillis()
+                : Long.MAX_VALUE;
+
+        if (mode != ClockMode.REALTIME) {
+            log.info("Simulation clock {} (factor {}) starting at {}{}", mode, factor, toLocalDateTime(originMillis),
+                    endMillis == Long.MAX_VALUE ? "" : " until " + toLocalDateTime(endMillis));
+        }
+    }
+
+    /**
+     * Current simulated time in epoch millis.
+     */
+    public long now() {
+        return switch (mode) {
+            case REALTIME -> originMillis + (System.currentTimeMillis() - wallStartMillis);
+            case SCALED -> originMillis + (long) ((System.currentTimeMillis() - wallStartMillis) * factor);
+            case FASTEST -> originMillis + (long) Math.max(phaser.getPhase(), 0) * tickMillis;
+        };
+    }
+
+    /**
+     * Registers a shard that advances in lock-step (FASTEST mode).
+     */
+    public void register() {
+        phaser.register();
+    }
+
+    /**
+     * Marks the calling shard's tick as done and waits until all shards are, FASTEST mode only.
+     *
+     * @return simulated time of the next tick
+     */
+    public long awaitNextTick() throws InterruptedException {
+        int phase = phaser.awaitAdvanceInterruptibly(phaser.arrive());
+        return originMillis + (long) phase * tickMillis;
+    }
+
+    /**
+     * Removes a shard from the lock-step so the remaining shards are not held back.
+     */
+    public void deregister() {
+        phaser.arriveAndDeregister();
+    }
+
+    /**
+     * Whether the configured simulated duration has been reached.
+     */
+    public boolean isFinished(long simulatedMillis) {
+        return simulatedMillis >= endMillis;
+    }
+
+    public ClockMode getMode() {
+        return mode;
+    }
+
+    public long getOriginMillis() {
+        return originMillis;
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -3,13 +3,17 @@ package de.denizaltun.vehiclesimulator.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -19,13 +23,16 @@ import java.util.Map;
  * Kafka producer configuration for vehicle telemetry.
  * Configures JSON serialization with proper LocalDateTime handling.
  */
+@Slf4j
 @Configuration
 public class KafkaProducerConfig {
 
     private final KafkaProperties kafkaProperties;
+    private final SimulatorConfig simulatorConfig;
 
-    public KafkaProducerConfig(KafkaProperties kafkaProperties) {
+    public KafkaProducerConfig(KafkaProperties kafkaProperties, SimulatorConfig simulatorConfig) {
         this.kafkaProperties = kafkaProperties;
+        this.simulatorConfig = simulatorConfig;
     }
 
     /**
@@ -41,26 +48,70 @@ public class KafkaProducerConfig {
 
     /**
      * Configure Kafka producer factory with all properties including SASL/SSL.
+     * Native producer metrics (kafka.producer.*) are bound to the meter registry.
      */
     @Bean
-    public ProducerFactory<String, VehicleTelemetry> producerFactory() {
+    public ProducerFactory<String, VehicleTelemetry> producerFactory(MeterRegistry meterRegistry) {
         Map<String, Object> config = kafkaProperties.buildProducerProperties(null);
 
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
 
-        return new DefaultKafkaProducerFactory<>(
+        if (simulatorConfig.getPublisher().getProducerProfile() == ProducerProfile.THROUGHPUT) {
+            applyThroughputProfile(config);
+        }
+
+        DefaultKafkaProducerFactory<String, VehicleTelemetry> factory = new DefaultKafkaProducerFactory<>(
                 config,
                 new StringSerializer(),
                 new JsonSerializer<>(objectMapper())
         );
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * Trades a few milliseconds of latency for large compressed batches.
+     * Values set explicitly under spring.kafka.producer take precedence.
+     */
+    private void applyThroughputProfile(Map<String, Object> config) {
+        config.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, 20);
+        config.putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG, 256 * 1024);
+        config.putIfAbsent(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        config.putIfAbsent(ProducerConfig.BUFFER_MEMORY_CONFIG, 128L * 1024 * 1024);
+        // Idempotence keeps per-partition ordering with several requests in flight after retries
+        config.putIfAbsent(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.putIfAbsent(ProducerConfig.ACKS_CONFIG, "all");
+        config.putIfAbsent(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+
+        log.info("Using throughput producer profile: linger.ms={}, batch.size={}, compression.type={}",
+                config.get(ProducerConfig.LINGER_MS_CONFIG),
+                config.get(ProducerConfig.BATCH_SIZE_CONFIG),
+                config.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
     }
 
     /**
      * Configure KafkaTemplate with custom producer factory.
      */
     @Bean
-    public KafkaTemplate<String, VehicleTelemetry> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, VehicleTelemetry> kafkaTemplate(ProducerFactory<String, VehicleTelemetry> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * Producer for pre-encoded payloads, used by fault injection to send records
+     * the JSON serializer cannot produce (null primitives, undecodable bytes).
+     * Same connection and tuning settings as the telemetry producer.
+     */
+    @Bean
+    public KafkaTemplate<String, byte[]> rawKafkaTemplate(MeterRegistry meterRegistry) {
+        Map<String, Object> config = kafkaProperties.buildProducerProperties(null);
+        if (simulatorConfig.getPublisher().getProducerProfile() == ProducerProfile.THROUGHPUT) {
+            applyThroughputProfile(config);
+        }
+        DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(
+                config, new StringSerializer(), new ByteArraySerializer());
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return new KafkaTemplate<>(factory);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package de.denizaltun.vehiclesimulator.config;
+
+/**
+ * Producer tuning presets applied in {@link KafkaProducerConfig}.
+ */
+public enum ProducerProfile {
+    DEFAULT,        // Kafka client defaults, low latency per message
+    THROUGHPUT      // batching, compression and idempotence to saturate a broker
+}
@@ -0,0 +1,9 @@
+package de.denizaltun.vehiclesimulator.config;
+
+/**
+ * How the simulator waits for Kafka acknowledgements.
+ */
+public enum PublishMode {
+    SYNC,       // block until each record is acknowledged
+    ASYNC       // bounded number of records in flight, acknowledged via callbacks
+}
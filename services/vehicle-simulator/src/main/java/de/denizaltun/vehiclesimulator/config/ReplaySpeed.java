@@ -0,0 +1,10 @@
+package de.denizaltun.vehiclesimulator.config;
+
+/**
+ * Pacing of a telemetry replay.
+ */
+public enum ReplaySpeed {
+    ORIGINAL,   // keep the recorded gaps between timestamps
+    SCALED,     // recorded gaps divided by app.replay.factor
+    MAX         // as fast as the publisher accepts records
+}
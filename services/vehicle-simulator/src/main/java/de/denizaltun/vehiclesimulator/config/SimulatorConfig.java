@@ -1,24 +1,178 @@
 package de.denizaltun.vehiclesimulator.config;
 
+import de.denizaltun.vehiclesimulator.clock.ClockMode;
+import de.denizaltun.vehiclesimulator.coordination.CoordinationMode;
+import de.denizaltun.vehiclesimulator.dataset.DatasetFormat;
+import de.denizaltun.vehiclesimulator.load.LoadProfileType;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import de.denizaltun.vehiclesimulator.movement.MovementMode;
+import de.denizaltun.vehiclesimulator.scenario.ScenarioType;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "app")
 public class SimulatorConfig {
 
+    private SimulatorMode mode = SimulatorMode.SIMULATE;
     private Vehicles vehicles = new Vehicles();
     private Telemetry telemetry = new Telemetry();
+    private Scheduler scheduler = new Scheduler();
+    private Simulation simulation = new Simulation();
+    private Load load = new Load();
+    private Publisher publisher = new Publisher();
+    private Clock clock = new Clock();
+    private Dataset dataset = new Dataset();
+    private Replay replay = new Replay();
+    private Capture capture = new Capture();
+    private Faults faults = new Faults();
+    private Instance instance = new Instance();
+    private Movement movement = new Movement();
+    private Scenario scenario = new Scenario();
 
     @Data
     public static class Vehicles {
-        private int count = 5;      // default value
+        private int count = 5;      // default value, per simulator instance
     }
 
     @Data
     public static class Telemetry {
         private int intervalSeconds = 3;        // default value
+        private long intervalMillis = 0;        // sub-second intervals, overrides intervalSeconds when > 0
+        private int signals = 0;                // wide mode: extra numeric sensor channels per reading
+
+        public long getEffectiveIntervalMillis() {
+            return intervalMillis > 0 ? intervalMillis : intervalSeconds * 1000L;
+        }
+    }
+
+    @Data
+    public static class Scheduler {
+        private long tickMillis = 100;          // timing wheel resolution, bounds publish jitter
+        private int wheelSize = 1024;           // slots per revolution, must be a power of two
+    }
+
+    @Data
+    public static class Simulation {
+        private int shards = 0;                 // worker threads, 0 = one per available core
+        private Long seed;                      // fixed seed for reproducible runs, random if unset
+    }
+
+    @Data
+    public static class Load {
+        private LoadProfileType profile = LoadProfileType.NONE;    // NONE = each vehicle publishes once per interval
+        private double rate = 100;                      // msg/s: constant/soak rate, ramp end rate, burst base rate
+        private double startRate = 0;                   // msg/s at the start of a ramp
+        private Duration duration = Duration.ofMinutes(10);     // ramp length, or total soak length including warmup
+        private double burstRate = 1000;                // msg/s while a burst is active
+        private Duration burstEvery = Duration.ofMinutes(1);
+        private Duration burstLength = Duration.ofSeconds(5);
+        private List<Double> stepRates = new ArrayList<>();    // msg/s per step, last step is held
+        private Duration stepLength = Duration.ofMinutes(1);
+        private Duration warmup = Duration.ofMinutes(5);        // linear ramp to the soak rate
+    }
+
+    @Data
+    public static class Publisher {
+        private PublishMode mode = PublishMode.ASYNC;
+        private int maxInFlight = 10_000;       // unacknowledged records before shards block, paced records are shed
+        private ProducerProfile producerProfile = ProducerProfile.DEFAULT;
+        private Envelope envelope = new Envelope();
+    }
+
+    @Data
+    public static class Envelope {
+        private boolean enabled = false;        // pack many readings into one record per key bucket
+        private int maxReadings = 100;          // readings per envelope before it is sent early
+        private int buckets = 64;               // key buckets per shard, spread envelopes over partitions
+    }
+
+    @Data
+    public static class Clock {
+        private ClockMode mode = ClockMode.REALTIME;
+        private double factor = 60;             // SCALED: simulated seconds per wall-clock second
+        private LocalDateTime start;            // simulated start time, now if unset
+        private Duration duration;              // simulated time after which shards stop, unbounded if unset
+    }
+
+    @Data
+    public static class Dataset {
+        private DatasetFormat format = DatasetFormat.BINARY;
+        private Path output = Path.of("data/telemetry");   // extension added from the format if missing
+        private LocalDateTime start;                        // first timestamp, now minus span if unset
+        private Duration span = Duration.ofDays(7);         // simulated time covered by the dataset
+        private long seed = 42;                             // same seed + settings = identical dataset
+    }
+
+    @Data
+    public static class Replay {
+        private Path input;                     // recorded file: .ndjson, .csv, .ewt or a topic dump
+        private DatasetFormat format;           // detected from the extension if unset
+        private ReplaySpeed speed = ReplaySpeed.ORIGINAL;
+        private double factor = 10;             // SCALED: replay this many times faster than recorded
+        private boolean rebaseTimestamps = false;   // shift timestamps so the first record is "now"
+        private int loops = 1;                  // 0 = replay until stopped
+    }
+
+    @Data
+    public static class Capture {
+        private Path output;                    // record published telemetry here, disabled if unset
+    }
+
+    @Data
+    public static class Faults {
+        private double duplicateRate = 0;       // probability per message, 0 - 1
+        private double outOfOrderRate = 0;
+        private Duration reorderWindow = Duration.ofSeconds(30);   // max backwards skew of out-of-order records
+        private double lateRate = 0;
+        private Duration lateMin = Duration.ofMinutes(5);
+        private Duration lateMax = Duration.ofHours(2);
+        private double nullFieldRate = 0;
+        private double malformedRate = 0;
+    }
+
+    @Data
+    public static class Instance {
+        private CoordinationMode coordination = CoordinationMode.CONFIG;
+        private int index = 0;                  // CONFIG: this instance, 0-based
+        private int count = 1;                  // instances in the run, vehicle IDs are strided by this
+        private Path claimFile = Path.of("data/simulator-instances");   // FILE: shared claim file
+        private Duration lease = Duration.ofSeconds(30);    // FILE: claims without heartbeat are taken over
+    }
+
+    @Data
+    public static class Movement {
+        private MovementMode mode = MovementMode.RANDOM;
+        private double blockMeters = 250;       // GRID: distance between neighbouring intersections
+        private int blocks = 20;                // GRID: road network extends this many blocks each way from the center
+        private int stations = 12;              // GRID: home stations, vehicles idle and return there
+        private int hotSpots = 5;               // GRID: incident clusters
+        private double hotSpotShare = 0.7;      // GRID: share of incidents drawn near a hot spot
+        private long seed = 7;                  // GRID: network layout, equal on all instances of a run
+    }
+
+    @Data
+    public static class Scenario {
+        private List<ScenarioStep> script = new ArrayList<>();     // steps run at their simulated offset
+    }
+
+    @Data
+    public static class ScenarioStep {
+        private ScenarioType type;
+        private Duration at = Duration.ZERO;    // simulated time after the clock start
+        private int units = 40;                 // MASS_CASUALTY: vehicles dispatched
+        private VehicleType vehicleType;        // MASS_CASUALTY: only this type, any if unset
+        private Double latitude;                // MASS_CASUALTY: incident location, city center if unset
+        private Double longitude;
+        private Duration duration = Duration.ofMinutes(30);    // STORM: simulated length
+        private double intensity = 0.2;         // STORM: share of idle vehicles dispatched per simulated minute
     }
 }
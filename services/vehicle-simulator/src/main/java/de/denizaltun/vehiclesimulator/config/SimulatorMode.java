@@ -0,0 +1,10 @@
+package de.denizaltun.vehiclesimulator.config;
+
+/**
+ * What the simulator process does, selected with {@code app.mode}.
+ */
+public enum SimulatorMode {
+    SIMULATE,   // live fleet publishing to Kafka
+    GENERATE,   // write a telemetry dataset to local files and exit
+    REPLAY      // republish a recorded telemetry file to Kafka and exit
+}
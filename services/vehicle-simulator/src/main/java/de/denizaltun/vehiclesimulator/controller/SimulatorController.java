@@ -0,0 +1,148 @@
+package de.denizaltun.vehiclesimulator.controller;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.dto.SimulatorStatus;
+import de.denizaltun.vehiclesimulator.load.LoadProfileType;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import de.denizaltun.vehiclesimulator.scenario.ScenarioEngine;
+import de.denizaltun.vehiclesimulator.service.VehicleSimulatorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * REST API for controlling a running simulation without a restart.
+ * Changes are handed to the shard threads and take effect within one scheduler tick,
+ * so mutating endpoints answer 202 Accepted.
+ */
+@RestController
+@RequestMapping("/api/simulator")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.mode", havingValue = "simulate", matchIfMissing = true)
+@Tag(name = "Simulator", description = "Runtime control of the simulated fleet")
+public class SimulatorController {
+
+    private final VehicleSimulatorService simulatorService;
+    private final ScenarioEngine scenarioEngine;
+
+    @Operation(summary = "Get simulator status", description = "Returns fleet size, intervals, pause state and load profile rates")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved status")
+    @GetMapping("/status")
+    public ResponseEntity<SimulatorStatus> getStatus() {
+        return ResponseEntity.ok(simulatorService.getStatus());
+    }
+
+    @Operation(summary = "Add vehicles", description = "Adds vehicles of one type, or of all types in turn if no type is given")
+    @ApiResponse(responseCode = "202", description = "Vehicles will be added with the next tick")
+    @ApiResponse(responseCode = "400", description = "Count is not positive")
+    @PostMapping("/vehicles")
+    public ResponseEntity<SimulatorStatus> addVehicles(
+            @Parameter(description = "Number of vehicles to add", example = "100")
+            @RequestParam int count,
+            @Parameter(description = "Vehicle type, all types in turn if omitted")
+            @RequestParam(required = false) VehicleType type) {
+        if (count <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        simulatorService.addVehicles(type, count);
+        return ResponseEntity.accepted().body(simulatorService.getStatus());
+    }
+
+    @Operation(summary = "Remove vehicles", description = "Removes up to count vehicles, most recently added first")
+    @ApiResponse(responseCode = "202", description = "Vehicles will be removed with the next tick")
+    @ApiResponse(responseCode = "400", description = "Count is not positive")
+    @DeleteMapping("/vehicles")
+    public ResponseEntity<SimulatorStatus> removeVehicles(
+            @Parameter(description = "Maximum number of vehicles to remove", example = "100")
+            @RequestParam int count,
+            @Parameter(description = "Vehicle type, any type if omitted")
+            @RequestParam(required = false) VehicleType type) {
+        if (count <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        simulatorService.removeVehicles(type, count);
+        return ResponseEntity.accepted().body(simulatorService.getStatus());
+    }
+
+    @Operation(summary = "Change publish interval", description = "Sets the publish interval for one vehicle type")
+    @ApiResponse(responseCode = "202", description = "Interval will be applied with the next tick")
+    @ApiResponse(responseCode = "400", description = "Interval is not positive")
+    @PutMapping("/intervals/{type}")
+    public ResponseEntity<SimulatorStatus> setInterval(
+            @Parameter(description = "Vehicle type", example = "POLICE")
+            @PathVariable VehicleType type,
+            @Parameter(description = "Publish interval in milliseconds", example = "500")
+            @RequestParam long millis) {
+        if (millis <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        simulatorService.setInterval(type, Duration.ofMillis(millis));
+        return ResponseEntity.accepted().body(simulatorService.getStatus());
+    }
+
+    @Operation(summary = "Pause publishing", description = "Vehicles keep their cadence but nothing is published")
+    @PostMapping("/pause")
+    public ResponseEntity<SimulatorStatus> pause() {
+        simulatorService.pause();
+        return ResponseEntity.accepted().body(simulatorService.getStatus());
+    }
+
+    @Operation(summary = "Resume publishing")
+    @PostMapping("/resume")
+    public ResponseEntity<SimulatorStatus> resume() {
+        simulatorService.resume();
+        return ResponseEntity.accepted().body(simulatorService.getStatus());
+    }
+
+    @Operation(summary = "Switch load profile",
+            description = "Starts an open-loop load profile; same fields as app.load, profile NONE stops pacing")
+    @ApiResponse(responseCode = "202", description = "Profile started")
+    @ApiResponse(responseCode = "400", description = "Invalid profile parameters")
+    @PutMapping("/load")
+    public ResponseEntity<SimulatorStatus> switchLoadProfile(@RequestBody SimulatorConfig.Load profile) {
+        try {
+            simulatorService.switchLoadProfile(profile);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.accepted().body(simulatorService.getStatus());
+    }
+
+    @Operation(summary = "Stop load profile", description = "Vehicles go back to publishing at their own intervals")
+    @DeleteMapping("/load")
+    public ResponseEntity<SimulatorStatus> stopLoadProfile() {
+        SimulatorConfig.Load none = new SimulatorConfig.Load();
+        none.setProfile(LoadProfileType.NONE);
+        simulatorService.switchLoadProfile(none);
+        return ResponseEntity.accepted().body(simulatorService.getStatus());
+    }
+
+    @Operation(summary = "Trigger scenario",
+            description = "Runs a correlated fleet-wide event now; same fields as an app.scenario.script step, 'at' is ignored")
+    @ApiResponse(responseCode = "202", description = "Scenario will be applied with the next tick")
+    @ApiResponse(responseCode = "400", description = "Missing type or invalid parameters")
+    @PostMapping("/scenarios")
+    public ResponseEntity<SimulatorStatus> triggerScenario(@RequestBody SimulatorConfig.ScenarioStep step) {
+        try {
+            scenarioEngine.trigger(step);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.accepted().body(simulatorService.getStatus());
+    }
+}
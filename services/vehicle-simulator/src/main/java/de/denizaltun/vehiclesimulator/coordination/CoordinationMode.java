@@ -0,0 +1,9 @@
+package de.denizaltun.vehiclesimulator.coordination;
+
+/**
+ * How a simulator instance learns its index within a multi-instance run.
+ */
+public enum CoordinationMode {
+    CONFIG,     // app.instance.index / app.instance.count, assigned by the deployment
+    FILE        // first free slot claimed in a shared, lock-protected claim file
+}
@@ -0,0 +1,220 @@
+package de.denizaltun.vehiclesimulator.coordination;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Gives this simulator instance its index within a multi-instance run and partitions
+ * vehicle numbers so instances never generate the same vehicle ID.
+ * <p>
+ * Instance {@code i} of {@code n} owns vehicle numbers {@code i+1, i+1+n, i+1+2n, ...}. Striding
+ * (rather than contiguous blocks) keeps every instance's fleet type-balanced and lets each instance
+ * grow at runtime without an upper bound.
+ * <p>
+ * In FILE mode the index is claimed in a shared claim file as a local stand-in for a coordination
+ * service: one line {@code index,owner,heartbeatMillis} per live instance, rewritten under an
+ * exclusive file lock. Claims whose heartbeat is older than the lease belong to crashed instances
+ * and are taken over. An instance that stalled past its lease may find its slot taken when it
+ * resumes: it then leaves the claim to the new owner and reports the slot as lost, and the
+ * simulator stops generating rather than publish vehicle IDs another instance now owns.
+ */
+@Slf4j
+@Component
+public class InstanceCoordinator {
+
+    private final SimulatorConfig.Instance instance;
+    private final String owner;
+    private final int index;
+    private final int count;
+    private final List<Runnable> slotLostListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean slotLost;
+
+    public InstanceCoordinator(SimulatorConfig config) {
+        this.instance = config.getInstance();
+        this.count = instance.getCount();
+        // The nonce tells apart instances that share a process, e.g. in tests
+        this.owner = ProcessHandle.current().pid() + "@" + hostName() + "#" + UUID.randomUUID().toString().substring(0, 8);
+        if (count < 1) {
+            throw new IllegalArgumentException("app.instance.count must be at least 1: " + count);
+        }
+
+        this.index = instance.getCoordination() == CoordinationMode.FILE ? claim() : instance.getIndex();
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("app.instance.index must be in [0, " + count + "): " + index);
+        }
+        if (count > 1) {
+            log.info("Simulator instance {} of {} ({}), owning vehicle numbers {} + k*{}",
+                    index, count, instance.getCoordination(), index + 1, count);
+        }
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Fleet-wide vehicle number of this instance's {@code ordinal}-th vehicle (0-based).
+     */
+    public long vehicleNumber(long ordinal) {
+        return ordinal * count + index + 1;
+    }
+
+    /**
+     * Per-instance seed, so seeded instances do not all generate the same stream.
+     */
+    public long seedFor(long seed) {
+        return seed + index * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Whether another instance took over this instance's slot; its vehicle IDs are no longer ours.
+     */
+    public boolean isSlotLost() {
+        return slotLost;
+    }
+
+    /**
+     * Runs {@code listener} on the heartbeat thread once the slot is found taken by another instance.
+     */
+    public void onSlotLost(Runnable listener) {
+        slotLostListeners.add(listener);
+    }
+
+    /**
+     * Renews this instance's claim so other instances do not treat it as crashed. A claim that
+     * now belongs to another owner is left alone: the slot is lost and is not renewed again.
+     */
+    @Scheduled(fixedRate = 10_000)
+    public void heartbeat() {
+        if (instance.getCoordination() != CoordinationMode.FILE || slotLost) {
+            return;
+        }
+        String holder = updateClaims(claims -> {
+            for (Claim claim : claims) {
+                if (claim.index() == index && !claim.owner().equals(owner)) {
+                    return claim.owner();
+                }
+            }
+            claims.removeIf(claim -> claim.index() == index);
+            claims.add(new Claim(index, owner, System.currentTimeMillis()));
+            return null;
+        });
+        if (holder != null) {
+            slotLost = true;
+            log.error("Simulator instance slot {} was taken over by {} after this instance missed its lease; "
+                    + "stopping generation to avoid duplicate vehicle IDs", index, holder);
+            slotLostListeners.forEach(Runnable::run);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (instance.getCoordination() == CoordinationMode.FILE) {
+            updateClaims(claims -> {
+                claims.removeIf(claim -> claim.index() == index && claim.owner().equals(owner));
+                return null;
+            });
+            log.info("Released simulator instance slot {}", index);
+        }
+    }
+
+    private int claim() {
+        Integer claimed = updateClaims(claims -> {
+            long now = System.currentTimeMillis();
+            claims.removeIf(claim -> now - claim.heartbeatMillis() > instance.getLease().toMillis());
+            for (int candidate = 0; candidate < count; candidate++) {
+                int slot = candidate;
+                if (claims.stream().noneMatch(claim -> claim.index() == slot)) {
+                    claims.add(new Claim(slot, owner, now));
+                    return slot;
+                }
+            }
+            return null;
+        });
+        if (claimed == null) {
+            throw new IllegalStateException("All " + count + " simulator instance slots in "
+                    + instance.getClaimFile() + " are taken");
+        }
+        return claimed;
+    }
+
+    /**
+     * Reads, modifies and rewrites the claim file while holding an exclusive lock on it.
+     */
+    private <T> T updateClaims(Function<List<Claim>, T> update) {
+        Path file = instance.getClaimFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+
+                String content = new String(Channels.newInputStream(channel).readAllBytes(), StandardCharsets.UTF_8);
+                List<Claim> claims = new ArrayList<>();
+                for (String line : content.split("\n")) {
+                    if (!line.isBlank()) {
+                        claims.add(Claim.parse(line));
+                    }
+                }
+
+                T result = update.apply(claims);
+
+                StringBuilder out = new StringBuilder();
+                claims.forEach(claim -> out.append(claim.format()).append('\n'));
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(out.toString().getBytes(StandardCharsets.UTF_8)), 0);
+                channel.force(false);
+                return result;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update simulator claim file " + file, e);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+
+    private record Claim(int index, String owner, long heartbeatMillis) {
+
+        static Claim parse(String line) {
+            String[] parts = line.trim().split(",");
+            return new Claim(Integer.parseInt(parts[0]), parts[1], Long.parseLong(parts[2]));
+        }
+
+        String format() {
+            return index + "," + owner + "," + heartbeatMillis;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+import de.denizaltun.vehiclesimulator.model.VehicleStatus;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Reads the record layout documented on {@link BinaryTelemetryWriter} through a buffered {@link FileChannel}.
+ */
+public class BinaryTelemetryReader implements TelemetryReader {
+
+    private static final int BUFFER_SIZE = 4 * 1024 * 1024;
+    private static final VehicleStatus[] STATUSES = VehicleStatus.values();
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] idBytes = new byte[Short.MAX_VALUE];
+
+    public BinaryTelemetryReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer.limit(0);
+        if (!fill(6) || buffer.getInt() != BinaryTelemetryWriter.MAGIC) {
+            channel.close();
+            throw new IOException("Not a binary telemetry file: " + path);
+        }
+        short version = buffer.getShort();
+        if (version != BinaryTelemetryWriter.VERSION) {
+            channel.close();
+            throw new IOException("Unsupported binary telemetry version " + version + " in " + path);
+        }
+    }
+
+    @Override
+    public VehicleTelemetry next() throws IOException {
+        if (!fill(2)) {
+            return null;
+        }
+        int idLength = buffer.getShort();
+        if (!fill(idLength + 8 + 1 + 1 + 2 * 8 + 4 * 4 + 1)) {
+            throw new EOFException("Truncated binary telemetry record");
+        }
+        buffer.get(idBytes, 0, idLength);
+
+        return VehicleTelemetry.builder()
+                .vehicleId(new String(idBytes, 0, idLength, StandardCharsets.UTF_8))
+                .timeStamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneOffset.UTC))
+                .vehicleStatus(STATUSES[buffer.get()])
+                .vehicleType(TYPES[buffer.get()])
+                .latitude(buffer.getDouble())
+                .longitude(buffer.getDouble())
+                .speed(buffer.getFloat())
+                .engineTemp(buffer.getFloat())
+                .fuelLevel(buffer.getFloat())
+                .batteryVoltage(buffer.getFloat())
+                .emergencyLightsActive(buffer.get() != 0)
+                .build();
+    }
+
+    /**
+     * Ensures at least {@code bytes} bytes are buffered, reading more from the channel as needed.
+     *
+     * @return false if the file ended cleanly before any of the bytes were available
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        if (buffer.hasRemaining()) {
+            throw new EOFException("Truncated binary telemetry record");
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,63 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+import de.denizaltun.vehiclesimulator.model.VehicleStatus;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Reads rows in the column order written by {@link CsvTelemetryWriter}.
+ */
+public class CsvTelemetryReader implements TelemetryReader {
+
+    private final BufferedReader reader;
+
+    public CsvTelemetryReader(Path path) throws IOException {
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        String header = reader.readLine();
+        if (header != null && !header.equals(CsvTelemetryWriter.HEADER)) {
+            reader.close();
+            throw new IOException("Unexpected CSV header in " + path + ": " + header);
+        }
+    }
+
+    @Override
+    public VehicleTelemetry next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        String[] columns = line.split(",", -1);
+        if (columns.length != 11) {
+            throw new IOException("Expected 11 columns but got " + columns.length + ": " + line);
+        }
+        return VehicleTelemetry.builder()
+                .vehicleId(columns[0])
+                .timeStamp(LocalDateTime.parse(columns[1]))
+                .vehicleStatus(VehicleStatus.valueOf(columns[2]))
+                .vehicleType(VehicleType.valueOf(columns[3]))
+                .latitude(Double.parseDouble(columns[4]))
+                .longitude(Double.parseDouble(columns[5]))
+                .speed(Double.parseDouble(columns[6]))
+                .engineTemp(Double.parseDouble(columns[7]))
+                .fuelLevel(Double.parseDouble(columns[8]))
+                .batteryVoltage(Double.parseDouble(columns[9]))
+                .emergencyLightsActive(Boolean.parseBoolean(columns[10]))
+                .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,43 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Comma-separated rows with a header, column order matching {@link VehicleTelemetry}.
+ */
+public class CsvTelemetryWriter extends TelemetryWriter {
+
+    static final String HEADER = "vehicleId,timeStamp,vehicleStatus,vehicleType,latitude,longitude,"
+            + "speed,engineTemp,fuelLevel,batteryVoltage,emergencyLightsActive";
+
+    // Reused per record to avoid allocating a builder per row
+    private final StringBuilder line = new StringBuilder(160);
+
+    public CsvTelemetryWriter(Path path) throws IOException {
+        super(path);
+        put((HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void encode(VehicleTelemetry telemetry) throws IOException {
+        line.setLength(0);
+        line.append(telemetry.vehicleId()).append(',');
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(telemetry.timeStamp(), line);
+        line.append(',').append(telemetry.vehicleStatus())
+                .append(',').append(telemetry.vehicleType())
+                .append(',').append(telemetry.latitude())
+                .append(',').append(telemetry.longitude())
+                .append(',').append(telemetry.speed())
+                .append(',').append(telemetry.engineTemp())
+                .append(',').append(telemetry.fuelLevel())
+                .append(',').append(telemetry.batteryVoltage())
+                .append(',').append(telemetry.emergencyLightsActive())
+                .append('\n');
+        put(line.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+}
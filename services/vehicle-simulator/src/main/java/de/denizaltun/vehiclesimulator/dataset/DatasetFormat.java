@@ -0,0 +1,20 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+/**
+ * On-disk telemetry dataset formats.
+ */
+public enum DatasetFormat {
+    NDJSON(".ndjson"),      // one JSON document per line, same shape as the Kafka payload
+    CSV(".csv"),            // header line plus one row per record
+    BINARY(".ewt");         // length-prefixed binary records, see BinaryTelemetryWriter
+
+    private final String extension;
+
+    DatasetFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,113 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.coordination.InstanceCoordinator;
+import de.denizaltun.vehiclesimulator.model.VehicleIds;
+import de.denizaltun.vehiclesimulator.model.VehicleState;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import de.denizaltun.vehiclesimulator.service.TelemetryGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a telemetry dataset to a local file instead of publishing to Kafka ({@code app.mode=generate}).
+ * <p>
+ * Reuses {@link TelemetryGenerator} and {@link VehicleState}, so rows look exactly like live
+ * telemetry. Publish times are staggered over the interval as in the live simulator, and rows
+ * are produced in timestamp order. A fixed seed makes the dataset reproducible.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.mode", havingValue = "generate")
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final long PROGRESS_EVERY = 10_000_000;
+
+    private final SimulatorConfig config;
+    private final TelemetryGenerator generator;
+    private final ObjectMapper objectMapper;
+    private final InstanceCoordinator coordinator;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        generate();
+        // Nothing else to do in this mode - stop instead of idling on the scheduler threads
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    /**
+     * Generates the configured dataset.
+     *
+     * @return number of records written
+     */
+    public long generate() throws IOException {
+        SimulatorConfig.Dataset dataset = config.getDataset();
+        Path path = resolvePath(dataset);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        int vehicleCount = config.getVehicles().getCount();
+        long intervalMillis = config.getTelemetry().getEffectiveIntervalMillis();
+        LocalDateTime start = dataset.getStart() != null ? dataset.getStart() : LocalDateTime.now().minus(dataset.getSpan());
+        long startMillis = start.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long rounds = dataset.getSpan().toMillis() / intervalMillis;
+
+        // Several instances can each write a disjoint part of one dataset
+        SplittableRandom random = new SplittableRandom(coordinator.seedFor(dataset.getSeed()));
+        VehicleState[] vehicles = new VehicleState[vehicleCount];
+        long[] offsets = new long[vehicleCount];
+        for (int i = 0; i < vehicleCount; i++) {
+            long number = coordinator.vehicleNumber(i);
+            VehicleType type = VehicleIds.typeOf(number);
+            offsets[i] = (intervalMillis * i) / vehicleCount;
+            vehicles[i] = new VehicleState(VehicleIds.format(type, number), type, startMillis, random);
+        }
+
+        log.info("Generating {} records ({} vehicles x {} intervals of {} ms from {}) into {} as {}",
+                rounds * vehicleCount, vehicleCount, rounds, intervalMillis, start, path, dataset.getFormat());
+
+        long began = System.nanoTime();
+        long written;
+        try (TelemetryWriter writer = TelemetryWriter.open(dataset.getFormat(), path, objectMapper)) {
+            for (long round = 0; round < rounds; round++) {
+                long roundStart = startMillis + round * intervalMillis;
+                for (int i = 0; i < vehicleCount; i++) {
+                    writer.write(generator.generate(vehicles[i], random, roundStart + offsets[i]));
+                    if (writer.getRecords() % PROGRESS_EVERY == 0) {
+                        log.info("... {} records", writer.getRecords());
+                    }
+                }
+            }
+            written = writer.getRecords();
+        }
+
+        double seconds = (System.nanoTime() - began) / 1e9;
+        log.info("Wrote {} records to {} in {} s ({} records/s, {} MiB)",
+                written, path, String.format("%.1f", seconds), Math.round(written / Math.max(seconds, 1e-3)),
+                Files.size(path) / (1024 * 1024));
+        return written;
+    }
+
+    private Path resolvePath(SimulatorConfig.Dataset dataset) {
+        Path output = dataset.getOutput();
+        String name = output.getFileName().toString();
+        return name.contains(".") ? output : output.resolveSibling(name + dataset.getFormat().getExtension());
+    }
+}
@@ -0,0 +1,40 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads one JSON document per line, skipping blank lines.
+ */
+public class NdjsonTelemetryReader implements TelemetryReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonTelemetryReader(Path path, ObjectMapper objectMapper) throws IOException {
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public VehicleTelemetry next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                return objectMapper.readValue(line, VehicleTelemetry.class);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,29 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * One JSON document per line, serialized with the same ObjectMapper as the Kafka payload.
+ */
+public class NdjsonTelemetryWriter extends TelemetryWriter {
+
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectMapper objectMapper;
+
+    public NdjsonTelemetryWriter(Path path, ObjectMapper objectMapper) throws IOException {
+        super(path);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void encode(VehicleTelemetry telemetry) throws IOException {
+        put(objectMapper.writeValueAsBytes(telemetry));
+        ensure(1);
+        buffer.put(NEWLINE);
+    }
+}
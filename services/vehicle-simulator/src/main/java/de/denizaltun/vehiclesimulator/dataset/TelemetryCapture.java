@@ -0,0 +1,60 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Records every published telemetry message to a file for later replay ({@code app.capture.output}).
+ * <p>
+ * Shared by all shards, so writes are serialized; capture is meant for recording a run,
+ * not for maximum-throughput benchmarks.
+ */
+@Slf4j
+@Component
+public class TelemetryCapture {
+
+    private final TelemetryWriter writer;
+
+    public TelemetryCapture(SimulatorConfig config, ObjectMapper objectMapper) throws IOException {
+        Path output = config.getCapture().getOutput();
+        if (output == null) {
+            this.writer = null;
+            return;
+        }
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        DatasetFormat format = TelemetryReader.detectFormat(output);
+        this.writer = TelemetryWriter.open(format, output, objectMapper);
+        log.info("Capturing published telemetry to {} ({})", output, format);
+    }
+
+    public boolean isEnabled() {
+        return writer != null;
+    }
+
+    public synchronized void record(VehicleTelemetry telemetry) {
+        try {
+            writer.write(telemetry);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to capture telemetry for vehicle " + telemetry.vehicleId(), e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            log.info("Captured {} telemetry records", writer.getRecords());
+        }
+    }
+}
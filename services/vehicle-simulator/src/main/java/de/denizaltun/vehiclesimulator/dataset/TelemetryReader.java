@@ -0,0 +1,41 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Reads telemetry records back from a file written by a {@link TelemetryWriter}
+ * (or an NDJSON dump of the {@code vehicle-telemetry} topic). Not thread-safe.
+ */
+public interface TelemetryReader extends Closeable {
+
+    /**
+     * @return the next record in file order, or {@code null} at the end of the file
+     */
+    VehicleTelemetry next() throws IOException;
+
+    static TelemetryReader open(DatasetFormat format, Path path, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonTelemetryReader(path, objectMapper);
+            case CSV -> new CsvTelemetryReader(path);
+            case BINARY -> new BinaryTelemetryReader(path);
+        };
+    }
+
+    /**
+     * Format from the file extension, NDJSON for anything unknown (e.g. a console consumer dump).
+     */
+    static DatasetFormat detectFormat(Path path) {
+        String name = path.getFileName().toString();
+        for (DatasetFormat format : DatasetFormat.values()) {
+            if (name.endsWith(format.getExtension())) {
+                return format;
+            }
+        }
+        return DatasetFormat.NDJSON;
+    }
+}
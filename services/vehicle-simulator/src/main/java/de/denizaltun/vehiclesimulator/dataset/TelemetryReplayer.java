@@ -0,0 +1,109 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.vehiclesimulator.config.ReplaySpeed;
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import de.denizaltun.vehiclesimulator.service.KafkaPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Republishes a recorded telemetry file to {@code vehicle-telemetry} through {@link KafkaPublisher}
+ * ({@code app.mode=replay}).
+ * <p>
+ * Records are sent from a single thread in file order and keyed by vehicleId like live telemetry,
+ * so every vehicle's records reach the same partition in their recorded order; the publisher's
+ * bounded in-flight window keeps that order with an idempotent producer (the Kafka default).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.mode", havingValue = "replay")
+public class TelemetryReplayer implements ApplicationRunner {
+
+    private final SimulatorConfig config;
+    private final KafkaPublisher publisher;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        SimulatorConfig.Replay replay = config.getReplay();
+        int loops = replay.getLoops();
+        for (int loop = 0; loops <= 0 || loop < loops; loop++) {
+            replay(replay.getInput());
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    /**
+     * Replays the file once.
+     *
+     * @return number of records published
+     */
+    public long replay(Path input) throws IOException {
+        SimulatorConfig.Replay replay = config.getReplay();
+        DatasetFormat format = replay.getFormat() != null ? replay.getFormat() : TelemetryReader.detectFormat(input);
+        double factor = switch (replay.getSpeed()) {
+            case ORIGINAL -> 1.0;
+            case SCALED -> replay.getFactor();
+            case MAX -> 0.0;
+        };
+        log.info("Replaying {} ({}) at {} speed{}", input, format, replay.getSpeed(),
+                replay.getSpeed() == ReplaySpeed.SCALED ? " x" + factor : "");
+
+        long published = 0;
+        long wallStartNanos = System.nanoTime();
+        long firstRecordMillis = Long.MIN_VALUE;
+        Duration shift = Duration.ZERO;
+
+        try (TelemetryReader reader = TelemetryReader.open(format, input, objectMapper)) {
+            VehicleTelemetry telemetry;
+            while ((telemetry = reader.next()) != null) {
+                long recordMillis = telemetry.timeStamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+                if (firstRecordMillis == Long.MIN_VALUE) {
+                    firstRecordMillis = recordMillis;
+                    if (replay.isRebaseTimestamps()) {
+                        shift = Duration.between(telemetry.timeStamp(), LocalDateTime.now());
+                    }
+                }
+
+                if (factor > 0) {
+                    long dueNanos = wallStartNanos + (long) ((recordMillis - firstRecordMillis) * 1_000_000L / factor);
+                    long waitNanos = dueNanos - System.nanoTime();
+                    if (waitNanos > 0) {
+                        LockSupport.parkNanos(waitNanos);
+                    }
+                }
+
+                publisher.publish(shift.isZero() ? telemetry : rebase(telemetry, shift));
+                published++;
+            }
+        }
+
+        double seconds = (System.nanoTime() - wallStartNanos) / 1e9;
+        log.info("Replayed {} records in {} s ({} records/s)",
+                published, String.format("%.1f", seconds), Math.round(published / Math.max(seconds, 1e-3)));
+        return published;
+    }
+
+    private VehicleTelemetry rebase(VehicleTelemetry telemetry, Duration shift) {
+        return telemetry.toBuilder()
+                .timeStamp(telemetry.timeStamp().plus(shift))
+                .build();
+    }
+}
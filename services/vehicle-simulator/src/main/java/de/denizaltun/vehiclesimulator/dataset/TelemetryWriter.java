@@ -0,0 +1,93 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams telemetry records into a file through a {@link FileChannel}.
+ * <p>
+ * Records are encoded into one large direct buffer that is written to the channel only
+ * when full, so the cost per record is the encoding itself and large sequential writes.
+ * Not thread-safe.
+ */
+public abstract class TelemetryWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 4 * 1024 * 1024;
+
+    private final FileChannel channel;
+    protected final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long records;
+
+    protected TelemetryWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Opens a writer for the given format, truncating any existing file.
+     */
+    public static TelemetryWriter open(DatasetFormat format, Path path, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonTelemetryWriter(path, objectMapper);
+            case CSV -> new CsvTelemetryWriter(path);
+            case BINARY -> new BinaryTelemetryWriter(path);
+        };
+    }
+
+    public final void write(VehicleTelemetry telemetry) throws IOException {
+        encode(telemetry);
+        records++;
+    }
+
+    /**
+     * Encodes one record into {@link #buffer}, calling {@link #ensure(int)} before each put.
+     */
+    protected abstract void encode(VehicleTelemetry telemetry) throws IOException;
+
+    /**
+     * Makes room for at least {@code bytes} bytes, flushing the buffer to the channel if needed.
+     */
+    protected void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    protected void put(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.capacity()) {
+            flush();
+            channel.write(ByteBuffer.wrap(bytes));
+            return;
+        }
+        ensure(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
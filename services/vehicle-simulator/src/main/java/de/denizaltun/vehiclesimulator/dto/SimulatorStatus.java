@@ -0,0 +1,27 @@
+package de.denizaltun.vehiclesimulator.dto;
+
+import de.denizaltun.vehiclesimulator.clock.ClockMode;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Runtime state of the simulator as reported by the control API.
+ */
+@Builder
+public record SimulatorStatus(
+        int instanceIndex,
+        int instanceCount,
+        boolean paused,
+        int shards,
+        int vehicles,
+        Map<VehicleType, Long> intervalsMillis,
+        String loadProfile,             // null when vehicles publish at their own intervals
+        double targetRate,              // msg/s over the last second, load profile only
+        double achievedRate,            // msg/s over the last second
+        ClockMode clockMode,
+        LocalDateTime simulatedTime
+) {
+}
@@ -0,0 +1,147 @@
+package de.denizaltun.vehiclesimulator.fault;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Turns clean telemetry into realistic dirty input at configurable rates ({@code app.faults}).
+ * <p>
+ * Each rate is the probability that a message gets that fault:
+ * <ul>
+ *   <li>duplicate - the record is sent twice (producer retry / redelivery)</li>
+ *   <li>out-of-order - the timestamp is moved back by up to {@code reorder-window} (clock skew)</li>
+ *   <li>late - the timestamp is minutes to hours old (buffered device, replayed backlog)</li>
+ *   <li>null-field - vehicleId, timeStamp, latitude or longitude is null in the JSON</li>
+ *   <li>malformed - the payload is not decodable as telemetry JSON at all</li>
+ * </ul>
+ * Null fields and malformed payloads cannot be expressed by the typed record, so they are
+ * encoded here and sent through the raw byte path. Counters of injected faults are logged
+ * so consumer-side dedupe and validation counts can be compared against them.
+ */
+@Slf4j
+@Component
+public class FaultInjector {
+
+    private static final String[] NULLABLE_FIELDS = {"vehicleId", "timeStamp", "latitude", "longitude"};
+
+    private final SimulatorConfig.Faults faults;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder outOfOrder = new LongAdder();
+    private final LongAdder late = new LongAdder();
+    private final LongAdder nullFields = new LongAdder();
+    private final LongAdder malformed = new LongAdder();
+
+    public FaultInjector(SimulatorConfig config, ObjectMapper objectMapper) {
+        this.faults = config.getFaults();
+        this.objectMapper = objectMapper;
+        this.enabled = faults.getDuplicateRate() > 0 || faults.getOutOfOrderRate() > 0 || faults.getLateRate() > 0
+                || faults.getNullFieldRate() > 0 || faults.getMalformedRate() > 0;
+        if (enabled) {
+            log.warn("Fault injection enabled: {}", faults);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Applies the configured faults to one message and sends the result.
+     *
+     * @param send    typed publishing path
+     * @param sendRaw pre-encoded publishing path (key, payload)
+     */
+    public void apply(VehicleTelemetry telemetry, Consumer<VehicleTelemetry> send, BiConsumer<String, byte[]> sendRaw) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        if (random.nextDouble() < faults.getMalformedRate()) {
+            malformed.increment();
+            sendRaw.accept(telemetry.vehicleId(), malformedPayload(telemetry, random));
+            return;
+        }
+        if (random.nextDouble() < faults.getNullFieldRate()) {
+            nullFields.increment();
+            sendRaw.accept(telemetry.vehicleId(), nullFieldPayload(telemetry, random));
+            return;
+        }
+
+        VehicleTelemetry outgoing = telemetry;
+        if (random.nextDouble() < faults.getLateRate()) {
+            late.increment();
+            long delayMillis = random.nextLong(faults.getLateMin().toMillis(), faults.getLateMax().toMillis() + 1);
+            outgoing = shift(telemetry, delayMillis);
+        } else if (random.nextDouble() < faults.getOutOfOrderRate()) {
+            outOfOrder.increment();
+            outgoing = shift(telemetry, random.nextLong(1, faults.getReorderWindow().toMillis() + 1));
+        }
+
+        send.accept(outgoing);
+        if (random.nextDouble() < faults.getDuplicateRate()) {
+            duplicates.increment();
+            send.accept(outgoing);
+        }
+    }
+
+    private VehicleTelemetry shift(VehicleTelemetry telemetry, long backMillis) {
+        return telemetry.toBuilder()
+                .timeStamp(telemetry.timeStamp().minusNanos(backMillis * 1_000_000L))
+                .build();
+    }
+
+    private byte[] nullFieldPayload(VehicleTelemetry telemetry, ThreadLocalRandom random) {
+        ObjectNode json = objectMapper.valueToTree(telemetry);
+        json.putNull(NULLABLE_FIELDS[random.nextInt(NULLABLE_FIELDS.length)]);
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] malformedPayload(VehicleTelemetry telemetry, ThreadLocalRandom random) {
+        return switch (random.nextInt(4)) {
+            // Valid JSON cut off mid-document
+            case 0 -> {
+                String json = objectMapper.valueToTree(telemetry).toString();
+                yield json.substring(0, json.length() / 2).getBytes(StandardCharsets.UTF_8);
+            }
+            // Wrong type for a numeric field
+            case 1 -> {
+                ObjectNode json = objectMapper.valueToTree(telemetry);
+                json.put("speed", "fast");
+                yield json.toString().getBytes(StandardCharsets.UTF_8);
+            }
+            // Not JSON at all
+            case 2 -> ("vehicle=" + telemetry.vehicleId() + ";speed=" + telemetry.speed())
+                    .getBytes(StandardCharsets.UTF_8);
+            // Random binary garbage
+            default -> {
+                byte[] garbage = new byte[random.nextInt(16, 256)];
+                random.nextBytes(garbage);
+                yield garbage;
+            }
+        };
+    }
+
+    /**
+     * Logs how many faults of each kind were injected, once per interval.
+     */
+    @Scheduled(fixedRate = 10_000)
+    public void report() {
+        if (!enabled) {
+            return;
+        }
+        log.info("Injected faults: duplicates={} outOfOrder={} late={} nullFields={} malformed={}",
+                duplicates.sum(), outOfOrder.sum(), late.sum(), nullFields.sum(), malformed.sum());
+    }
+}
@@ -0,0 +1,23 @@
+package de.denizaltun.vehiclesimulator.load;
+
+/**
+ * Target message rate curve for open-loop load tests.
+ * <p>
+ * A profile only describes how many messages per second the simulator should offer
+ * at a point in time; it never looks at how fast Kafka accepts them, so a slow broker
+ * shows up as latency and backlog instead of as a silently reduced load.
+ */
+public interface LoadProfile {
+
+    /**
+     * Fleet-wide target rate in messages per second.
+     *
+     * @param elapsedMillis time since the profile was started
+     */
+    double targetRate(long elapsedMillis);
+
+    /**
+     * Short name used in rate reports.
+     */
+    String name();
+}
@@ -0,0 +1,100 @@
+package de.denizaltun.vehiclesimulator.load;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the active load profile and reports achieved versus target rate.
+ * <p>
+ * Shards pace themselves against {@link #targetRate(long)} through their own {@link RatePacer};
+ * the engine only keeps the shared profile and aggregates what was targeted and what was generated.
+ */
+@Slf4j
+@Component
+public class LoadProfileEngine {
+
+    private volatile LoadProfile profile;
+    private volatile long startMillis;
+
+    // Accumulated per report window, written by all shards
+    private final DoubleAdder targeted = new DoubleAdder();
+    private final LongAdder generated = new LongAdder();
+    private long windowStart = System.currentTimeMillis();
+
+    private volatile double lastTargetRate;
+    private volatile double lastAchievedRate;
+
+    public LoadProfileEngine(SimulatorConfig config) {
+        start(LoadProfiles.fromConfig(config.getLoad()));
+    }
+
+    /**
+     * Activates a profile (or disables pacing with {@code null}) and restarts its clock.
+     */
+    public void start(LoadProfile newProfile) {
+        this.startMillis = System.currentTimeMillis();
+        this.profile = newProfile;
+        if (newProfile != null) {
+            log.info("Load profile '{}' started", newProfile.name());
+        }
+    }
+
+    public boolean isActive() {
+        return profile != null;
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Fleet-wide target rate (messages/second) at the given wall-clock time.
+     */
+    public double targetRate(long nowMillis) {
+        LoadProfile current = profile;
+        return current == null ? 0.0 : current.targetRate(nowMillis - startMillis);
+    }
+
+    void recordTargeted(double messages) {
+        targeted.add(messages);
+    }
+
+    public void recordGenerated(int messages) {
+        generated.add(messages);
+    }
+
+    /**
+     * Logs achieved versus target rate for the last window, once per second.
+     */
+    @Scheduled(fixedRate = 1000)
+    public void report() {
+        long now = System.currentTimeMillis();
+        double seconds = Math.max(now - windowStart, 1) / 1000.0;
+        windowStart = now;
+
+        lastTargetRate = targeted.sumThenReset() / seconds;
+        lastAchievedRate = generated.sumThenReset() / seconds;
+
+        LoadProfile current = profile;
+        if (current != null) {
+            log.info("Load [{}] t={}s target={} msg/s achieved={} msg/s",
+                    current.name(),
+                    (now - startMillis) / 1000,
+                    Math.round(lastTargetRate),
+                    Math.round(lastAchievedRate));
+        }
+    }
+
+    public double getLastTargetRate() {
+        return lastTargetRate;
+    }
+
+    public double getLastAchievedRate() {
+        return lastAchievedRate;
+    }
+}
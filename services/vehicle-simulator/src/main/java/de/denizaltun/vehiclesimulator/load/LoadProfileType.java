@@ -0,0 +1,10 @@
+package de.denizaltun.vehiclesimulator.load;
+
+public enum LoadProfileType {
+    NONE,       // per-vehicle publish intervals, no rate curve
+    CONSTANT,   // flat target rate
+    RAMP,       // linear ramp from start rate to rate, then hold
+    BURST,      // base rate with periodic bursts
+    STEP,       // step function through a list of rates
+    SOAK        // warmup ramp, then a sustained rate for a long duration
+}
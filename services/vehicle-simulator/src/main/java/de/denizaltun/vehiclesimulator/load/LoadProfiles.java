@@ -0,0 +1,118 @@
+package de.denizaltun.vehiclesimulator.load;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+
+import java.util.List;
+
+/**
+ * Built-in rate curves and the factory that creates them from configuration.
+ */
+public final class LoadProfiles {
+
+    private LoadProfiles() {
+    }
+
+    /**
+     * Creates the configured profile, or {@code null} when load profiles are disabled.
+     */
+    public static LoadProfile fromConfig(SimulatorConfig.Load load) {
+        return switch (load.getProfile()) {
+            case NONE -> null;
+            case CONSTANT -> new Constant(load.getRate());
+            case RAMP -> new Ramp(load.getStartRate(), load.getRate(), load.getDuration().toMillis());
+            case BURST -> new Burst(load.getRate(), load.getBurstRate(),
+                    load.getBurstEvery().toMillis(), load.getBurstLength().toMillis());
+            case STEP -> new Step(load.getStepRates(), load.getStepLength().toMillis());
+            case SOAK -> new Soak(load.getRate(), load.getWarmup().toMillis(), load.getDuration().toMillis());
+        };
+    }
+
+    public record Constant(double rate) implements LoadProfile {
+        @Override
+        public double targetRate(long elapsedMillis) {
+            return rate;
+        }
+
+        @Override
+        public String name() {
+            return "constant";
+        }
+    }
+
+    /**
+     * Linear ramp from {@code startRate} to {@code endRate}, holding {@code endRate} afterwards.
+     */
+    public record Ramp(double startRate, double endRate, long durationMillis) implements LoadProfile {
+        @Override
+        public double targetRate(long elapsedMillis) {
+            if (elapsedMillis >= durationMillis) {
+                return endRate;
+            }
+            return startRate + (endRate - startRate) * elapsedMillis / durationMillis;
+        }
+
+        @Override
+        public String name() {
+            return "ramp";
+        }
+    }
+
+    /**
+     * {@code burstRate} for the first {@code burstMillis} of every {@code periodMillis}, {@code baseRate} otherwise.
+     */
+    public record Burst(double baseRate, double burstRate, long periodMillis, long burstMillis) implements LoadProfile {
+        @Override
+        public double targetRate(long elapsedMillis) {
+            return elapsedMillis % periodMillis < burstMillis ? burstRate : baseRate;
+        }
+
+        @Override
+        public String name() {
+            return "burst";
+        }
+    }
+
+    /**
+     * Walks through {@code rates}, one every {@code stepMillis}, and holds the last one.
+     */
+    public record Step(List<Double> rates, long stepMillis) implements LoadProfile {
+        public Step {
+            if (rates == null || rates.isEmpty()) {
+                throw new IllegalArgumentException("Step profile needs at least one rate");
+            }
+            rates = List.copyOf(rates);
+        }
+
+        @Override
+        public double targetRate(long elapsedMillis) {
+            int step = (int) Math.min(elapsedMillis / stepMillis, rates.size() - 1);
+            return rates.get(step);
+        }
+
+        @Override
+        public String name() {
+            return "step";
+        }
+    }
+
+    /**
+     * Ramps up to {@code rate} over {@code warmupMillis}, sustains it until {@code durationMillis}, then stops.
+     */
+    public record Soak(double rate, long warmupMillis, long durationMillis) implements LoadProfile {
+        @Override
+        public double targetRate(long elapsedMillis) {
+            if (elapsedMillis >= durationMillis) {
+                return 0.0;
+            }
+            if (elapsedMillis < warmupMillis) {
+                return rate * elapsedMillis / warmupMillis;
+            }
+            return rate;
+        }
+
+        @Override
+        public String name() {
+            return "soak";
+        }
+    }
+}
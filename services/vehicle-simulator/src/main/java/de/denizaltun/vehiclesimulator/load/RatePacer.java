@@ -0,0 +1,92 @@
+package de.denizaltun.vehiclesimulator.load;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Open-loop pacer owned by a single shard.
+ * <p>
+ * Schedules every message at its intended send time on the wall clock, spaced by the profile's
+ * target rate at that time, and releases the ones whose time has come. A late tick therefore owes
+ * more messages rather than fewer, so the offered load follows the profile through scheduling
+ * jitter and stalls alike; nothing that is owed is forgotten.
+ * <p>
+ * After a stall the backlog is not released in one burst: each tick releases at most
+ * {@value #CATCH_UP_FACTOR} ticks' worth beyond its own, so the shard drains the backlog at a
+ * bounded rate above the target until it has caught up. The shard never waits for the publisher,
+ * which sheds records while its in-flight window is full, so a slow broker does not feed back into
+ * the offered load; the shortfall shows as shed records and the lag as {@code simulator.load.pacer.lag}.
+ */
+public class RatePacer {
+
+    // Extra ticks' worth of backlog released per tick, i.e. catch-up rate as a multiple of the target
+    static final double CATCH_UP_FACTOR = 1.0;
+
+    private final LoadProfileEngine engine;
+    private final double share;
+    private final long tickMillis;
+
+    private long lastMillis = -1;
+    private double scheduledMillis;         // intended send time of the next message
+
+    /**
+     * @param share fraction of the fleet-wide rate this shard is responsible for
+     * @param tickMillis interval at which the shard calls {@link #release}
+     */
+    public RatePacer(LoadProfileEngine engine, double share, long tickMillis) {
+        this.engine = engine;
+        this.share = share;
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+     * Number of messages this shard owes at {@code nowMillis}, within the catch-up bound.
+     */
+    public int due(long nowMillis) {
+        return release(nowMillis, intendedMillis -> {
+        });
+    }
+
+    /**
+     * Hands the intended send time of every message due at {@code nowMillis} to {@code send},
+     * oldest first and within the catch-up bound; the rest stays owed for the next ticks.
+     *
+     * @return number of messages released
+     */
+    public int release(long nowMillis, LongConsumer send) {
+        if (lastMillis < 0) {
+            lastMillis = nowMillis;
+            scheduledMillis = nowMillis;
+            return 0;
+        }
+        long elapsed = nowMillis - lastMillis;
+        lastMillis = nowMillis;
+
+        double rate = engine.targetRate(nowMillis) * share;
+        engine.recordTargeted(rate * elapsed / 1000.0);
+
+        // Bounded by the rate owed now or at the oldest owed message, whichever is higher
+        double limitRate = Math.max(rate, engine.targetRate((long) scheduledMillis) * share);
+        double limit = Math.ceil(limitRate * tickMillis * (1 + CATCH_UP_FACTOR) / 1000.0);
+        int released = 0;
+        while (released < limit && scheduledMillis < nowMillis) {
+            double scheduledRate = engine.targetRate((long) scheduledMillis) * share;
+            if (scheduledRate <= 0) {
+                // Nothing was owed while the profile's rate was zero
+                scheduledMillis = Math.min(scheduledMillis + tickMillis, nowMillis);
+                continue;
+            }
+            send.accept((long) scheduledMillis);
+            scheduledMillis += 1000.0 / scheduledRate;
+            released++;
+        }
+        return released;
+    }
+
+    /**
+     * Forgets the schedule, e.g. after pacing was switched off and on again.
+     */
+    public void reset() {
+        lastMillis = -1;
+        scheduledMillis = 0.0;
+    }
+}
@@ -0,0 +1,65 @@
+package de.denizaltun.vehiclesimulator.metrics;
+
+import de.denizaltun.vehiclesimulator.load.LoadProfileEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation-side meters of the simulator, shared by all shards (meters are thread-safe).
+ * Publishing-side meters live in {@link de.denizaltun.vehiclesimulator.service.KafkaPublisher};
+ * comparing the two tells whether the simulator or the pipeline is the bottleneck.
+ */
+@Component
+public class SimulatorMetrics {
+
+    private final Counter generated;
+    private final Timer schedulerLag;
+    private final Timer pacerLag;
+
+    public SimulatorMetrics(MeterRegistry registry, LoadProfileEngine load) {
+        this.generated = Counter.builder("simulator.records.generated")
+                .description("Telemetry readings generated by the shards")
+                .register(registry);
+        this.schedulerLag = Timer.builder("simulator.scheduler.lag")
+                .description("How late a vehicle's publish deadline was served, in simulated time")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+        this.pacerLag = Timer.builder("simulator.load.pacer.lag")
+                .description("How far behind its intended send time a paced reading was generated, in wall-clock time")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+
+        Gauge.builder("simulator.load.target.rate", load, LoadProfileEngine::getLastTargetRate)
+                .description("Target rate of the active load profile over the last second")
+                .baseUnit("records/s")
+                .register(registry);
+        Gauge.builder("simulator.load.achieved.rate", load, LoadProfileEngine::getLastAchievedRate)
+                .description("Generated records per second over the last second")
+                .baseUnit("records/s")
+                .register(registry);
+    }
+
+    public void recordGenerated(int records) {
+        if (records > 0) {
+            generated.increment(records);
+        }
+    }
+
+    public void recordSchedulerLag(long lagMillis) {
+        schedulerLag.record(Math.max(lagMillis, 0), TimeUnit.MILLISECONDS);
+    }
+
+    public void recordPacerLag(long lagMillis) {
+        pacerLag.record(Math.max(lagMillis, 0), TimeUnit.MILLISECONDS);
+    }
+}
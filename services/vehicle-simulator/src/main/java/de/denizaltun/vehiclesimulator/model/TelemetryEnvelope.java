@@ -0,0 +1,12 @@
+package de.denizaltun.vehiclesimulator.model;
+
+import java.util.List;
+
+/**
+ * Many vehicles' readings in one Kafka record. Sent with the {@code telemetry-format: envelope}
+ * header so consumers can tell it apart from a single {@link VehicleTelemetry}.
+ */
+public record TelemetryEnvelope(
+        List<VehicleTelemetry> readings
+) {
+}
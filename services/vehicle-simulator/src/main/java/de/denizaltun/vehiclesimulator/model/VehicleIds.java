@@ -0,0 +1,19 @@
+package de.denizaltun.vehiclesimulator.model;
+
+// Builds vehicle IDs and types from a fleet-wide vehicle number (1-based).
+// Types cycle with the number, so any contiguous or strided range of numbers is type-balanced.
+public final class VehicleIds {
+
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    private VehicleIds() {
+    }
+
+    public static VehicleType typeOf(long number) {
+        return TYPES[(int) ((number - 1) % TYPES.length)];
+    }
+
+    public static String format(VehicleType type, long number) {
+        return String.format("%s-%03d", type.name(), number);
+    }
+}
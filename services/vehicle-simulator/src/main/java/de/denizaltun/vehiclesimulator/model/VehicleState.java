@@ -1,12 +1,15 @@
 package de.denizaltun.vehiclesimulator.model;
 
+import de.denizaltun.vehiclesimulator.movement.GeoPoint;
+import de.denizaltun.vehiclesimulator.movement.Route;
 import lombok.Data;
 
-import java.time.LocalDateTime;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 // Maintains state for a single simulated vehicle.
-// Tracks operational status and handles state transitions
+// Tracks operational status and handles state transitions.
+// Not thread-safe: each vehicle is owned by exactly one simulation shard,
+// which also supplies the random generator.
 @Data
 public class VehicleState {
 
@@ -14,12 +17,17 @@ public class VehicleState {
     private final VehicleType vehicleType;
     private VehicleStatus vehicleStatus;
     private double fuelLevel;
-    private LocalDateTime nextPublishTime;
+    private long nextPublishTime;   // epoch millis
     private int stateCounter;       // used for state transitions
 
-    private static final Random random = new Random();
+    // Movement, maintained by the movement model (unused by RANDOM movement)
+    private GeoPoint position;
+    private GeoPoint home;
+    private Route route;            // current trip while EN_ROUTE / RETURNING
+    private GeoPoint destination;   // incident location set by a scenario, random incident if null
+    private long lastMovedMillis;   // simulated time of the last position update
 
-    public VehicleState(String vehicleId, VehicleType vehicleType, LocalDateTime nextPublishTime) {
+    public VehicleState(String vehicleId, VehicleType vehicleType, long nextPublishTime, RandomGenerator random) {
         this.vehicleId = vehicleId;
         this.vehicleType = vehicleType;
         this.vehicleStatus = VehicleStatus.IDLE;
@@ -28,54 +36,71 @@ public class VehicleState {
         this.stateCounter = 0;
     }
 
-    // checks if this vehicle should publish telemetry now
-    public boolean shouldPublishNow() {
-        return LocalDateTime.now().isAfter(nextPublishTime)  ||
-                LocalDateTime.now().isEqual(nextPublishTime);
+    // checks if this vehicle should publish telemetry at the given time (epoch millis)
+    public boolean shouldPublishNow(long nowMillis) {
+        return nowMillis >= nextPublishTime;
     }
 
     // update next publish time (with interval)
-    public void updateNextPublishTime(int intervalSeconds) {
-        this.nextPublishTime = this.nextPublishTime.plusSeconds(intervalSeconds);
+    public void updateNextPublishTime(long intervalMillis) {
+        this.nextPublishTime += intervalMillis;
     }
 
     // Handles state transitions: IDLE → EN_ROUTE → ON_SCENE → RETURNING → IDLE
     // Transitions happen probabilistically to create realistic variety.
-    public void transitionState() {
+    // While a route is assigned, EN_ROUTE and RETURNING last until the vehicle arrives.
+    public void transitionState(RandomGenerator random) {
         stateCounter++;
 
         switch (vehicleStatus) {
             case IDLE:
                 // 20% chance to start responding each update
                 if (random.nextDouble() < 0.2) {
-                    vehicleStatus = VehicleStatus.EN_ROUTE;
-                    stateCounter = 0;
+                    enter(VehicleStatus.EN_ROUTE);
                 }
                 break;
 
             case EN_ROUTE:
                 // after ~5 updates (15 seconds), arrive on scene
-                if (stateCounter >= 5) {
-                    vehicleStatus = VehicleStatus.ON_SCENE;
-                    stateCounter = 0;
+                if (route != null ? route.isComplete() : stateCounter >= 5) {
+                    enter(VehicleStatus.ON_SCENE);
                 }
                 break;
 
             case ON_SCENE:
                 // stay on scene for ~10 updates (30 seconds)
                 if (stateCounter >=10) {
-                    vehicleStatus = VehicleStatus.RETURNING;
-                    stateCounter = 0;
+                    enter(VehicleStatus.RETURNING);
                 }
                 break;
 
             case RETURNING:
                 // after ~5 updates, return to idle
-                if (stateCounter >= 5) {
-                    vehicleStatus = VehicleStatus.IDLE;
-                    stateCounter = 0;
+                if (route != null ? route.isComplete() : stateCounter >= 5) {
+                    enter(VehicleStatus.IDLE);
                 }
                 break;
         }
     }
+
+    // Sends the vehicle to an incident now, regardless of its current state.
+    // With grid movement it drives to the given location, or a random incident if null.
+    public void dispatch(GeoPoint incident) {
+        enter(VehicleStatus.EN_ROUTE);
+        destination = incident;
+    }
+
+    // Sends a busy vehicle back to its station now. Idle vehicles stay where they are.
+    public void recall() {
+        if (vehicleStatus != VehicleStatus.IDLE && vehicleStatus != VehicleStatus.RETURNING) {
+            enter(VehicleStatus.RETURNING);
+        }
+    }
+
+    private void enter(VehicleStatus status) {
+        vehicleStatus = status;
+        stateCounter = 0;
+        route = null;
+        destination = null;
+    }
 }
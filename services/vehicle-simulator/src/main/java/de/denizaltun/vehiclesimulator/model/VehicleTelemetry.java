@@ -1,10 +1,12 @@
 package de.denizaltun.vehiclesimulator.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
-@Builder
+@Builder(toBuilder = true)
 public record VehicleTelemetry(
         String vehicleId,
         LocalDateTime timeStamp,
@@ -22,6 +24,10 @@ public record VehicleTelemetry(
         double batteryVoltage,      // Volts (12V for Police/Ambulance, 24V for Fire Truck)
 
         // vehicle state
-        boolean emergencyLightsActive           // e.g., Blue Lights
+        boolean emergencyLightsActive,          // e.g., Blue Lights
+
+        // wide mode: extra sensor channels by name, omitted when off
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Map<String, Double> signals
 ) {
 }
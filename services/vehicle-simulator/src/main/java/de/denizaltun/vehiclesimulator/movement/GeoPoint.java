@@ -0,0 +1,39 @@
+package de.denizaltun.vehiclesimulator.movement;
+
+/**
+ * A WGS84 position in degrees.
+ */
+public record GeoPoint(
+        double latitude,
+        double longitude
+) {
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    /**
+     * Equirectangular approximation, accurate to well below a meter over city distances.
+     */
+    public double distanceMeters(GeoPoint other) {
+        double dLat = (other.latitude - latitude) * METERS_PER_DEGREE;
+        double dLon = (other.longitude - longitude) * METERS_PER_DEGREE
+                * Math.cos(Math.toRadians((latitude + other.latitude) / 2));
+        return Math.sqrt(dLat * dLat + dLon * dLon);
+    }
+
+    /**
+     * Point at {@code fraction} (0..1) of the straight line towards {@code other}.
+     */
+    public GeoPoint interpolate(GeoPoint other, double fraction) {
+        return new GeoPoint(
+                latitude + (other.latitude - latitude) * fraction,
+                longitude + (other.longitude - longitude) * fraction);
+    }
+
+    static double metersToLatitude(double meters) {
+        return meters / METERS_PER_DEGREE;
+    }
+
+    static double metersToLongitude(double meters, double atLatitude) {
+        return meters / (METERS_PER_DEGREE * Math.cos(Math.toRadians(atLatitude)));
+    }
+}
@@ -0,0 +1,65 @@
+package de.denizaltun.vehiclesimulator.movement;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.model.VehicleState;
+import de.denizaltun.vehiclesimulator.model.VehicleStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Vehicles drive along a {@link RoadGrid}: they wait at their home station while IDLE,
+ * get a route to an incident when they turn EN_ROUTE, stay put ON_SCENE and drive back
+ * to the station when RETURNING. Between readings they cover the reported speed times
+ * the elapsed simulated time, so consecutive positions are continuous.
+ * <p>
+ * The vehicle's status only leaves EN_ROUTE / RETURNING once its route is complete
+ * (see {@link VehicleState#transitionState}), so travel time follows distance and speed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.movement.mode", havingValue = "grid")
+public class GridMovement implements MovementModel {
+
+    private final RoadGrid grid;
+
+    public GridMovement(SimulatorConfig config) {
+        this(RoadGrid.fromConfig(RandomMovement.MUNICH, config.getMovement()));
+        log.info("Grid movement: {} blocks of {} m each way, {} stations, {} hot spots",
+                config.getMovement().getBlocks(), config.getMovement().getBlockMeters(),
+                config.getMovement().getStations(), config.getMovement().getHotSpots());
+    }
+
+    public GridMovement(RoadGrid grid) {
+        this.grid = grid;
+    }
+
+    @Override
+    public GeoPoint move(VehicleState vehicle, double speedKmh, long timestampMillis, RandomGenerator random) {
+        if (vehicle.getPosition() == null) {
+            // First reading: start parked at the home station
+            GeoPoint home = grid.stationFor(vehicle.getVehicleId());
+            vehicle.setHome(home);
+            vehicle.setPosition(home);
+            vehicle.setLastMovedMillis(timestampMillis);
+        }
+        long elapsedMillis = Math.max(0, timestampMillis - vehicle.getLastMovedMillis());
+        vehicle.setLastMovedMillis(timestampMillis);
+
+        VehicleStatus status = vehicle.getVehicleStatus();
+        if (status == VehicleStatus.EN_ROUTE || status == VehicleStatus.RETURNING) {
+            if (vehicle.getRoute() == null) {
+                // Just dispatched or released: plan the trip, departure is this reading
+                GeoPoint destination = status == VehicleStatus.RETURNING ? vehicle.getHome()
+                        : vehicle.getDestination() != null ? grid.nearestIntersection(vehicle.getDestination())
+                        : grid.randomIncident(random);
+                vehicle.setRoute(grid.route(vehicle.getPosition(), destination, random));
+            } else {
+                vehicle.setPosition(vehicle.getRoute().advance(speedKmh / 3.6 * elapsedMillis / 1000.0));
+            }
+        }
+        return vehicle.getPosition();
+    }
+}
@@ -0,0 +1,9 @@
+package de.denizaltun.vehiclesimulator.movement;
+
+/**
+ * How vehicle positions evolve between readings.
+ */
+public enum MovementMode {
+    RANDOM,     // independent uniform point around Munich for every reading
+    GRID        // continuous travel between stations and incidents on a synthetic road grid
+}
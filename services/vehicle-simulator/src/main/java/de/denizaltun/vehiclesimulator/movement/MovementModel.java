@@ -0,0 +1,19 @@
+package de.denizaltun.vehiclesimulator.movement;
+
+import de.denizaltun.vehiclesimulator.model.VehicleState;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides where a vehicle is at the time of a reading.
+ * Called on the vehicle's shard thread, after its status transition for the reading.
+ */
+public interface MovementModel {
+
+    /**
+     * @param speedKmh        speed reported with this reading
+     * @param timestampMillis simulated time of this reading (epoch millis)
+     * @return the position to report
+     */
+    GeoPoint move(VehicleState vehicle, double speedKmh, long timestampMillis, RandomGenerator random);
+}
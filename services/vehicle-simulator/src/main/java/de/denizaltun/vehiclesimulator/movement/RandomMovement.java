@@ -0,0 +1,26 @@
+package de.denizaltun.vehiclesimulator.movement;
+
+import de.denizaltun.vehiclesimulator.model.VehicleState;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Every reading at an independent uniform point around Munich. Cheap, but without any
+ * continuity or spatial locality.
+ */
+@Component
+@ConditionalOnProperty(name = "app.movement.mode", havingValue = "random", matchIfMissing = true)
+public class RandomMovement implements MovementModel {
+
+    public static final GeoPoint MUNICH = new GeoPoint(48.1351, 11.5820);
+    private static final double MOVEMENT_RANGE = 0.05;  // ~5km radius
+
+    @Override
+    public GeoPoint move(VehicleState vehicle, double speedKmh, long timestampMillis, RandomGenerator random) {
+        double latitude = MUNICH.latitude() + (random.nextDouble() * MOVEMENT_RANGE * 2 - MOVEMENT_RANGE);
+        double longitude = MUNICH.longitude() + (random.nextDouble() * MOVEMENT_RANGE * 2 - MOVEMENT_RANGE);
+        return new GeoPoint(latitude, longitude);
+    }
+}
@@ -0,0 +1,118 @@
+package de.denizaltun.vehiclesimulator.movement;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Synthetic Manhattan-style road network: evenly spaced intersections around a center,
+ * with home stations and incident hot spots placed on intersections.
+ * <p>
+ * The layout depends only on the configured seed, so every simulator instance of a run
+ * drives on the same city. Immutable and thread-safe once built.
+ */
+public class RoadGrid {
+
+    private final GeoPoint center;
+    private final double latStep;
+    private final double lonStep;
+    private final int blocks;
+    private final List<GeoPoint> stations;
+    private final List<int[]> hotSpots;
+    private final double hotSpotShare;
+    private final double hotSpotSpread;     // standard deviation of incidents around a hot spot, in blocks
+
+    public RoadGrid(GeoPoint center, double blockMeters, int blocks, int stationCount,
+                    int hotSpotCount, double hotSpotShare, long seed) {
+        if (blockMeters <= 0 || blocks <= 0 || stationCount <= 0) {
+            throw new IllegalArgumentException("blockMeters, blocks and stations must be positive");
+        }
+        this.center = center;
+        this.latStep = GeoPoint.metersToLatitude(blockMeters);
+        this.lonStep = GeoPoint.metersToLongitude(blockMeters, center.latitude());
+        this.blocks = blocks;
+        this.hotSpotShare = hotSpotCount > 0 ? hotSpotShare : 0;
+        this.hotSpotSpread = Math.max(1.0, blocks / 8.0);
+
+        SplittableRandom layout = new SplittableRandom(seed);
+        this.stations = new ArrayList<>(stationCount);
+        for (int i = 0; i < stationCount; i++) {
+            stations.add(intersection(layout.nextInt(-blocks, blocks + 1), layout.nextInt(-blocks, blocks + 1)));
+        }
+        this.hotSpots = new ArrayList<>(hotSpotCount);
+        for (int i = 0; i < hotSpotCount; i++) {
+            // Keep clusters away from the edge so they are not cut in half by clamping
+            int inner = Math.max(1, blocks / 2);
+            hotSpots.add(new int[]{layout.nextInt(-inner, inner + 1), layout.nextInt(-inner, inner + 1)});
+        }
+    }
+
+    public static RoadGrid fromConfig(GeoPoint center, SimulatorConfig.Movement config) {
+        return new RoadGrid(center, config.getBlockMeters(), config.getBlocks(), config.getStations(),
+                config.getHotSpots(), config.getHotSpotShare(), config.getSeed());
+    }
+
+    /**
+     * The home station of a vehicle, stable for its ID.
+     */
+    public GeoPoint stationFor(String vehicleId) {
+        return stations.get(Math.floorMod(vehicleId.hashCode(), stations.size()));
+    }
+
+    /**
+     * An incident location: mostly clustered around hot spots, the rest anywhere on the grid.
+     */
+    public GeoPoint randomIncident(RandomGenerator random) {
+        if (random.nextDouble() < hotSpotShare) {
+            int[] hotSpot = hotSpots.get(random.nextInt(hotSpots.size()));
+            return intersection(
+                    hotSpot[0] + (int) Math.round(random.nextGaussian() * hotSpotSpread),
+                    hotSpot[1] + (int) Math.round(random.nextGaussian() * hotSpotSpread));
+        }
+        return intersection(random.nextInt(-blocks, blocks + 1), random.nextInt(-blocks, blocks + 1));
+    }
+
+    /**
+     * Route between two intersections along the grid: one straight leg per axis,
+     * turning at whichever corner the random generator picks.
+     */
+    public Route route(GeoPoint from, GeoPoint to, RandomGenerator random) {
+        GeoPoint corner = random.nextBoolean()
+                ? new GeoPoint(from.latitude(), to.longitude())
+                : new GeoPoint(to.latitude(), from.longitude());
+        List<GeoPoint> waypoints = new ArrayList<>(3);
+        waypoints.add(from);
+        if (!corner.equals(from) && !corner.equals(to)) {
+            waypoints.add(corner);
+        }
+        if (!to.equals(from)) {
+            waypoints.add(to);
+        }
+        return new Route(waypoints);
+    }
+
+    /**
+     * The intersection closest to an arbitrary point, clamped to the grid.
+     */
+    public GeoPoint nearestIntersection(GeoPoint point) {
+        return intersection(
+                (int) Math.round((point.latitude() - center.latitude()) / latStep),
+                (int) Math.round((point.longitude() - center.longitude()) / lonStep));
+    }
+
+    /**
+     * Intersection at the given row and column offset from the center, clamped to the grid.
+     */
+    public GeoPoint intersection(int row, int column) {
+        int r = Math.clamp(row, -blocks, blocks);
+        int c = Math.clamp(column, -blocks, blocks);
+        return new GeoPoint(center.latitude() + r * latStep, center.longitude() + c * lonStep);
+    }
+
+    public List<GeoPoint> getStations() {
+        return List.copyOf(stations);
+    }
+}
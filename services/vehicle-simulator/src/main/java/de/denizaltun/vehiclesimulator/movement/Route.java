@@ -0,0 +1,60 @@
+package de.denizaltun.vehiclesimulator.movement;
+
+import java.util.List;
+
+/**
+ * A path along road segments, followed at whatever speed the vehicle reports.
+ * Not thread-safe: owned by one vehicle.
+ */
+public class Route {
+
+    private final List<GeoPoint> waypoints;
+    private int segment;            // index of the waypoint the current segment starts at
+    private double segmentOffset;   // meters travelled along the current segment
+    private GeoPoint position;
+
+    public Route(List<GeoPoint> waypoints) {
+        if (waypoints.isEmpty()) {
+            throw new IllegalArgumentException("A route needs at least one waypoint");
+        }
+        this.waypoints = List.copyOf(waypoints);
+        this.position = waypoints.get(0);
+    }
+
+    /**
+     * Moves {@code meters} further along the route, stopping at its end.
+     *
+     * @return the new position
+     */
+    public GeoPoint advance(double meters) {
+        double remaining = meters;
+        while (remaining > 0 && !isComplete()) {
+            GeoPoint from = waypoints.get(segment);
+            GeoPoint to = waypoints.get(segment + 1);
+            double length = from.distanceMeters(to);
+            if (segmentOffset + remaining < length) {
+                segmentOffset += remaining;
+                position = from.interpolate(to, segmentOffset / length);
+                return position;
+            }
+            // Turn at the next intersection and carry the rest over
+            remaining -= length - segmentOffset;
+            segment++;
+            segmentOffset = 0;
+            position = to;
+        }
+        return position;
+    }
+
+    public boolean isComplete() {
+        return segment >= waypoints.size() - 1;
+    }
+
+    public GeoPoint getPosition() {
+        return position;
+    }
+
+    public GeoPoint getDestination() {
+        return waypoints.get(waypoints.size() - 1);
+    }
+}
@@ -0,0 +1,125 @@
+package de.denizaltun.vehiclesimulator.scenario;
+
+import de.denizaltun.vehiclesimulator.clock.SimulationClock;
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.movement.GeoPoint;
+import de.denizaltun.vehiclesimulator.movement.RandomMovement;
+import de.denizaltun.vehiclesimulator.service.SimulationShard;
+import de.denizaltun.vehiclesimulator.service.VehicleSimulatorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * Runs correlated fleet-wide events: the configured {@code app.scenario.script}, plus steps
+ * triggered through the API.
+ * <p>
+ * Steps fire at their offset from the simulation clock's start, checked once per wall-clock
+ * second, and reach the vehicles as shard commands. They only force status transitions;
+ * with grid movement the dispatched vehicles then really drive to the incident, which gives
+ * the geographic clustering, alert bursts and status swings a major incident causes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.mode", havingValue = "simulate", matchIfMissing = true)
+public class ScenarioEngine {
+
+    private final SimulationClock clock;
+    private final VehicleSimulatorService simulator;
+
+    private final Queue<SimulatorConfig.ScenarioStep> pending =
+            new PriorityQueue<>(Comparator.comparing(SimulatorConfig.ScenarioStep::getAt));
+    private final List<Storm> storms = new ArrayList<>();
+    private long lastAdvance;
+
+    private record Storm(long endMillis, double intensity) {
+    }
+
+    public ScenarioEngine(SimulatorConfig config, SimulationClock clock, VehicleSimulatorService simulator) {
+        this.clock = clock;
+        this.simulator = simulator;
+        for (SimulatorConfig.ScenarioStep step : config.getScenario().getScript()) {
+            validate(step);
+            pending.add(step);
+        }
+        this.lastAdvance = clock.now();
+        if (!pending.isEmpty()) {
+            log.info("Scenario script with {} steps loaded", pending.size());
+        }
+    }
+
+    /**
+     * Runs a step now, ignoring its offset.
+     *
+     * @throws IllegalArgumentException if the step is incomplete
+     */
+    public synchronized void trigger(SimulatorConfig.ScenarioStep step) {
+        validate(step);
+        start(step, clock.now());
+    }
+
+    /**
+     * Starts due script steps and keeps active storms dispatching.
+     */
+    @Scheduled(fixedRate = 1000)
+    public synchronized void advance() {
+        long now = clock.now();
+        while (!pending.isEmpty() && clock.getOriginMillis() + pending.peek().getAt().toMillis() <= now) {
+            start(pending.poll(), now);
+        }
+
+        double minutes = Math.max(now - lastAdvance, 0) / 60_000.0;
+        lastAdvance = now;
+        for (Storm storm : storms) {
+            // Per-minute intensity compounded over the simulated time since the last check
+            double share = 1 - Math.pow(1 - storm.intensity(), minutes);
+            simulator.submitToAll(shard -> shard.dispatchIdle(share));
+        }
+        if (storms.removeIf(storm -> storm.endMillis() <= now)) {
+            log.info("Storm over");
+        }
+    }
+
+    private void start(SimulatorConfig.ScenarioStep step, long now) {
+        switch (step.getType()) {
+            case MASS_CASUALTY -> {
+                GeoPoint incident = step.getLatitude() != null && step.getLongitude() != null
+                        ? new GeoPoint(step.getLatitude(), step.getLongitude())
+                        : RandomMovement.MUNICH;
+                int shardCount = simulator.getShardCount();
+                int units = step.getUnits();
+                simulator.submitToAll(shard -> shard.dispatchNearest(
+                        units / shardCount + (shard.getIndex() < units % shardCount ? 1 : 0),
+                        incident, step.getVehicleType()));
+                log.info("Mass casualty incident at {}: dispatching {} {} units", incident, units,
+                        step.getVehicleType() != null ? step.getVehicleType() : "mixed");
+            }
+            case STORM -> {
+                storms.add(new Storm(now + step.getDuration().toMillis(), step.getIntensity()));
+                log.info("Storm for {}: dispatching {}% of idle units per minute", step.getDuration(),
+                        step.getIntensity() * 100);
+            }
+            case SHIFT_CHANGE -> {
+                simulator.submitToAll(SimulationShard::recallAll);
+                log.info("Shift change: recalling all busy units");
+            }
+        }
+    }
+
+    private static void validate(SimulatorConfig.ScenarioStep step) {
+        if (step.getType() == null) {
+            throw new IllegalArgumentException("Scenario step without type");
+        }
+        if (step.getUnits() <= 0 || step.getIntensity() <= 0 || step.getIntensity() > 1
+                || step.getDuration() == null || step.getDuration().isNegative() || step.getAt() == null) {
+            throw new IllegalArgumentException("Invalid scenario step: " + step);
+        }
+    }
+}
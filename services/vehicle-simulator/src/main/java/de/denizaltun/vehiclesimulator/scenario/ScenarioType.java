@@ -0,0 +1,10 @@
+package de.denizaltun.vehiclesimulator.scenario;
+
+/**
+ * Correlated fleet-wide events, as opposed to the independent per-vehicle transitions.
+ */
+public enum ScenarioType {
+    MASS_CASUALTY,  // the nearest idle units all converge on one incident location
+    STORM,          // for a while, idle units keep getting dispatched to incidents all over the city
+    SHIFT_CHANGE    // every busy unit is recalled to its station at the same moment
+}
@@ -0,0 +1,126 @@
+package de.denizaltun.vehiclesimulator.scheduler;
+
+import de.denizaltun.vehiclesimulator.model.VehicleState;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel keyed on {@link VehicleState#getNextPublishTime()}.
+ * <p>
+ * Vehicles are hashed into slots by their next publish tick, so each advance only
+ * touches the slots that elapsed since the previous advance instead of the whole fleet.
+ * Vehicles whose deadline lies more than one wheel revolution ahead simply stay in their
+ * slot until a later revolution reaches their deadline.
+ * <p>
+ * Not thread-safe: a wheel is owned and advanced by a single thread.
+ */
+public class TimingWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<VehicleState>[] slots;
+    private List<VehicleState> spare = new ArrayList<>();
+
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.slots = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Adds a vehicle to the slot of its next publish time.
+     * Deadlines that already passed are placed in the next slot so they fire on the next advance.
+     */
+    public void schedule(VehicleState vehicle) {
+        place(vehicle);
+        size++;
+    }
+
+    /**
+     * Advances the wheel to {@code nowMillis} and hands every due vehicle to {@code onDue}.
+     * The callback is expected to move the vehicle's next publish time forward; the vehicle
+     * is then re-inserted into the slot of its new deadline.
+     *
+     * @return number of vehicles that were due
+     */
+    public int advance(long nowMillis, Consumer<VehicleState> onDue) {
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick <= currentTick) {
+            return 0;
+        }
+
+        // After a long stall every slot has elapsed - visit each one once instead of looping per tick
+        long firstTick = Math.max(currentTick + 1, targetTick - mask);
+        int fired = 0;
+
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            int index = (int) (tick & mask);
+            List<VehicleState> bucket = slots[index];
+            if (bucket.isEmpty()) {
+                continue;
+            }
+
+            // Swap in an empty list so vehicles re-inserted into this slot are not visited twice
+            slots[index] = spare;
+            currentTick = tick;
+
+            for (VehicleState vehicle : bucket) {
+                if (vehicle.getNextPublishTime() <= nowMillis) {
+                    onDue.accept(vehicle);
+                    fired++;
+                }
+                // Re-hash: a later revolution, a deadline that was moved while waiting, or one later
+                // in this very tick - place() puts the latter into the next tick, never back into this slot
+                place(vehicle);
+            }
+
+            bucket.clear();
+            spare = bucket;
+        }
+
+        currentTick = targetTick;
+        return fired;
+    }
+
+    /**
+     * Replaces the wheel's contents with {@code vehicles}, hashed by their current deadlines.
+     * Used when vehicles are removed or deadlines are moved earlier; O(n), meant for rare changes.
+     */
+    public void rebuild(Collection<VehicleState> vehicles) {
+        for (List<VehicleState> slot : slots) {
+            slot.clear();
+        }
+        size = 0;
+        vehicles.forEach(this::schedule);
+    }
+
+    private void place(VehicleState vehicle) {
+        long deadlineTick = Math.max(vehicle.getNextPublishTime() / tickMillis, currentTick + 1);
+        slots[(int) (deadlineTick & mask)].add(vehicle);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+}
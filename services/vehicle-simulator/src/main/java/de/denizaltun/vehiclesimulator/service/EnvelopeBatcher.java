@@ -0,0 +1,80 @@
+package de.denizaltun.vehiclesimulator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.vehiclesimulator.model.TelemetryEnvelope;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Packs readings into {@link TelemetryEnvelope}s, one open envelope per key bucket.
+ * <p>
+ * A vehicle always hashes to the same bucket and every bucket has its own record key,
+ * so all readings of a vehicle still land on one partition in order, while envelopes
+ * spread over the partitions. An envelope is sent when it is full or on {@link #flush()}.
+ * <p>
+ * Not thread-safe: each shard owns its own batcher.
+ */
+@Slf4j
+public class EnvelopeBatcher implements TelemetrySink {
+
+    private static final String KEY_PREFIX = "envelope-";
+
+    private final BiConsumer<String, byte[]> sender;
+    private final ObjectMapper objectMapper;
+    private final int maxReadings;
+    private final List<VehicleTelemetry>[] buckets;
+    private final String[] keys;
+
+    @SuppressWarnings("unchecked")
+    public EnvelopeBatcher(BiConsumer<String, byte[]> sender, ObjectMapper objectMapper,
+                           int maxReadings, int bucketCount) {
+        if (maxReadings <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("maxReadings and bucketCount must be positive");
+        }
+        this.sender = sender;
+        this.objectMapper = objectMapper;
+        this.maxReadings = maxReadings;
+        this.buckets = new List[bucketCount];
+        this.keys = new String[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new ArrayList<>(maxReadings);
+            keys[i] = KEY_PREFIX + i;
+        }
+    }
+
+    @Override
+    public void accept(VehicleTelemetry telemetry) {
+        int bucket = Math.floorMod(telemetry.vehicleId().hashCode(), buckets.length);
+        List<VehicleTelemetry> readings = buckets[bucket];
+        readings.add(telemetry);
+        if (readings.size() >= maxReadings) {
+            send(bucket);
+        }
+    }
+
+    @Override
+    public void flush() {
+        for (int i = 0; i < buckets.length; i++) {
+            if (!buckets[i].isEmpty()) {
+                send(i);
+            }
+        }
+    }
+
+    private void send(int bucket) {
+        List<VehicleTelemetry> readings = buckets[bucket];
+        try {
+            sender.accept(keys[bucket], objectMapper.writeValueAsBytes(new TelemetryEnvelope(readings)));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to encode telemetry envelope with {} readings", readings.size(), e);
+        } finally {
+            // Already serialized, so the list is reused for the next envelope
+            readings.clear();
+        }
+    }
+}
@@ -1,45 +1,303 @@
 package de.denizaltun.vehiclesimulator.service;
 
+import de.denizaltun.vehiclesimulator.config.PublishMode;
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
 import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
 /**
  * Handles publishing telemetry data to Kafka.
  * Single Responsibility: Only concerned with Kafka publishing logic.
+ * <p>
+ * In ASYNC mode at most {@code app.publisher.max-in-flight} records are unacknowledged at any
+ * time; further publishes block the calling shard until the broker catches up, instead of
+ * buffering without bound. Completion callbacks feed the latency and error counters.
+ * Paced load uses the {@code offer} variants instead, which shed a record while the window is
+ * full ({@code simulator.records.shed}) rather than block: the offered load stays open-loop.
+ * <p>
+ * The same figures are exported as Micrometer meters ({@code simulator.records.*},
+ * {@code simulator.publish.*}), together with the producer's buffer utilisation. The latency counts
+ * from the moment a record is published, so time spent waiting for a window slot is part of it and
+ * a slow broker cannot hide behind a full window (coordinated omission); the wait alone is
+ * {@code simulator.publish.window.wait}. How late the shards publish against their schedule is
+ * {@code simulator.scheduler.lag} and, under a load profile, {@code simulator.load.pacer.lag}.
  */
 
 @Slf4j                    // Lombok: gives log.debug(), log.error()
 @Service                  // Spring: a service bean
-@RequiredArgsConstructor  // Lombok: creates constructor with 'final' fields
 public class KafkaPublisher {
 
     private static final String TOPIC_NAME = "vehicle-telemetry";
+    private static final String FORMAT_HEADER = "telemetry-format";
+    private static final byte[] ENVELOPE_FORMAT = "envelope".getBytes(StandardCharsets.UTF_8);
 
     private final KafkaTemplate<String, VehicleTelemetry> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> rawKafkaTemplate;
+    private final PublishMode mode;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder acked = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    // Cumulative counterparts of the window counters above, for scraping
+    private final Counter sentCounter;
+    private final Counter ackedCounter;
+    private final Counter failedCounter;
+    private final Counter shedCounter;
+    private final Timer sendLatency;
+    private final Timer windowWait;
+
+    public KafkaPublisher(KafkaTemplate<String, VehicleTelemetry> kafkaTemplate,
+                          KafkaTemplate<String, byte[]> rawKafkaTemplate,
+                          SimulatorConfig config,
+                          MeterRegistry registry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.rawKafkaTemplate = rawKafkaTemplate;
+        this.mode = config.getPublisher().getMode();
+        this.maxInFlight = Math.max(1, config.getPublisher().getMaxInFlight());
+        this.inFlight = new Semaphore(maxInFlight);
+
+        this.sentCounter = Counter.builder("simulator.records.sent")
+                .description("Records handed to the Kafka producer")
+                .register(registry);
+        this.ackedCounter = Counter.builder("simulator.records.acked")
+                .description("Records acknowledged by the broker")
+                .register(registry);
+        this.failedCounter = Counter.builder("simulator.records.failed")
+                .description("Records that could not be sent or were not acknowledged")
+                .register(registry);
+        this.shedCounter = Counter.builder("simulator.records.shed")
+                .description("Paced records dropped because the in-flight window was full")
+                .register(registry);
+        this.sendLatency = Timer.builder("simulator.publish.latency")
+                .description("Time from publish, including the wait for an in-flight slot, to broker acknowledgement")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+        this.windowWait = Timer.builder("simulator.publish.window.wait")
+                .description("Time a publish waited for a slot in the in-flight window")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+        Gauge.builder("simulator.publish.in.flight", this, KafkaPublisher::getInFlight)
+                .description("Unacknowledged records in the in-flight window")
+                .register(registry);
+        Gauge.builder("simulator.publish.in.flight.utilization", this, p -> (double) p.getInFlight() / p.maxInFlight)
+                .description("Share of the in-flight window in use, 1 means shards are blocked")
+                .register(registry);
+        Gauge.builder("simulator.producer.buffer.utilization", registry, KafkaPublisher::bufferUtilization)
+                .description("Share of the Kafka producers' record buffer in use")
+                .register(registry);
+    }
 
     /**
      * Publishes telemetry to Kafka topic.
      * Uses vehicleId as the message key for partitioning.
      */
     public void publish(VehicleTelemetry telemetry) {
+        // Send to Kafka broker:
+        //   - Topic: "vehicle-telemetry" (like CAN MESSAGE_ID)
+        //   - Key: vehicleId (for partitioning & ordering)
+        //   - Value: the actual telemetry data
+        if (send(telemetry.vehicleId(), () -> kafkaTemplate.send(TOPIC_NAME, telemetry.vehicleId(), telemetry), true)
+                && log.isDebugEnabled()) {
+            // Log for debugging (not visible in production)
+            log.debug("Published telemetry for vehicle: {}, status: {}, speed: {} km/h",
+                    telemetry.vehicleId(), telemetry.vehicleStatus(), telemetry.speed());
+        }
+    }
+
+    /**
+     * Publishes an already encoded payload to the telemetry topic, bypassing the JSON serializer.
+     * Shares the in-flight window and counters with {@link #publish(VehicleTelemetry)}.
+     */
+    public void publishRaw(String key, byte[] payload) {
+        send(key, () -> rawKafkaTemplate.send(TOPIC_NAME, key, payload), true);
+    }
+
+    /**
+     * Publishes an encoded {@link de.denizaltun.vehiclesimulator.model.TelemetryEnvelope},
+     * marked by the {@code telemetry-format} header consumers use to pick the payload type.
+     * One envelope takes one slot of the in-flight window.
+     */
+    public void publishEnvelope(String key, byte[] payload) {
+        send(key, () -> rawKafkaTemplate.send(envelopeRecord(key, payload)), true);
+    }
+
+    /**
+     * Like {@link #publish(VehicleTelemetry)}, but sheds the record instead of blocking while the
+     * in-flight window is full.
+     *
+     * @return whether the record was handed to the producer
+     */
+    public boolean offer(VehicleTelemetry telemetry) {
+        return send(telemetry.vehicleId(), () -> kafkaTemplate.send(TOPIC_NAME, telemetry.vehicleId(), telemetry), false);
+    }
+
+    /**
+     * Like {@link #publishEnvelope}, but sheds the envelope instead of blocking while the
+     * in-flight window is full.
+     *
+     * @return whether the envelope was handed to the producer
+     */
+    public boolean offerEnvelope(String key, byte[] payload) {
+        return send(key, () -> rawKafkaTemplate.send(envelopeRecord(key, payload)), false);
+    }
+
+    private static ProducerRecord<String, byte[]> envelopeRecord(String key, byte[] payload) {
+        return new ProducerRecord<>(TOPIC_NAME, null, key, payload,
+                List.of(new RecordHeader(FORMAT_HEADER, ENVELOPE_FORMAT)));
+    }
+
+    /**
+     * Sends one record within the in-flight window.
+     *
+     * @param block wait for a slot while the window is full, otherwise shed the record
+     * @return whether the record was handed to the producer
+     */
+    private boolean send(String key, Supplier<CompletableFuture<? extends SendResult<String, ?>>> sender,
+                         boolean block) {
+        // The clock starts before waiting for a slot: a record held back by a full window is late too
+        long start = System.nanoTime();
+        if (block) {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                // Shutting down - drop the record rather than block the shard thread
+                Thread.currentThread().interrupt();
+                failed.increment();
+                failedCounter.increment();
+                return false;
+            }
+        } else if (!inFlight.tryAcquire()) {
+            shed.increment();
+            shedCounter.increment();
+            return false;
+        }
+        windowWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
         try {
-            // Send to Kafka broker:
-            //   - Topic: "vehicle-telemetry" (like CAN MESSAGE_ID)
-            //   - Key: vehicleId (for partitioning & ordering)
-            //   - Value: the actual telemetry data
-            kafkaTemplate.send(TOPIC_NAME, telemetry.vehicleId(), telemetry);
+            CompletableFuture<?> future = sender.get()
+                    .whenComplete((result, ex) -> onComplete(key, start, ex));
+            sent.increment();
+            sentCounter.increment();
 
-            // Log for debugging (not visible in production)
-            log.info("Published telemetry for vehicle: {}, status: {}, speed: {} km/h",
-                    telemetry.vehicleId(),
-                    telemetry.vehicleStatus(),
-                    String.format("%.1f", telemetry.speed()));
+            if (mode == PublishMode.SYNC) {
+                awaitAck(future);
+            }
+            return true;
         } catch (Exception e) {
+            // send() itself failed (e.g. buffer exhausted, serialization) - no callback will release the permit
+            inFlight.release();
+            failed.increment();
+            failedCounter.increment();
+            log.error("Failed to publish telemetry for vehicle: {}", key, e);
+            return false;
+        }
+    }
+
+    private void awaitAck(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            // Already counted and logged by the completion callback
+        }
+    }
+
+    private void onComplete(String key, long start, Throwable ex) {
+        inFlight.release();
+        if (ex != null) {
             // If Kafka is down or network issue
-            log.error("Failed to publish telemetry for vehicle: {}", telemetry.vehicleId(), e);
+            failed.increment();
+            failedCounter.increment();
+            log.error("Failed to publish telemetry for vehicle: {}", key, ex);
+            return;
+        }
+        long latency = System.nanoTime() - start;
+        acked.increment();
+        ackedCounter.increment();
+        sendLatency.record(latency, TimeUnit.NANOSECONDS);
+        latencyNanos.add(latency);
+        maxLatencyNanos.accumulate(latency);
+    }
+
+    /**
+     * Logs publish statistics for the last window, skipping idle windows.
+     */
+    @Scheduled(fixedRate = 10_000)
+    public void reportStats() {
+        long windowSent = sent.sumThenReset();
+        long windowAcked = acked.sumThenReset();
+        long windowFailed = failed.sumThenReset();
+        long windowShed = shed.sumThenReset();
+        long windowLatency = latencyNanos.sumThenReset();
+        long windowMaxLatency = maxLatencyNanos.getThenReset();
+
+        if (windowSent == 0 && windowAcked == 0 && windowFailed == 0 && windowShed == 0) {
+            return;
+        }
+        log.info("Kafka publish: sent={} acked={} failed={} shed={} inFlight={} avgLatency={}ms maxLatency={}ms",
+                windowSent, windowAcked, windowFailed, windowShed, getInFlight(),
+                windowAcked == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(windowLatency / windowAcked),
+                TimeUnit.NANOSECONDS.toMillis(windowMaxLatency));
+    }
+
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /**
+     * Used over total buffer memory of all producers, from the native producer metrics
+     * bound by the producer factories. 0 until a producer exists.
+     */
+    private static double bufferUtilization(MeterRegistry registry) {
+        double available = registry.find("kafka.producer.buffer.available.bytes").gauges().stream()
+                .mapToDouble(Gauge::value).sum();
+        double total = registry.find("kafka.producer.buffer.total.bytes").gauges().stream()
+                .mapToDouble(Gauge::value).sum();
+        return total > 0 ? 1.0 - available / total : 0.0;
+    }
+
+    /**
+     * Gives outstanding records a chance to be acknowledged before the producer is closed.
+     */
+    @PreDestroy
+    public void drain() {
+        try {
+            if (!inFlight.tryAcquire(maxInFlight, 5, TimeUnit.SECONDS)) {
+                log.warn("Shutting down with {} unacknowledged telemetry records", getInFlight());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -0,0 +1,88 @@
+package de.denizaltun.vehiclesimulator.service;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Extra sensor channels for wide-telemetry mode ({@code app.telemetry.signals}).
+ * <p>
+ * The first channels are named after real CAN-bus signals, further ones are numbered.
+ * Values vary uniformly around a per-channel base; they only exist to give payloads,
+ * storage and aggregation a realistic width. Stateless and thread-safe.
+ */
+@Component
+public class SignalGenerator {
+
+    // name, base value, +/- spread
+    private static final Object[][] NAMED_CHANNELS = {
+            {"tyre_pressure_fl", 8.5, 0.3},     // bar
+            {"tyre_pressure_fr", 8.5, 0.3},
+            {"tyre_pressure_rl", 8.5, 0.3},
+            {"tyre_pressure_rr", 8.5, 0.3},
+            {"oil_temp", 95.0, 10.0},           // Celsius
+            {"oil_pressure", 4.0, 1.0},         // bar
+            {"coolant_temp", 88.0, 6.0},
+            {"transmission_temp", 80.0, 10.0},
+            {"brake_pressure", 6.0, 2.0},       // bar
+            {"engine_rpm", 1800.0, 1200.0},
+            {"throttle_position", 35.0, 35.0},  // percent
+            {"alternator_current", 60.0, 20.0}, // Amps
+            {"pump_pressure", 10.0, 5.0},       // bar
+            {"water_tank_level", 70.0, 30.0},   // percent
+            {"ambient_temp", 15.0, 10.0},
+            {"cabin_temp", 21.0, 3.0},
+    };
+
+    private final String[] names;
+    private final double[] bases;
+    private final double[] spreads;
+
+    @Autowired
+    public SignalGenerator(SimulatorConfig config) {
+        this(config.getTelemetry().getSignals());
+    }
+
+    public SignalGenerator(int channels) {
+        if (channels < 0) {
+            throw new IllegalArgumentException("signals must not be negative: " + channels);
+        }
+        this.names = new String[channels];
+        this.bases = new double[channels];
+        this.spreads = new double[channels];
+        for (int i = 0; i < channels; i++) {
+            if (i < NAMED_CHANNELS.length) {
+                names[i] = (String) NAMED_CHANNELS[i][0];
+                bases[i] = (double) NAMED_CHANNELS[i][1];
+                spreads[i] = (double) NAMED_CHANNELS[i][2];
+            } else {
+                names[i] = String.format("signal_%03d", i);
+                bases[i] = 50.0;
+                spreads[i] = 50.0;
+            }
+        }
+    }
+
+    /**
+     * One value per channel, in channel order; {@code null} when wide mode is off,
+     * so the field is left out of the payload entirely.
+     */
+    public Map<String, Double> generate(RandomGenerator random) {
+        if (names.length == 0) {
+            return null;
+        }
+        Map<String, Double> signals = new LinkedHashMap<>(names.length * 4 / 3 + 1);
+        for (int i = 0; i < names.length; i++) {
+            signals.put(names[i], bases[i] + spreads[i] * (random.nextDouble() * 2 - 1));
+        }
+        return signals;
+    }
+
+    public int getChannels() {
+        return names.length;
+    }
+}
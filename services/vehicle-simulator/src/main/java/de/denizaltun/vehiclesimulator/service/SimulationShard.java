@@ -0,0 +1,327 @@
+package de.denizaltun.vehiclesimulator.service;
+
+import de.denizaltun.vehiclesimulator.clock.SimulationClock;
+import de.denizaltun.vehiclesimulator.load.LoadProfileEngine;
+import de.denizaltun.vehiclesimulator.load.RatePacer;
+import de.denizaltun.vehiclesimulator.metrics.SimulatorMetrics;
+import de.denizaltun.vehiclesimulator.model.VehicleState;
+import de.denizaltun.vehiclesimulator.model.VehicleStatus;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import de.denizaltun.vehiclesimulator.movement.GeoPoint;
+import de.denizaltun.vehiclesimulator.scheduler.TimingWheel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * A slice of the simulated fleet driven by a single thread.
+ * <p>
+ * Each shard owns its vehicles, its timing wheel and its random generator, so
+ * shards never share mutable state and generation scales with the number of cores.
+ * Only the publishing sink is shared (KafkaTemplate is thread-safe); a sink that buffers
+ * readings is flushed at the end of every tick.
+ * <p>
+ * While a load profile is active the shard ignores per-vehicle intervals and instead
+ * publishes as many messages as its {@link RatePacer} says are due, cycling through its vehicles.
+ * Pacing is open-loop: the sink sheds rather than blocks while the publisher's window is full.
+ * <p>
+ * Deadlines and timestamps are simulated time from the {@link SimulationClock}; the pacer
+ * always works on wall-clock time because offered load is a wall-clock quantity.
+ * <p>
+ * Other threads never touch the vehicles or the wheel directly: they {@link #submit} commands,
+ * which the shard thread drains at the start of its next tick.
+ */
+@Slf4j
+public class SimulationShard implements Runnable {
+
+    private final int index;
+    private final TimingWheel wheel;
+    private final SplittableRandom random;
+    private final TelemetryGenerator generator;
+    private final TelemetrySink sink;
+    private final Map<VehicleType, Long> intervals = new EnumMap<>(VehicleType.class);
+    private final LoadProfileEngine load;
+    private final RatePacer pacer;
+    private final SimulationClock clock;
+    private final SimulatorMetrics metrics;
+    private final List<VehicleState> vehicles = new ArrayList<>();
+    private final Queue<Consumer<SimulationShard>> commands = new ConcurrentLinkedQueue<>();
+
+    private int cursor;
+    private boolean paced;
+    private long tickTime;          // simulated time of the running tick
+    private volatile boolean finished;
+    private volatile boolean paused;
+    private volatile int vehicleCount;
+
+    public SimulationShard(int index, TimingWheel wheel, SplittableRandom random,
+                           TelemetryGenerator generator, TelemetrySink sink,
+                           long intervalMillis, LoadProfileEngine load, double loadShare,
+                           SimulationClock clock, SimulatorMetrics metrics) {
+        this.index = index;
+        this.wheel = wheel;
+        this.random = random;
+        this.generator = generator;
+        this.sink = sink;
+        for (VehicleType type : VehicleType.values()) {
+            intervals.put(type, intervalMillis);
+        }
+        this.load = load;
+        this.pacer = new RatePacer(load, loadShare, wheel.getTickMillis());
+        this.clock = clock;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registers a vehicle with this shard. Before the shard is started, or from a submitted command.
+     */
+    public void addVehicle(VehicleState vehicle) {
+        vehicles.add(vehicle);
+        wheel.schedule(vehicle);
+        vehicleCount = vehicles.size();
+    }
+
+    /**
+     * Removes up to {@code count} vehicles of the given type (any type if {@code null}),
+     * most recently added first. Shard thread only.
+     *
+     * @return number of vehicles removed
+     */
+    public int removeVehicles(VehicleType type, int count) {
+        int removed = 0;
+        for (int i = vehicles.size() - 1; i >= 0 && removed < count; i--) {
+            if (type == null || vehicles.get(i).getVehicleType() == type) {
+                vehicles.remove(i);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            wheel.rebuild(vehicles);
+            cursor = vehicles.isEmpty() ? 0 : cursor % vehicles.size();
+            vehicleCount = vehicles.size();
+        }
+        return removed;
+    }
+
+    /**
+     * Changes the publish interval of one vehicle type. A shorter interval takes effect
+     * immediately instead of after the pending, longer one. Shard thread only.
+     */
+    public void setInterval(VehicleType type, long intervalMillis, long now) {
+        intervals.put(type, intervalMillis);
+        boolean moved = false;
+        for (VehicleState vehicle : vehicles) {
+            if (vehicle.getVehicleType() == type && vehicle.getNextPublishTime() > now + intervalMillis) {
+                vehicle.setNextPublishTime(now + intervalMillis);
+                moved = true;
+            }
+        }
+        if (moved) {
+            wheel.rebuild(vehicles);
+        }
+    }
+
+    /**
+     * Dispatches up to {@code count} idle vehicles (of the given type, any if {@code null}) to one
+     * incident, nearest first. Vehicles without a known position are picked last. Shard thread only.
+     *
+     * @return number of vehicles dispatched
+     */
+    public int dispatchNearest(int count, GeoPoint incident, VehicleType type) {
+        List<VehicleState> idle = new ArrayList<>();
+        for (VehicleState vehicle : vehicles) {
+            if (vehicle.getVehicleStatus() == VehicleStatus.IDLE && (type == null || vehicle.getVehicleType() == type)) {
+                idle.add(vehicle);
+            }
+        }
+        idle.sort(Comparator.comparingDouble(vehicle ->
+                vehicle.getPosition() != null ? vehicle.getPosition().distanceMeters(incident) : Double.MAX_VALUE));
+        int dispatched = Math.min(count, idle.size());
+        for (int i = 0; i < dispatched; i++) {
+            idle.get(i).dispatch(incident);
+        }
+        return dispatched;
+    }
+
+    /**
+     * Dispatches each idle vehicle with probability {@code share} to an incident of its own. Shard thread only.
+     *
+     * @return number of vehicles dispatched
+     */
+    public int dispatchIdle(double share) {
+        int dispatched = 0;
+        for (VehicleState vehicle : vehicles) {
+            if (vehicle.getVehicleStatus() == VehicleStatus.IDLE && random.nextDouble() < share) {
+                vehicle.dispatch(null);
+                dispatched++;
+            }
+        }
+        return dispatched;
+    }
+
+    /**
+     * Sends every busy vehicle back to its station. Shard thread only.
+     *
+     * @return number of vehicles recalled
+     */
+    public int recallAll() {
+        int recalled = 0;
+        for (VehicleState vehicle : vehicles) {
+            VehicleStatus before = vehicle.getVehicleStatus();
+            vehicle.recall();
+            if (vehicle.getVehicleStatus() != before) {
+                recalled++;
+            }
+        }
+        return recalled;
+    }
+
+    /**
+     * Hands a command to the shard thread; it runs before the next tick. Safe from any thread.
+     */
+    public void submit(Consumer<SimulationShard> command) {
+        commands.add(command);
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * One tick at the clock's current simulated time (REALTIME and SCALED modes).
+     */
+    @Override
+    public void run() {
+        if (!finished) {
+            tick(clock.now());
+        }
+    }
+
+    /**
+     * Ticks in lock-step with the other shards until the simulated duration is reached
+     * or the thread is interrupted (FASTEST mode). Blocks the calling thread.
+     */
+    public void runLockStep() {
+        try {
+            long now = clock.getOriginMillis();
+            while (!finished && !Thread.currentThread().isInterrupted()) {
+                tick(now);
+                now = clock.awaitNextTick();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            clock.deregister();
+        }
+    }
+
+    /**
+     * Publishes whatever is due at {@code now}: paced by the load profile when one is
+     * active, otherwise every vehicle whose interval elapsed according to the timing wheel.
+     */
+    void tick(long now) {
+        if (clock.isFinished(now)) {
+            finished = true;
+            log.info("Simulation shard {} reached the end of simulated time", index);
+            return;
+        }
+        tickTime = now;
+        try {
+            runCommands();
+            if (paused) {
+                // Keep every vehicle's cadence but publish nothing, so resuming does not burst
+                paced = false;
+                wheel.advance(now, this::skip);
+            } else if (load.isActive()) {
+                if (!paced) {
+                    pacer.reset();
+                    paced = true;
+                }
+                publishPaced(now);
+            } else {
+                paced = false;
+                int published = wheel.advance(now, this::publish);
+                load.recordGenerated(published);
+                metrics.recordGenerated(published);
+            }
+            sink.flush();
+        } catch (Exception e) {
+            // Never let an exception escape: the executor would silently cancel this shard
+            log.error("Simulation shard {} failed during tick", index, e);
+        }
+    }
+
+    private void runCommands() {
+        Consumer<SimulationShard> command;
+        while ((command = commands.poll()) != null) {
+            try {
+                command.accept(this);
+            } catch (Exception e) {
+                log.error("Simulation shard {} failed to apply command", index, e);
+            }
+        }
+    }
+
+    private void publishPaced(long now) {
+        long wallNow = System.currentTimeMillis();
+        int published = 0;
+        if (vehicles.isEmpty()) {
+            // Without vehicles nothing can be generated; the schedule moves on all the same
+            pacer.due(wallNow);
+        } else {
+            published = pacer.release(wallNow, intendedMillis -> {
+                VehicleState vehicle = vehicles.get(cursor);
+                cursor = (cursor + 1) % vehicles.size();
+                metrics.recordPacerLag(wallNow - intendedMillis);
+                sink.accept(generator.generate(vehicle, random, now));
+            });
+        }
+        load.recordGenerated(published);
+        metrics.recordGenerated(published);
+        // Keep the wheel current so vehicles resume their own interval once pacing stops
+        wheel.advance(now, this::skip);
+    }
+
+    private void skip(VehicleState vehicle) {
+        vehicle.updateNextPublishTime(intervals.get(vehicle.getVehicleType()));
+    }
+
+    private void publish(VehicleState vehicle) {
+        metrics.recordSchedulerLag(tickTime - vehicle.getNextPublishTime());
+        // Stamp the scheduled time: in compressed time one tick spans many publish deadlines
+        sink.accept(generator.generate(vehicle, random, vehicle.getNextPublishTime()));
+        vehicle.updateNextPublishTime(intervals.get(vehicle.getVehicleType()));
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Shard thread only; use {@link #getVehicleCount()} from other threads.
+     */
+    public List<VehicleState> getVehicles() {
+        return Collections.unmodifiableList(vehicles);
+    }
+
+    public int getVehicleCount() {
+        return vehicleCount;
+    }
+}
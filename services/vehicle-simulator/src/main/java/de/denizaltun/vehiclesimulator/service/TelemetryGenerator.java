@@ -1,42 +1,44 @@
 package de.denizaltun.vehiclesimulator.service;
 
+import de.denizaltun.vehiclesimulator.clock.SimulationClock;
 import de.denizaltun.vehiclesimulator.model.VehicleState;
 import de.denizaltun.vehiclesimulator.model.VehicleStatus;
 import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
 import de.denizaltun.vehiclesimulator.model.VehicleType;
+import de.denizaltun.vehiclesimulator.movement.GeoPoint;
+import de.denizaltun.vehiclesimulator.movement.MovementModel;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Generates realistic telemetry data for emergency vehicles.
  * Focuses on Munich area with realistic vehicle metrics based on operational status.
+ * Stateless: the caller passes its own random generator, so shards never contend on shared state.
+ * Positions come from the configured {@link MovementModel}, extra channels in wide mode from {@link SignalGenerator}.
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class TelemetryGenerator {
 
-    private static final double MUNICH_LAT = 48.1351;
-    private static final double MUNICH_LON = 11.5820;
-    private static final double MOVEMENT_RANGE = 0.05;  // ~5km radius
+    private final MovementModel movement;
+    private final SignalGenerator signals;
 
-    private final Random random = new Random();
+    // Generates telemetry for a vehicle based on its current state, stamped with the given simulated time (epoch millis).
+    public VehicleTelemetry generate(VehicleState vehicleState, RandomGenerator random, long timestampMillis) {
 
-    // Generates telemetry for a vehicle based on its current state.
-    public VehicleTelemetry generate(VehicleState vehicleState) {
-
-        vehicleState.transitionState();
-
-        // Generate GPS coordinates (Munich area with small random movement)
-        double latitude = MUNICH_LAT + (random.nextDouble() * MOVEMENT_RANGE * 2 - MOVEMENT_RANGE);
-        double longitude = MUNICH_LON + (random.nextDouble() * MOVEMENT_RANGE * 2 - MOVEMENT_RANGE);
+        vehicleState.transitionState(random);
 
         // Generate metrics based on vehicle status
-        double speed = generateSpeed(vehicleState.getVehicleStatus(), vehicleState.getVehicleType());
-        double engineTemp = generateEngineTemp(vehicleState.getVehicleStatus());
-        double fuelConsumption = calculateFuelConsumption(vehicleState.getVehicleStatus(), vehicleState.getVehicleType());
+        double speed = generateSpeed(vehicleState.getVehicleStatus(), vehicleState.getVehicleType(), random);
+
+        // GPS position, moved at the reported speed
+        GeoPoint position = movement.move(vehicleState, speed, timestampMillis, random);
+        double engineTemp = generateEngineTemp(vehicleState.getVehicleStatus(), random);
+        double fuelConsumption = calculateFuelConsumption(vehicleState.getVehicleStatus(), vehicleState.getVehicleType(), random);
         double fuelLevel = vehicleState.getFuelLevel() - fuelConsumption;
         VehicleStatus vehicleStatus = vehicleState.getVehicleStatus();
 
@@ -46,7 +48,7 @@ public class TelemetryGenerator {
             log.debug("Vehicle {} refueled to {:.1f}%", vehicleState.getVehicleId(), fuelLevel);
         }
 
-        double batteryVoltage = generateBatteryVoltage(vehicleState.getVehicleType());
+        double batteryVoltage = generateBatteryVoltage(vehicleState.getVehicleType(), random);
         boolean lightsActive = vehicleState.getVehicleStatus() == VehicleStatus.EN_ROUTE;
 
         // Update vehicle state for next iteration
@@ -55,22 +57,23 @@ public class TelemetryGenerator {
         return VehicleTelemetry.builder()
                 .vehicleId(vehicleState.getVehicleId())
                 .vehicleType(vehicleState.getVehicleType())
-                .timeStamp(LocalDateTime.now())
-                .latitude(latitude)
-                .longitude(longitude)
+                .timeStamp(SimulationClock.toLocalDateTime(timestampMillis))
+                .latitude(position.latitude())
+                .longitude(position.longitude())
                 .speed(speed)
                 .engineTemp(engineTemp)
                 .fuelLevel(fuelLevel)
                 .batteryVoltage(batteryVoltage)
                 .vehicleStatus(vehicleState.getVehicleStatus())
                 .emergencyLightsActive(lightsActive)
+                .signals(signals.generate(random))
                 .build();
     }
 
     /**
      * Generate realistic speed based on vehicle status and vehicle type.
      */
-    private double generateSpeed(VehicleStatus status, VehicleType vehicleType) {
+    private double generateSpeed(VehicleStatus status, VehicleType vehicleType, RandomGenerator random) {
         return switch (status) {
             case IDLE -> 0.0;       // Parked
 
@@ -93,7 +96,7 @@ public class TelemetryGenerator {
     /**
      * Generate realistic engine temperature based on status.
      */
-    private double generateEngineTemp(VehicleStatus status) {
+    private double generateEngineTemp(VehicleStatus status, RandomGenerator random) {
         double baseTemp = switch (status) {
             case IDLE -> 50.0;
             case EN_ROUTE -> 95.0; // Higher when driving fast
@@ -109,7 +112,7 @@ public class TelemetryGenerator {
      * - Fire trucks: 2x police cars
      * - Ambulances: 1.33x police cars (or fire trucks / 1.5)
      */
-    private double calculateFuelConsumption(VehicleStatus status, VehicleType vehicleType) {
+    private double calculateFuelConsumption(VehicleStatus status, VehicleType vehicleType, RandomGenerator random) {
         // No consumption when IDLE
         if (status == VehicleStatus.IDLE) {
             return 0.0;
@@ -126,7 +129,7 @@ public class TelemetryGenerator {
         };
     }
 
-    private double generateBatteryVoltage(VehicleType vehicleType) {
+    private double generateBatteryVoltage(VehicleType vehicleType, RandomGenerator random) {
         // Fire trucks use 24V system, others use 12V
         double nominalVoltage = (vehicleType == VehicleType.FIRE_TRUCK) ? 24.0 : 12.0;
 
@@ -0,0 +1,16 @@
+package de.denizaltun.vehiclesimulator.service;
+
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+
+import java.util.function.Consumer;
+
+/**
+ * Where a shard hands its generated telemetry. Sinks that buffer readings
+ * send them in {@link #flush()}, which the shard calls at the end of every tick.
+ */
+@FunctionalInterface
+public interface TelemetrySink extends Consumer<VehicleTelemetry> {
+
+    default void flush() {
+    }
+}
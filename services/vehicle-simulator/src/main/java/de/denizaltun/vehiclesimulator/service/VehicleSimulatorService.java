@@ -1,91 +1,348 @@
 package de.denizaltun.vehiclesimulator.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.vehiclesimulator.clock.ClockMode;
+import de.denizaltun.vehiclesimulator.clock.SimulationClock;
 import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.coordination.InstanceCoordinator;
+import de.denizaltun.vehiclesimulator.dataset.TelemetryCapture;
+import de.denizaltun.vehiclesimulator.fault.FaultInjector;
+import de.denizaltun.vehiclesimulator.dto.SimulatorStatus;
+import de.denizaltun.vehiclesimulator.load.LoadProfile;
+import de.denizaltun.vehiclesimulator.load.LoadProfileEngine;
+import de.denizaltun.vehiclesimulator.load.LoadProfiles;
+import de.denizaltun.vehiclesimulator.metrics.SimulatorMetrics;
+import de.denizaltun.vehiclesimulator.model.VehicleIds;
 import de.denizaltun.vehiclesimulator.model.VehicleState;
 import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
 import de.denizaltun.vehiclesimulator.model.VehicleType;
+import de.denizaltun.vehiclesimulator.scheduler.TimingWheel;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Orchestrates vehicle telemetry simulation.
- * Manages multiple vehicles and coordinates generation + publishing.
+ * Splits the fleet into shards and runs each shard on its own thread,
+ * coordinating generation + publishing.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.mode", havingValue = "simulate", matchIfMissing = true)
 public class VehicleSimulatorService {
 
     private final SimulatorConfig config;
     private final TelemetryGenerator generator;
+    private final LoadProfileEngine load;
+    private final SimulationClock clock;
+    private final TelemetryCapture capture;
+    private final FaultInjector faults;
+    private final InstanceCoordinator coordinator;
+    private final ObjectMapper objectMapper;
+    private final SimulatorMetrics metrics;
 
     // optional dependency - works without Kafka for testing
     @Autowired(required = false)
     private final KafkaPublisher publisher;
 
-    private List<VehicleState> vehicles;
+    private final List<SimulationShard> shards = new ArrayList<>();
+    private final List<ScheduledExecutorService> executors = new ArrayList<>();
+
+    // Ordinal of the next vehicle of this instance, mapped to a fleet-wide number by the coordinator
+    private final AtomicLong nextVehicleOrdinal = new AtomicLong();
+    private final Map<VehicleType, Long> intervals = new ConcurrentHashMap<>();
+    private volatile boolean paused;
 
     /**
-     * Initialize vehicles with staggered publish times.
+     * Initialize vehicles with staggered publish times and distribute them over the shards.
      * Creates realistic "operations center" feel with continuous updates.
      */
     @PostConstruct
     public void initialize() {
-        vehicles = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
+        long now = clock.now();
 
         int vehicleCount = config.getVehicles().getCount();
-        VehicleType[] types = VehicleType.values();
+        long intervalMillis = config.getTelemetry().getEffectiveIntervalMillis();
+        int shardCount = resolveShardCount();
+        for (VehicleType type : VehicleType.values()) {
+            intervals.put(type, intervalMillis);
+        }
+
+        // One root generator, split per shard: independent streams, reproducible when seeded
+        Long seed = config.getSimulation().getSeed();
+        SplittableRandom root = seed != null ? new SplittableRandom(coordinator.seedFor(seed)) : new SplittableRandom();
+
+        for (int s = 0; s < shardCount; s++) {
+            TimingWheel wheel = new TimingWheel(
+                    config.getScheduler().getTickMillis(),
+                    config.getScheduler().getWheelSize(),
+                    now);
+            shards.add(new SimulationShard(s, wheel, root.split(), generator, createSink(),
+                    intervalMillis, load, 1.0 / shardCount, clock, metrics));
+        }
 
         for (int i = 0; i < vehicleCount; i++) {
-            VehicleType type = types[i % types.length]; // Cycle through types
-            String vehicleId = String.format("%s-%03d", type.name(), i + 1);
+            long number = coordinator.vehicleNumber(nextVehicleOrdinal.getAndIncrement());
+            VehicleType type = VehicleIds.typeOf(number);   // Cycle through types
+            String vehicleId = VehicleIds.format(type, number);
 
-            // Explicit stagger: each vehicle starts 1 second apart
-            LocalDateTime initialPublishTime = now.plusSeconds(i);
+            // Spread first publish times evenly over one interval so load is flat from the start
+            long initialPublishTime = now + (intervalMillis * i) / vehicleCount;
 
-            vehicles.add(new VehicleState(vehicleId, type, initialPublishTime));
+            SimulationShard shard = shards.get(i % shardCount);
+            shard.addVehicle(new VehicleState(vehicleId, type, initialPublishTime, shard.getRandom()));
         }
 
-        log.info("Initialized {} vehicles with {} second publish interval",
-                vehicleCount, config.getTelemetry().getIntervalSeconds());
+        startShards();
+        coordinator.onSlotLost(this::pause);
+
+        log.info("Initialized {} vehicles on {} shards with {} ms publish interval ({} ms scheduler tick)",
+                vehicleCount, shardCount, intervalMillis, config.getScheduler().getTickMillis());
 
         if (publisher == null) {
             log.warn("KafkaPublisher not available - telemetry will only be logged");
+        } else if (config.getPublisher().getEnvelope().isEnabled()) {
+            log.info("Publishing envelopes of up to {} readings over {} keys per shard",
+                    config.getPublisher().getEnvelope().getMaxReadings(),
+                    config.getPublisher().getEnvelope().getBuckets());
         }
     }
 
     /**
-     * Scheduled task that checks all vehicles and publishes telemetry when needed.
-     * Runs every 1 second for ±1 second timing accuracy.
+     * One sink per shard: envelope batchers hold per-shard state and are flushed by their shard.
+     * While a load profile is active records are offered, i.e. shed when the publisher's window
+     * is full, so paced load never waits for the broker.
      */
-    @Scheduled(fixedDelayString = "${app.telemetry.interval-seconds}000")
-    public void checkAndPublish() {
-        for (VehicleState vehicle : vehicles) {
-            if (vehicle.shouldPublishNow()) {
-                VehicleTelemetry telemetry = generator.generate(vehicle);
-
-                if (publisher != null) {
-                    publisher.publish(telemetry);
-                } else {
-                    // Fallback: just log the telemetry
-                    log.info(String.format("Generated telemetry - Vehicle: %s, Status: %s, Speed: %.1f km/h, Fuel: %.1f%%, Lights: %s",
-                            telemetry.vehicleId(),
-                            telemetry.vehicleStatus(),
-                            telemetry.speed(),
-                            telemetry.fuelLevel(),
-                            telemetry.emergencyLightsActive() ? "ON" : "OFF"));
+    private TelemetrySink createSink() {
+        SimulatorConfig.Envelope envelope = config.getPublisher().getEnvelope();
+        if (publisher == null) {
+            return telemetry -> publish(telemetry, null);
+        }
+        if (!envelope.isEnabled()) {
+            return telemetry -> publish(telemetry, load.isActive() ? publisher::offer : publisher::publish);
+        }
+        EnvelopeBatcher batcher = new EnvelopeBatcher((key, payload) -> {
+            if (load.isActive()) {
+                publisher.offerEnvelope(key, payload);
+            } else {
+                publisher.publishEnvelope(key, payload);
+            }
+        }, objectMapper, envelope.getMaxReadings(), envelope.getBuckets());
+        return new TelemetrySink() {
+            @Override
+            public void accept(VehicleTelemetry telemetry) {
+                publish(telemetry, batcher);
+            }
+
+            @Override
+            public void flush() {
+                batcher.flush();
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // shutdownNow interrupts lock-step shards, shutdown alone would wait for their loop forever
+        executors.forEach(clock.getMode() == ClockMode.FASTEST
+                ? ScheduledExecutorService::shutdownNow
+                : ScheduledExecutorService::shutdown);
+        for (ScheduledExecutorService executor : executors) {
+            try {
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
                 }
-                vehicle.updateNextPublishTime(config.getTelemetry().getIntervalSeconds());
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Each shard ticks on its own single-threaded executor: at the timing wheel resolution,
+     * or back-to-back in lock-step with the other shards when the clock runs as fast as possible.
+     */
+    private void startShards() {
+        long tickMillis = config.getScheduler().getTickMillis();
+        if (clock.getMode() == ClockMode.SCALED
+                && config.getClock().getFactor() >= config.getScheduler().getWheelSize()) {
+            log.warn("Clock factor {} covers more than one wheel revolution per tick - increase app.scheduler.wheel-size",
+                    config.getClock().getFactor());
+        }
+        if (clock.getMode() == ClockMode.FASTEST) {
+            // Register every party before any shard starts, or the first one would run ahead alone
+            shards.forEach(shard -> clock.register());
+        }
+
+        for (SimulationShard shard : shards) {
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "sim-shard-" + shard.getIndex());
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (clock.getMode() == ClockMode.FASTEST) {
+                executor.execute(shard::runLockStep);
+            } else {
+                executor.scheduleAtFixedRate(shard, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+            }
+            executors.add(executor);
+        }
+    }
+
+    /**
+     * Configured shard count, defaulting to one per available core.
+     * Not capped by the initial fleet size, since vehicles can be added at runtime.
+     */
+    private int resolveShardCount() {
+        int configured = config.getSimulation().getShards();
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Adds vehicles at runtime, spread over the shards. Types cycle like at startup unless one is given.
+     * First publish times are randomized over one interval so the added load is flat.
+     */
+    public void addVehicles(VehicleType type, int count) {
+        for (int i = 0; i < count; i++) {
+            long ordinal = nextVehicleOrdinal.getAndIncrement();
+            long number = coordinator.vehicleNumber(ordinal);
+            VehicleType vehicleType = type != null ? type : VehicleIds.typeOf(number);
+            String vehicleId = VehicleIds.format(vehicleType, number);
+            shards.get((int) (ordinal % shards.size())).submit(shard -> {
+                long interval = intervals.get(vehicleType);
+                long firstPublish = clock.now() + shard.getRandom().nextLong(interval);
+                shard.addVehicle(new VehicleState(vehicleId, vehicleType, firstPublish, shard.getRandom()));
+            });
+        }
+        log.info("Adding {} {} vehicles", count, type != null ? type : "mixed");
+    }
+
+    /**
+     * Removes up to {@code count} vehicles of the given type (any if {@code null}), evenly over the shards.
+     * A shard with fewer matching vehicles than its share removes what it has.
+     */
+    public void removeVehicles(VehicleType type, int count) {
+        int shardCount = shards.size();
+        for (int s = 0; s < shardCount; s++) {
+            int share = count / shardCount + (s < count % shardCount ? 1 : 0);
+            if (share > 0) {
+                shards.get(s).submit(shard -> shard.removeVehicles(type, share));
+            }
+        }
+        log.info("Removing up to {} {} vehicles", count, type != null ? type : "mixed");
+    }
+
+    /**
+     * Changes the publish interval of one vehicle type on every shard.
+     */
+    public void setInterval(VehicleType type, Duration interval) {
+        long intervalMillis = interval.toMillis();
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        }
+        intervals.put(type, intervalMillis);
+        shards.forEach(shard -> shard.submit(s -> s.setInterval(type, intervalMillis, clock.now())));
+        log.info("Publish interval for {} set to {} ms", type, intervalMillis);
+    }
+
+    /**
+     * Hands a command to every shard, see {@link SimulationShard#submit}.
+     */
+    public void submitToAll(Consumer<SimulationShard> command) {
+        shards.forEach(shard -> shard.submit(command));
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public void pause() {
+        paused = true;
+        shards.forEach(shard -> shard.setPaused(true));
+        log.info("Simulation paused");
+    }
+
+    public void resume() {
+        if (coordinator.isSlotLost()) {
+            log.error("Not resuming: instance slot {} belongs to another instance now", coordinator.getIndex());
+            return;
+        }
+        paused = false;
+        shards.forEach(shard -> shard.setPaused(false));
+        log.info("Simulation resumed");
+    }
+
+    /**
+     * Switches to the given load profile, or back to per-vehicle intervals if its type is NONE.
+     */
+    public void switchLoadProfile(SimulatorConfig.Load profile) {
+        load.start(LoadProfiles.fromConfig(profile));
+        if (!load.isActive()) {
+            log.info("Load profile stopped, vehicles publish at their own intervals");
+        }
+    }
+
+    /**
+     * Snapshot of the running simulation. Vehicle counts lag pending commands by at most one tick.
+     */
+    public SimulatorStatus getStatus() {
+        LoadProfile profile = load.getProfile();
+        return SimulatorStatus.builder()
+                .instanceIndex(coordinator.getIndex())
+                .instanceCount(coordinator.getCount())
+                .paused(paused)
+                .shards(shards.size())
+                .vehicles(shards.stream().mapToInt(SimulationShard::getVehicleCount).sum())
+                .intervalsMillis(new EnumMap<>(intervals))
+                .loadProfile(profile != null ? profile.name() : null)
+                .targetRate(load.getLastTargetRate())
+                .achievedRate(load.getLastAchievedRate())
+                .clockMode(clock.getMode())
+                .simulatedTime(SimulationClock.toLocalDateTime(clock.now()))
+                .build();
+    }
+
+    /**
+     * Captures the reading, then hands it to {@code transport} (single record or envelope batcher),
+     * through fault injection when enabled. Without a transport the reading is only logged.
+     */
+    private void publish(VehicleTelemetry telemetry, Consumer<VehicleTelemetry> transport) {
+        if (capture.isEnabled()) {
+            capture.record(telemetry);
+        }
+        if (transport != null) {
+            if (faults.isEnabled()) {
+                faults.apply(telemetry, transport, publisher::publishRaw);
+            } else {
+                transport.accept(telemetry);
             }
+        } else {
+            // Fallback: just log the telemetry
+            log.info(String.format("Generated telemetry - Vehicle: %s, Status: %s, Speed: %.1f km/h, Fuel: %.1f%%, Lights: %s",
+                    telemetry.vehicleId(),
+                    telemetry.vehicleStatus(),
+                    telemetry.speed(),
+                    telemetry.fuelLevel(),
+                    telemetry.emergencyLightsActive() ? "ON" : "OFF"));
         }
     }
 }
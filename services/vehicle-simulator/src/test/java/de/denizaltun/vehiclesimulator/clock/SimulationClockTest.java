@@ -0,0 +1,72 @@
+package de.denizaltun.vehiclesimulator.clock;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SimulationClock Unit Tests")
+class SimulationClockTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 9, 1, 0, 0);
+
+    private SimulationClock clock(ClockMode mode, double factor) {
+        SimulatorConfig config = new SimulatorConfig();
+        config.getClock().setMode(mode);
+        config.getClock().setFactor(factor);
+        config.getClock().setStart(START);
+        config.getClock().setDuration(Duration.ofDays(30));
+        return new SimulationClock(config);
+    }
+
+    @Test
+    @DisplayName("Scaled clock should start at the configured time and run faster than wall-clock time")
+    void scaledClockRunsFaster() throws InterruptedException {
+        SimulationClock clock = clock(ClockMode.SCALED, 1000);
+
+        long first = clock.now();
+        Thread.sleep(50);
+        long second = clock.now();
+
+        assertThat(SimulationClock.toLocalDateTime(clock.getOriginMillis())).isEqualTo(START);
+        assertThat(second - first).isGreaterThanOrEqualTo(50_000);
+    }
+
+    @Test
+    @DisplayName("Lock-step clock should only advance once every registered shard arrived")
+    void fastestClockAdvancesInLockStep() throws Exception {
+        SimulationClock clock = clock(ClockMode.FASTEST, 1);
+        clock.register();
+        clock.register();
+
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return clock.awaitNextTick();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertThat(first).isNotDone();
+
+        long tick = clock.awaitNextTick();
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo(tick);
+        assertThat(tick).isEqualTo(clock.getOriginMillis() + 100);
+    }
+
+    @Test
+    @DisplayName("Should report the end of the configured simulated duration")
+    void shouldFinishAfterDuration() {
+        SimulationClock clock = clock(ClockMode.FASTEST, 1);
+
+        assertThat(clock.isFinished(clock.getOriginMillis())).isFalse();
+        assertThat(clock.isFinished(clock.getOriginMillis() + Duration.ofDays(30).toMillis())).isTrue();
+    }
+}
@@ -0,0 +1,91 @@
+package de.denizaltun.vehiclesimulator.coordination;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InstanceCoordinator Unit Tests")
+class InstanceCoordinatorTest {
+
+    @TempDir
+    Path dir;
+
+    private SimulatorConfig config(CoordinationMode mode, int index, int count) {
+        SimulatorConfig config = new SimulatorConfig();
+        config.getInstance().setCoordination(mode);
+        config.getInstance().setIndex(index);
+        config.getInstance().setCount(count);
+        config.getInstance().setClaimFile(dir.resolve("instances"));
+        return config;
+    }
+
+    @Test
+    @DisplayName("Should give every instance a disjoint set of vehicle numbers")
+    void shouldPartitionVehicleNumbers() {
+        Set<Long> numbers = new HashSet<>();
+        for (int index = 0; index < 3; index++) {
+            InstanceCoordinator coordinator = new InstanceCoordinator(config(CoordinationMode.CONFIG, index, 3));
+            for (long ordinal = 0; ordinal < 1_000; ordinal++) {
+                assertThat(numbers.add(coordinator.vehicleNumber(ordinal))).isTrue();
+            }
+        }
+        assertThat(numbers).hasSize(3_000).contains(1L, 3_000L);
+    }
+
+    @Test
+    @DisplayName("Should claim the lowest free slot in the claim file and release it on shutdown")
+    void shouldClaimSlotsFromFile() throws Exception {
+        InstanceCoordinator first = new InstanceCoordinator(config(CoordinationMode.FILE, 0, 2));
+        InstanceCoordinator second = new InstanceCoordinator(config(CoordinationMode.FILE, 0, 2));
+
+        assertThat(first.getIndex()).isZero();
+        assertThat(second.getIndex()).isEqualTo(1);
+        assertThatThrownBy(() -> new InstanceCoordinator(config(CoordinationMode.FILE, 0, 2)))
+                .isInstanceOf(IllegalStateException.class);
+
+        first.release();
+        assertThat(Files.readAllLines(dir.resolve("instances"))).hasSize(1);
+        assertThat(new InstanceCoordinator(config(CoordinationMode.FILE, 0, 2)).getIndex()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should renew its own claim but give up a slot another instance took over")
+    void shouldNotEvictNewOwnerOnHeartbeat() throws Exception {
+        SimulatorConfig config = config(CoordinationMode.FILE, 0, 1);
+        InstanceCoordinator stalled = new InstanceCoordinator(config);
+        AtomicBoolean stopped = new AtomicBoolean();
+        stalled.onSlotLost(() -> stopped.set(true));
+        stalled.heartbeat();
+        assertThat(stalled.isSlotLost()).isFalse();
+
+        // The stalled instance missed its lease and a new one took the slot
+        Path claims = dir.resolve("instances");
+        Files.writeString(claims, Files.readString(claims).replaceFirst(",\\d+\n$", ",0\n"));
+        InstanceCoordinator successor = new InstanceCoordinator(config);
+        String successorClaim = Files.readString(claims);
+
+        stalled.heartbeat();
+
+        assertThat(successor.getIndex()).isZero();
+        assertThat(stalled.isSlotLost()).isTrue();
+        assertThat(stopped).isTrue();
+        assertThat(Files.readString(claims)).isEqualTo(successorClaim);
+    }
+
+    @Test
+    @DisplayName("Should reject an index outside the instance count")
+    void shouldRejectInvalidIndex() {
+        assertThatThrownBy(() -> new InstanceCoordinator(config(CoordinationMode.CONFIG, 2, 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
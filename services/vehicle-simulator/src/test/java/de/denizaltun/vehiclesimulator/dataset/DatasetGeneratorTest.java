@@ -0,0 +1,68 @@
+package de.denizaltun.vehiclesimulator.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.coordination.InstanceCoordinator;
+import de.denizaltun.vehiclesimulator.movement.RandomMovement;
+import de.denizaltun.vehiclesimulator.service.SignalGenerator;
+import de.denizaltun.vehiclesimulator.service.TelemetryGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DatasetGenerator Unit Tests")
+class DatasetGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    private long generate(DatasetFormat format, Path output) throws Exception {
+        SimulatorConfig config = new SimulatorConfig();
+        config.getVehicles().setCount(10);
+        config.getTelemetry().setIntervalSeconds(60);
+        config.getDataset().setFormat(format);
+        config.getDataset().setOutput(output);
+        config.getDataset().setStart(LocalDateTime.of(2026, 9, 1, 0, 0));
+        config.getDataset().setSpan(Duration.ofHours(1));
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new DatasetGenerator(config, new TelemetryGenerator(new RandomMovement(), new SignalGenerator(0)), objectMapper,
+                new InstanceCoordinator(config), null).generate();
+    }
+
+    @Test
+    @DisplayName("Should write one CSV row per vehicle and interval with a header")
+    void shouldWriteCsv() throws Exception {
+        long written = generate(DatasetFormat.CSV, dir.resolve("telemetry"));
+
+        List<String> lines = Files.readAllLines(dir.resolve("telemetry.csv"));
+        assertThat(written).isEqualTo(600);
+        assertThat(lines).hasSize(601);
+        assertThat(lines.get(0)).isEqualTo(CsvTelemetryWriter.HEADER);
+        assertThat(lines.get(1)).startsWith("POLICE-001,2026-09-01T00:00:00,");
+    }
+
+    @Test
+    @DisplayName("Should produce identical files for the same seed")
+    void shouldBeReproducible() throws Exception {
+        generate(DatasetFormat.BINARY, dir.resolve("a.ewt"));
+        generate(DatasetFormat.BINARY, dir.resolve("b.ewt"));
+
+        assertThat(Files.mismatch(dir.resolve("a.ewt"), dir.resolve("b.ewt"))).isEqualTo(-1);
+        assertThat(Files.size(dir.resolve("a.ewt"))).isLessThan(Files.size(generateNdjson()));
+    }
+
+    private Path generateNdjson() throws Exception {
+        generate(DatasetFormat.NDJSON, dir.resolve("c.ndjson"));
+        return dir.resolve("c.ndjson");
+    }
+}
@@ -0,0 +1,108 @@
+package de.denizaltun.vehiclesimulator.fault;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.model.VehicleStatus;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FaultInjector Unit Tests")
+class FaultInjectorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 9, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final SimulatorConfig config = new SimulatorConfig();
+    private final List<VehicleTelemetry> sent = new ArrayList<>();
+    private final List<byte[]> sentRaw = new ArrayList<>();
+
+    private final VehicleTelemetry telemetry = VehicleTelemetry.builder()
+            .vehicleId("FIRE_TRUCK-003")
+            .vehicleType(VehicleType.FIRE_TRUCK)
+            .vehicleStatus(VehicleStatus.EN_ROUTE)
+            .timeStamp(NOW)
+            .latitude(48.1)
+            .longitude(11.5)
+            .build();
+
+    private void apply() {
+        new FaultInjector(config, objectMapper).apply(telemetry, sent::add, (key, payload) -> sentRaw.add(payload));
+    }
+
+    @Test
+    @DisplayName("Should be disabled and pass messages through when all rates are zero")
+    void shouldPassThroughWhenDisabled() {
+        assertThat(new FaultInjector(config, objectMapper).isEnabled()).isFalse();
+
+        apply();
+
+        assertThat(sent).containsExactly(telemetry);
+        assertThat(sentRaw).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should send duplicates as identical records")
+    void shouldDuplicate() {
+        config.getFaults().setDuplicateRate(1.0);
+
+        apply();
+
+        assertThat(sent).containsExactly(telemetry, telemetry);
+    }
+
+    @Test
+    @DisplayName("Should age late records within the configured range")
+    void shouldDelayLateRecords() {
+        config.getFaults().setLateRate(1.0);
+        config.getFaults().setLateMin(Duration.ofMinutes(10));
+        config.getFaults().setLateMax(Duration.ofMinutes(20));
+
+        apply();
+
+        assertThat(sent).singleElement()
+                .satisfies(t -> assertThat(t.timeStamp()).isBetween(NOW.minusMinutes(20), NOW.minusMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("Should send null fields as JSON through the raw path")
+    void shouldNullField() throws Exception {
+        config.getFaults().setNullFieldRate(1.0);
+
+        apply();
+
+        assertThat(sent).isEmpty();
+        var json = objectMapper.readTree(sentRaw.get(0));
+        assertThat(List.of("vehicleId", "timeStamp", "latitude", "longitude"))
+                .anyMatch(field -> json.get(field).isNull());
+    }
+
+    @Test
+    @DisplayName("Should send payloads that do not decode as telemetry")
+    void shouldSendMalformedPayloads() {
+        config.getFaults().setMalformedRate(1.0);
+
+        for (int i = 0; i < 20; i++) {
+            apply();
+        }
+
+        assertThat(sent).isEmpty();
+        assertThat(sentRaw).hasSize(20).allSatisfy(payload ->
+                assertThatThrownBy(() -> objectMapper.readValue(payload, VehicleTelemetry.class))
+                        .isInstanceOf(Exception.class));
+    }
+}
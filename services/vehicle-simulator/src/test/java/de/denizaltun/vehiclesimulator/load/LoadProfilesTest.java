@@ -0,0 +1,129 @@
+package de.denizaltun.vehiclesimulator.load;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Load Profile Unit Tests")
+class LoadProfilesTest {
+
+    @Nested
+    @DisplayName("Rate curves")
+    class RateCurves {
+
+        @Test
+        @DisplayName("Ramp should interpolate linearly and hold the end rate")
+        void rampInterpolates() {
+            LoadProfile ramp = new LoadProfiles.Ramp(100, 1100, 10_000);
+
+            assertThat(ramp.targetRate(0)).isEqualTo(100);
+            assertThat(ramp.targetRate(5_000)).isEqualTo(600);
+            assertThat(ramp.targetRate(60_000)).isEqualTo(1100);
+        }
+
+        @Test
+        @DisplayName("Burst should switch to the burst rate at the start of every period")
+        void burstRepeats() {
+            LoadProfile burst = new LoadProfiles.Burst(10, 1000, 60_000, 5_000);
+
+            assertThat(burst.targetRate(1_000)).isEqualTo(1000);
+            assertThat(burst.targetRate(30_000)).isEqualTo(10);
+            assertThat(burst.targetRate(62_000)).isEqualTo(1000);
+        }
+
+        @Test
+        @DisplayName("Step should hold the last rate once all steps are used")
+        void stepHoldsLastRate() {
+            LoadProfile step = new LoadProfiles.Step(List.of(100.0, 200.0, 400.0), 1_000);
+
+            assertThat(step.targetRate(500)).isEqualTo(100);
+            assertThat(step.targetRate(1_500)).isEqualTo(200);
+            assertThat(step.targetRate(99_000)).isEqualTo(400);
+        }
+
+        @Test
+        @DisplayName("Soak should warm up, sustain and stop after its duration")
+        void soakWarmsUpAndStops() {
+            LoadProfile soak = new LoadProfiles.Soak(200, 10_000, 3_600_000);
+
+            assertThat(soak.targetRate(5_000)).isEqualTo(100);
+            assertThat(soak.targetRate(1_800_000)).isEqualTo(200);
+            assertThat(soak.targetRate(3_600_000)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("RatePacer")
+    class Pacing {
+
+        private LoadProfileEngine engine(double rate) {
+            SimulatorConfig config = new SimulatorConfig();
+            config.getLoad().setProfile(LoadProfileType.CONSTANT);
+            config.getLoad().setRate(rate);
+            return new LoadProfileEngine(config);
+        }
+
+        @Test
+        @DisplayName("Should owe messages for a late tick")
+        void shouldCatchUpLateTick() {
+            RatePacer pacer = new RatePacer(engine(1000), 1.0, 100);
+
+            assertThat(pacer.due(0)).isZero();
+            assertThat(pacer.due(100)).isEqualTo(100);
+            assertThat(pacer.due(250)).isEqualTo(150);
+        }
+
+        @Test
+        @DisplayName("Should drain the backlog of a stall at a bounded rate without losing it")
+        void shouldDrainBacklogAfterStall() {
+            RatePacer pacer = new RatePacer(engine(1000), 1.0, 100);
+
+            pacer.due(0);
+            // A 2 s stall owes 2000 messages; each tick releases its own 100 plus at most 100 more
+            assertThat(pacer.due(2_000)).isEqualTo(200);
+            int total = 200;
+            for (long now = 2_100; now <= 4_000; now += 100) {
+                int due = pacer.due(now);
+                assertThat(due).isLessThanOrEqualTo(200);
+                total += due;
+            }
+
+            assertThat(total).isEqualTo(4_000);
+            assertThat(pacer.due(4_100)).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Should hand out the intended send time of every released message")
+        void shouldReleaseIntendedSendTimes() {
+            RatePacer pacer = new RatePacer(engine(10), 1.0, 100);
+            List<Long> intended = new ArrayList<>();
+
+            for (long now = 0; now <= 1_000; now += 100) {
+                pacer.release(now, intended::add);
+            }
+
+            assertThat(intended).containsExactly(0L, 100L, 200L, 300L, 400L, 500L, 600L, 700L, 800L, 900L);
+        }
+
+        @Test
+        @DisplayName("Should carry fractional credit between ticks")
+        void shouldCarryFractionalCredit() {
+            RatePacer pacer = new RatePacer(engine(15), 0.5, 100);   // 7.5 msg/s for this shard
+
+            int total = 0;
+            pacer.due(0);
+            for (long now = 100; now <= 10_000; now += 100) {
+                total += pacer.due(now);
+            }
+
+            assertThat((double) total).isCloseTo(75, within(1.0));
+        }
+    }
+}
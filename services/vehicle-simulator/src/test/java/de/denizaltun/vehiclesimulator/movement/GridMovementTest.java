@@ -0,0 +1,93 @@
+package de.denizaltun.vehiclesimulator.movement;
+
+import de.denizaltun.vehiclesimulator.model.VehicleState;
+import de.denizaltun.vehiclesimulator.model.VehicleStatus;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GridMovement Unit Tests")
+class GridMovementTest {
+
+    private static final long START = 1_000_000L;
+    private static final long INTERVAL = 3_000L;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final RoadGrid grid = new RoadGrid(RandomMovement.MUNICH, 250, 20, 4, 3, 0.7, 7);
+    private final GridMovement movement = new GridMovement(grid);
+
+    @Test
+    @DisplayName("Should start idle vehicles at their home station")
+    void shouldStartAtHomeStation() {
+        VehicleState vehicle = new VehicleState("POLICE-001", VehicleType.POLICE, START, random);
+
+        GeoPoint position = movement.move(vehicle, 0, START, random);
+
+        assertThat(position).isEqualTo(grid.stationFor("POLICE-001"));
+        assertThat(grid.getStations()).contains(position);
+    }
+
+    @Test
+    @DisplayName("Should move no further between readings than speed allows")
+    void shouldMoveContinuously() {
+        VehicleState vehicle = new VehicleState("AMBULANCE-002", VehicleType.AMBULANCE, START, random);
+        movement.move(vehicle, 0, START, random);
+        vehicle.setVehicleStatus(VehicleStatus.EN_ROUTE);
+
+        double speedKmh = 72;   // 20 m/s, 60 m per reading
+        GeoPoint previous = movement.move(vehicle, speedKmh, START + INTERVAL, random);
+        for (int i = 2; i < 20; i++) {
+            GeoPoint position = movement.move(vehicle, speedKmh, START + i * INTERVAL, random);
+            assertThat(previous.distanceMeters(position)).isLessThanOrEqualTo(60.0 + 1e-6);
+            previous = position;
+        }
+    }
+
+    @Test
+    @DisplayName("Should arrive on scene and return to the home station")
+    void shouldCompleteIncidentCycle() {
+        VehicleState vehicle = new VehicleState("FIRE_TRUCK-003", VehicleType.FIRE_TRUCK, START, random);
+        GeoPoint home = movement.move(vehicle, 0, START, random);
+        vehicle.setVehicleStatus(VehicleStatus.EN_ROUTE);
+
+        boolean wasOnScene = false;
+        long now = START;
+        for (int i = 0; i < 2_000 && !(wasOnScene && vehicle.getVehicleStatus() == VehicleStatus.IDLE); i++) {
+            now += INTERVAL;
+            vehicle.transitionState(random);
+            wasOnScene |= vehicle.getVehicleStatus() == VehicleStatus.ON_SCENE;
+            boolean moving = vehicle.getVehicleStatus() == VehicleStatus.EN_ROUTE
+                    || vehicle.getVehicleStatus() == VehicleStatus.RETURNING;
+            movement.move(vehicle, moving ? 60 : 0, now, random);
+        }
+
+        assertThat(wasOnScene).isTrue();
+        assertThat(vehicle.getVehicleStatus()).isEqualTo(VehicleStatus.IDLE);
+        assertThat(vehicle.getPosition()).isEqualTo(home);
+    }
+
+    @Test
+    @DisplayName("Should follow the grid with a single turn")
+    void shouldRouteAlongGrid() {
+        GeoPoint from = grid.intersection(0, 0);
+        GeoPoint to = grid.intersection(4, -3);
+        Route route = grid.route(from, to, random);
+
+        // The straight-line distance is shorter than the route, so the vehicle is still on the grid mid-way
+        GeoPoint halfway = route.advance(from.distanceMeters(to));
+        assertThat(route.isComplete()).isFalse();
+        boolean onRow = Math.abs(halfway.latitude() - from.latitude()) < 1e-9
+                || Math.abs(halfway.latitude() - to.latitude()) < 1e-9;
+        boolean onColumn = Math.abs(halfway.longitude() - from.longitude()) < 1e-9
+                || Math.abs(halfway.longitude() - to.longitude()) < 1e-9;
+        assertThat(onRow || onColumn).isTrue();
+
+        route.advance(10_000);
+        assertThat(route.isComplete()).isTrue();
+        assertThat(route.getPosition()).isEqualTo(to);
+    }
+}
@@ -0,0 +1,123 @@
+package de.denizaltun.vehiclesimulator.scheduler;
+
+import de.denizaltun.vehiclesimulator.model.VehicleState;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TimingWheel Unit Tests")
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private VehicleState vehicle(String id, VehicleType type, long nextPublishTime) {
+        return new VehicleState(id, type, nextPublishTime, random);
+    }
+
+    @Test
+    @DisplayName("Should only fire vehicles whose publish time has passed")
+    void shouldFireOnlyDueVehicles() {
+        TimingWheel wheel = new TimingWheel(100, 64, START);
+        VehicleState early = vehicle("POLICE-001", VehicleType.POLICE, START + 250);
+        VehicleState late = vehicle("AMBULANCE-002", VehicleType.AMBULANCE, START + 900);
+        wheel.schedule(early);
+        wheel.schedule(late);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START + 500, v -> {
+            fired.add(v.getVehicleId());
+            v.updateNextPublishTime(10_000);
+        });
+
+        assertThat(fired).containsExactly("POLICE-001");
+        assertThat(wheel.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should re-insert fired vehicles at their next publish time")
+    void shouldRescheduleAfterFiring() {
+        TimingWheel wheel = new TimingWheel(100, 16, START);
+        VehicleState vehicle = vehicle("FIRE_TRUCK-003", VehicleType.FIRE_TRUCK, START + 100);
+        wheel.schedule(vehicle);
+
+        int[] count = {0};
+        for (long now = START; now <= START + 1_000; now += 100) {
+            wheel.advance(now, v -> {
+                count[0]++;
+                v.updateNextPublishTime(300);
+            });
+        }
+
+        // Fires at +100, +400, +700, +1000
+        assertThat(count[0]).isEqualTo(4);
+        assertThat(vehicle.getNextPublishTime()).isEqualTo(START + 1_300);
+    }
+
+    @Test
+    @DisplayName("Should support deadlines beyond one wheel revolution")
+    void shouldHandleDeadlinesBeyondOneRevolution() {
+        TimingWheel wheel = new TimingWheel(10, 8, START);   // one revolution = 80 ms
+        VehicleState vehicle = vehicle("POLICE-004", VehicleType.POLICE, START + 250);
+        wheel.schedule(vehicle);
+
+        int[] count = {0};
+        for (long now = START; now < START + 250; now += 10) {
+            wheel.advance(now, v -> count[0]++);
+        }
+        assertThat(count[0]).isZero();
+
+        wheel.advance(START + 250, v -> {
+            count[0]++;
+            v.updateNextPublishTime(1_000);
+        });
+        assertThat(count[0]).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should catch up on all overdue vehicles after a stall")
+    void shouldCatchUpAfterStall() {
+        TimingWheel wheel = new TimingWheel(10, 8, START);
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(vehicle("POLICE-" + i, VehicleType.POLICE, START + i * 7L));
+        }
+
+        int fired = wheel.advance(START + 5_000, v -> v.updateNextPublishTime(60_000));
+
+        assertThat(fired).isEqualTo(100);
+        assertThat(wheel.size()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should fire a deadline later in the current tick on the next tick, not a revolution later")
+    void shouldFireDeadlineInsideCurrentTickOnNextTick() {
+        TimingWheel wheel = new TimingWheel(100, 64, START);
+        VehicleState vehicle = vehicle("AMBULANCE-005", VehicleType.AMBULANCE, START + 150);
+        wheel.schedule(vehicle);
+
+        int[] count = {0};
+        wheel.advance(START + 120, v -> count[0]++);
+        assertThat(count[0]).isZero();
+
+        wheel.advance(START + 220, v -> {
+            count[0]++;
+            v.updateNextPublishTime(10_000);
+        });
+        assertThat(count[0]).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject wheel sizes that are not a power of two")
+    void shouldRejectInvalidWheelSize() {
+        assertThatThrownBy(() -> new TimingWheel(100, 100, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
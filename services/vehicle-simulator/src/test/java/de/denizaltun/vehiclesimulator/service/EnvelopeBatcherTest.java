@@ -0,0 +1,137 @@
+package de.denizaltun.vehiclesimulator.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.vehiclesimulator.clock.SimulationClock;
+import de.denizaltun.vehiclesimulator.config.KafkaProducerConfig;
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.load.LoadProfileEngine;
+import de.denizaltun.vehiclesimulator.metrics.SimulatorMetrics;
+import de.denizaltun.vehiclesimulator.model.VehicleState;
+import de.denizaltun.vehiclesimulator.model.VehicleStatus;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import de.denizaltun.vehiclesimulator.movement.RandomMovement;
+import de.denizaltun.vehiclesimulator.scheduler.TimingWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EnvelopeBatcher Unit Tests")
+class EnvelopeBatcherTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    private final ObjectMapper objectMapper = new KafkaProducerConfig(null, new SimulatorConfig()).objectMapper();
+    private final List<Envelope> sent = new ArrayList<>();
+
+    private EnvelopeBatcher batcher(int maxReadings, int buckets) {
+        return new EnvelopeBatcher((key, payload) -> sent.add(new Envelope(key, decode(payload))),
+                objectMapper, maxReadings, buckets);
+    }
+
+    private List<String> decode(byte[] payload) {
+        try {
+            List<String> vehicleIds = new ArrayList<>();
+            for (JsonNode reading : objectMapper.readTree(payload).get("readings")) {
+                vehicleIds.add(reading.get("vehicleId").asText() + "@" + reading.get("timeStamp").asText());
+            }
+            return vehicleIds;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static VehicleTelemetry reading(String vehicleId, int second) {
+        return VehicleTelemetry.builder()
+                .vehicleId(vehicleId)
+                .vehicleType(VehicleType.POLICE)
+                .vehicleStatus(VehicleStatus.IDLE)
+                .timeStamp(TIME.plusSeconds(second))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should always send a vehicle's readings under the same key, in order")
+    void shouldKeepVehicleOnOneKey() {
+        EnvelopeBatcher batcher = batcher(5, 4);
+        for (int second = 0; second < 3; second++) {
+            for (int v = 0; v < 20; v++) {
+                batcher.accept(reading("POLICE-%03d".formatted(v), second));
+            }
+            batcher.flush();
+        }
+
+        Map<String, Set<String>> keysByVehicle = new HashMap<>();
+        Map<String, List<String>> readingsByVehicle = new HashMap<>();
+        for (Envelope envelope : sent) {
+            for (String reading : envelope.readings()) {
+                String vehicleId = reading.substring(0, reading.indexOf('@'));
+                keysByVehicle.computeIfAbsent(vehicleId, id -> new HashSet<>()).add(envelope.key());
+                readingsByVehicle.computeIfAbsent(vehicleId, id -> new ArrayList<>()).add(reading);
+            }
+        }
+
+        assertThat(keysByVehicle).hasSize(20).allSatisfy((vehicleId, keys) -> assertThat(keys).hasSize(1));
+        assertThat(sent).extracting(Envelope::key).allMatch(key -> key.matches("envelope-[0-3]"));
+        assertThat(readingsByVehicle.get("POLICE-007")).containsExactly(
+                "POLICE-007@2026-10-17T12:00:00", "POLICE-007@2026-10-17T12:00:01", "POLICE-007@2026-10-17T12:00:02");
+    }
+
+    @Test
+    @DisplayName("Should send an envelope as soon as it is full and the rest on flush")
+    void shouldSendWhenFull() {
+        EnvelopeBatcher batcher = batcher(3, 1);
+
+        for (int second = 0; second < 7; second++) {
+            batcher.accept(reading("POLICE-001", second));
+        }
+
+        assertThat(sent).extracting(envelope -> envelope.readings().size()).containsExactly(3, 3);
+
+        batcher.flush();
+        batcher.flush();
+
+        assertThat(sent).extracting(envelope -> envelope.readings().size()).containsExactly(3, 3, 1);
+        assertThat(sent.get(2).readings()).containsExactly("POLICE-001@2026-10-17T12:00:06");
+    }
+
+    @Test
+    @DisplayName("Should send the partly filled envelopes at the end of every shard tick")
+    void shouldFlushAtEndOfTick() {
+        long start = 1_000_000L;
+        SimulatorConfig config = new SimulatorConfig();
+        LoadProfileEngine load = new LoadProfileEngine(config);
+        SimulationShard shard = new SimulationShard(0, new TimingWheel(100, 64, start), new SplittableRandom(7),
+                new TelemetryGenerator(new RandomMovement(), new SignalGenerator(0)), batcher(100, 2), 1_000L,
+                load, 1.0, new SimulationClock(config),
+                new SimulatorMetrics(new SimpleMeterRegistry(), load));
+        shard.addVehicle(new VehicleState("POLICE-001", VehicleType.POLICE, start + 100, shard.getRandom()));
+        shard.addVehicle(new VehicleState("AMBULANCE-002", VehicleType.AMBULANCE, start + 100, shard.getRandom()));
+
+        shard.tick(start + 100);
+
+        assertThat(sent).flatExtracting(Envelope::readings).hasSize(2);
+
+        shard.tick(start + 200);
+
+        // No vehicle was due, so there was nothing to flush
+        assertThat(sent).flatExtracting(Envelope::readings).hasSize(2);
+    }
+
+    private record Envelope(String key, List<String> readings) {
+    }
+}
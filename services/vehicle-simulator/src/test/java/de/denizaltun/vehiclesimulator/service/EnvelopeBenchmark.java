@@ -0,0 +1,132 @@
+package de.denizaltun.vehiclesimulator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.denizaltun.vehiclesimulator.config.KafkaProducerConfig;
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.model.VehicleIds;
+import de.denizaltun.vehiclesimulator.model.VehicleState;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import de.denizaltun.vehiclesimulator.movement.RandomMovement;
+import org.apache.kafka.common.compress.Compression;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.record.TimestampType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compares single-reading records with envelopes: records and readings per second through
+ * encoding and Kafka batch building, and bytes per reading as they would go on the wire.
+ * <p>
+ * Not a unit test - run the main method, optionally with the fleet size and rounds as arguments:
+ * {@code EnvelopeBenchmark [vehicles=10000] [rounds=20] [signals=0]}, where signals adds wide-mode channels.
+ */
+public class EnvelopeBenchmark {
+
+    private static final int BATCH_SIZE = 256 * 1024;      // throughput producer profile
+    private static final Header[] EMPTY_HEADERS = new Header[0];
+    private static final Header[] ENVELOPE_HEADERS = {
+            new RecordHeader("telemetry-format", "envelope".getBytes(StandardCharsets.UTF_8))};
+
+    public static void main(String[] args) throws Exception {
+        int vehicles = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int signals = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+        ObjectMapper mapper = new KafkaProducerConfig(null, new SimulatorConfig()).objectMapper();
+        List<VehicleTelemetry> readings = generate(vehicles, signals);
+
+        System.out.printf("%d readings per round with %d extra signals, %d rounds%n", readings.size(), signals, rounds);
+        for (Compression compression : List.of(Compression.NONE, Compression.lz4().build())) {
+            // First pass warms up the JIT, second one is reported
+            run("single", readings, rounds, compression, mapper, 1, false);
+            run("single", readings, rounds, compression, mapper, 1, true);
+            for (int maxReadings : new int[]{10, 100, 500}) {
+                run("envelope", readings, rounds, compression, mapper, maxReadings, false);
+                run("envelope", readings, rounds, compression, mapper, maxReadings, true);
+            }
+        }
+    }
+
+    private static List<VehicleTelemetry> generate(int vehicles, int signals) {
+        SplittableRandom random = new SplittableRandom(42);
+        TelemetryGenerator generator = new TelemetryGenerator(new RandomMovement(), new SignalGenerator(signals));
+        long now = System.currentTimeMillis();
+        List<VehicleTelemetry> readings = new ArrayList<>(vehicles);
+        for (int i = 1; i <= vehicles; i++) {
+            VehicleType type = VehicleIds.typeOf(i);
+            VehicleState state = new VehicleState(VehicleIds.format(type, i), type, now, random);
+            readings.add(generator.generate(state, random, now));
+        }
+        return readings;
+    }
+
+    private static void run(String label, List<VehicleTelemetry> readings, int rounds, Compression compression,
+                            ObjectMapper mapper, int maxReadings, boolean report) throws Exception {
+        BatchCounter counter = new BatchCounter(compression);
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            if (maxReadings == 1) {
+                for (VehicleTelemetry telemetry : readings) {
+                    counter.append(telemetry.vehicleId(), mapper.writeValueAsBytes(telemetry), EMPTY_HEADERS);
+                }
+            } else {
+                EnvelopeBatcher batcher = new EnvelopeBatcher(
+                        (key, payload) -> counter.append(key, payload, ENVELOPE_HEADERS), mapper, maxReadings, 64);
+                readings.forEach(batcher);
+                batcher.flush();
+            }
+        }
+        counter.close();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        if (report) {
+            long total = (long) readings.size() * rounds;
+            System.out.printf("%-8s %-5s max=%-4d records/s=%,12.0f readings/s=%,12.0f bytes/reading=%7.1f%n",
+                    label, compression.type().name, maxReadings,
+                    counter.records / seconds, total / seconds, (double) counter.bytes / total);
+        }
+    }
+
+    /**
+     * Appends records to Kafka record batches the way the producer would and counts their size.
+     */
+    private static final class BatchCounter {
+
+        private final Compression compression;
+        private MemoryRecordsBuilder builder;
+        private long records;
+        private long bytes;
+
+        BatchCounter(Compression compression) {
+            this.compression = compression;
+        }
+
+        void append(String key, byte[] value, Header[] headers) {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            if (builder == null || !builder.hasRoomFor(0L, keyBytes, value, headers)) {
+                close();
+                builder = MemoryRecords.builder(ByteBuffer.allocate(BATCH_SIZE), RecordBatch.CURRENT_MAGIC_VALUE,
+                        compression, TimestampType.CREATE_TIME, 0L);
+            }
+            builder.append(0L, keyBytes, value, headers);
+            records++;
+        }
+
+        void close() {
+            if (builder != null) {
+                builder.close();
+                bytes += builder.build().sizeInBytes();
+                builder = null;
+            }
+        }
+    }
+}
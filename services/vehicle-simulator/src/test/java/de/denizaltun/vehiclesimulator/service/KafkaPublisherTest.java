@@ -0,0 +1,150 @@
+package de.denizaltun.vehiclesimulator.service;
+
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.model.VehicleStatus;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KafkaPublisher Unit Tests")
+class KafkaPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, VehicleTelemetry> kafkaTemplate;
+
+    @Mock
+    private KafkaTemplate<String, byte[]> rawKafkaTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private KafkaPublisher publisher;
+    private VehicleTelemetry telemetry;
+
+    @BeforeEach
+    void setUp() {
+        SimulatorConfig config = new SimulatorConfig();
+        config.getPublisher().setMaxInFlight(2);
+        publisher = new KafkaPublisher(kafkaTemplate, rawKafkaTemplate, config, registry);
+
+        telemetry = VehicleTelemetry.builder()
+                .vehicleId("POLICE-001")
+                .vehicleType(VehicleType.POLICE)
+                .vehicleStatus(VehicleStatus.IDLE)
+                .timeStamp(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should use vehicleId as message key on the telemetry topic")
+    void shouldPublishToTelemetryTopic() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(VehicleTelemetry.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        publisher.publish(telemetry);
+
+        verify(kafkaTemplate).send(eq("vehicle-telemetry"), eq("POLICE-001"), eq(telemetry));
+        assertThat(publisher.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold a permit until the broker acknowledges the record")
+    void shouldTrackUnacknowledgedRecords() {
+        CompletableFuture<SendResult<String, VehicleTelemetry>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any(VehicleTelemetry.class))).thenReturn(pending);
+
+        publisher.publish(telemetry);
+        publisher.publish(telemetry);
+        assertThat(publisher.getInFlight()).isEqualTo(2);
+
+        pending.complete(mock(SendResult.class));
+        assertThat(publisher.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the send fails")
+    void shouldReleasePermitOnFailure() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(VehicleTelemetry.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")))
+                .thenThrow(new RuntimeException("buffer exhausted"));
+
+        publisher.publish(telemetry);
+        publisher.publish(telemetry);
+
+        assertThat(publisher.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should export sent, acked and failed counts and the ack latency")
+    void shouldRecordMetrics() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(VehicleTelemetry.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        publisher.publish(telemetry);
+        publisher.publish(telemetry);
+
+        assertThat(registry.get("simulator.records.sent").counter().count()).isEqualTo(2);
+        assertThat(registry.get("simulator.records.acked").counter().count()).isEqualTo(1);
+        assertThat(registry.get("simulator.records.failed").counter().count()).isEqualTo(1);
+        assertThat(registry.get("simulator.publish.latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should shed an offered record instead of blocking while the window is full")
+    void shouldShedOfferWhenWindowFull() {
+        CompletableFuture<SendResult<String, VehicleTelemetry>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any(VehicleTelemetry.class))).thenReturn(pending);
+
+        assertThat(publisher.offer(telemetry)).isTrue();
+        assertThat(publisher.offer(telemetry)).isTrue();
+        assertThat(publisher.offer(telemetry)).isFalse();
+
+        assertThat(registry.get("simulator.records.shed").counter().count()).isEqualTo(1);
+        assertThat(registry.get("simulator.records.sent").counter().count()).isEqualTo(2);
+        pending.complete(mock(SendResult.class));
+        assertThat(publisher.offer(telemetry)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should count the wait for a window slot into the publish latency")
+    void shouldIncludeWindowWaitInLatency() throws Exception {
+        CompletableFuture<SendResult<String, VehicleTelemetry>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any(VehicleTelemetry.class)))
+                .thenReturn(pending, pending, CompletableFuture.completedFuture(mock(SendResult.class)));
+        publisher.publish(telemetry);
+        publisher.publish(telemetry);
+
+        Thread blocked = new Thread(() -> publisher.publish(telemetry));
+        blocked.start();
+        Thread.sleep(200);
+        pending.complete(mock(SendResult.class));
+        blocked.join(5_000);
+
+        Timer wait = registry.get("simulator.publish.window.wait").timer();
+        assertThat(wait.count()).isEqualTo(3);
+        assertThat(wait.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(150);
+        assertThat(registry.get("simulator.publish.latency").timer().max(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(150);
+    }
+}
@@ -0,0 +1,137 @@
+package de.denizaltun.vehiclesimulator.service;
+
+import de.denizaltun.vehiclesimulator.clock.SimulationClock;
+import de.denizaltun.vehiclesimulator.config.SimulatorConfig;
+import de.denizaltun.vehiclesimulator.load.LoadProfileEngine;
+import de.denizaltun.vehiclesimulator.metrics.SimulatorMetrics;
+import de.denizaltun.vehiclesimulator.model.VehicleState;
+import de.denizaltun.vehiclesimulator.model.VehicleStatus;
+import de.denizaltun.vehiclesimulator.model.VehicleTelemetry;
+import de.denizaltun.vehiclesimulator.model.VehicleType;
+import de.denizaltun.vehiclesimulator.movement.GeoPoint;
+import de.denizaltun.vehiclesimulator.movement.RandomMovement;
+import de.denizaltun.vehiclesimulator.scheduler.TimingWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SimulationShard Unit Tests")
+class SimulationShardTest {
+
+    private static final long START = 1_000_000L;
+    private static final long INTERVAL = 1_000L;
+
+    private final List<VehicleTelemetry> published = new ArrayList<>();
+    private SimulationShard shard;
+
+    @BeforeEach
+    void setUp() {
+        SimulatorConfig config = new SimulatorConfig();
+        LoadProfileEngine load = new LoadProfileEngine(config);
+        shard = new SimulationShard(0, new TimingWheel(100, 64, START), new SplittableRandom(7),
+                new TelemetryGenerator(new RandomMovement(), new SignalGenerator(0)), published::add, INTERVAL,
+                load, 1.0, new SimulationClock(config),
+                new SimulatorMetrics(new SimpleMeterRegistry(), load));
+    }
+
+    private void addVehicle(String id, VehicleType type) {
+        shard.addVehicle(new VehicleState(id, type, START + 100, shard.getRandom()));
+    }
+
+    @Test
+    @DisplayName("Should apply submitted commands on the next tick only")
+    void shouldApplyCommandsOnTick() {
+        shard.submit(s -> addVehicle("POLICE-001", VehicleType.POLICE));
+        assertThat(shard.getVehicleCount()).isZero();
+
+        shard.tick(START + 100);
+
+        assertThat(shard.getVehicleCount()).isEqualTo(1);
+        assertThat(published).extracting(VehicleTelemetry::vehicleId).containsExactly("POLICE-001");
+    }
+
+    @Test
+    @DisplayName("Should stop publishing removed vehicles")
+    void shouldRemoveVehicles() {
+        addVehicle("POLICE-001", VehicleType.POLICE);
+        addVehicle("AMBULANCE-002", VehicleType.AMBULANCE);
+
+        shard.submit(s -> s.removeVehicles(VehicleType.AMBULANCE, 5));
+        shard.tick(START + 100);
+
+        assertThat(shard.getVehicleCount()).isEqualTo(1);
+        assertThat(published).extracting(VehicleTelemetry::vehicleId).containsExactly("POLICE-001");
+    }
+
+    @Test
+    @DisplayName("Should bring a shorter interval forward instead of waiting for the pending deadline")
+    void shouldApplyShorterIntervalImmediately() {
+        addVehicle("FIRE_TRUCK-003", VehicleType.FIRE_TRUCK);
+        shard.tick(START + 100);                                     // next publish at START + 1100
+
+        shard.submit(s -> s.setInterval(VehicleType.FIRE_TRUCK, 200, START + 200));
+        for (long now = START + 200; now <= START + 1_000; now += 100) {
+            shard.tick(now);
+        }
+
+        // START+100, then every 200 ms from START+400
+        assertThat(published).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should publish nothing while paused and keep the cadence")
+    void shouldPause() {
+        addVehicle("POLICE-001", VehicleType.POLICE);
+        shard.setPaused(true);
+        shard.tick(START + 5_000);
+        assertThat(published).isEmpty();
+
+        shard.setPaused(false);
+        shard.tick(START + 5_100);
+        assertThat(published).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should dispatch the idle vehicles nearest to a mass casualty incident")
+    void shouldDispatchNearestIdleVehicles() {
+        GeoPoint incident = new GeoPoint(48.0, 11.0);
+        addVehicle("AMBULANCE-001", VehicleType.AMBULANCE);
+        addVehicle("AMBULANCE-002", VehicleType.AMBULANCE);
+        addVehicle("AMBULANCE-003", VehicleType.AMBULANCE);
+        List<VehicleState> vehicles = shard.getVehicles();
+        vehicles.get(0).setPosition(new GeoPoint(48.2, 11.0));
+        vehicles.get(1).setPosition(new GeoPoint(48.01, 11.0));
+        vehicles.get(2).setPosition(new GeoPoint(48.05, 11.0));
+
+        int dispatched = shard.dispatchNearest(2, incident, VehicleType.AMBULANCE);
+
+        assertThat(dispatched).isEqualTo(2);
+        assertThat(vehicles).extracting(VehicleState::getVehicleStatus)
+                .containsExactly(VehicleStatus.IDLE, VehicleStatus.EN_ROUTE, VehicleStatus.EN_ROUTE);
+        assertThat(vehicles.get(1).getDestination()).isEqualTo(incident);
+    }
+
+    @Test
+    @DisplayName("Should recall every busy vehicle at a shift change")
+    void shouldRecallBusyVehicles() {
+        addVehicle("POLICE-001", VehicleType.POLICE);
+        addVehicle("POLICE-002", VehicleType.POLICE);
+        addVehicle("POLICE-003", VehicleType.POLICE);
+        List<VehicleState> vehicles = shard.getVehicles();
+        vehicles.get(0).dispatch(null);
+        vehicles.get(1).setVehicleStatus(VehicleStatus.ON_SCENE);
+
+        int recalled = shard.recallAll();
+
+        assertThat(recalled).isEqualTo(2);
+        assertThat(vehicles).extracting(VehicleState::getVehicleStatus)
+                .containsExactly(VehicleStatus.RETURNING, VehicleStatus.RETURNING, VehicleStatus.IDLE);
+    }
+}